@@ -0,0 +1,76 @@
+package com.example.fyp_serverbasedapp;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Binary framing for audio_from_glasses: fixed 32-byte header followed by raw PCM (or Opus packets).
+ * Used instead of Base64-in-JSON once the server accepts binary_audio in join_conversation.
+ */
+final class AudioFrameCodec {
+
+    // Header layout (big-endian):
+    //  0  magic 'A','G'     (2 bytes)
+    //  2  version           (1 byte)
+    //  3  flags             (1 byte)
+    //  4  chunk id          (8 bytes)
+    // 12  sequence number   (4 bytes)
+    // 16  timestamp (ms)    (8 bytes)
+    // 24  sample rate (Hz)  (4 bytes)
+    // 28  payload length    (4 bytes)
+    static final int HEADER_SIZE = 32;
+    static final byte MAGIC_0 = 'A';
+    static final byte MAGIC_1 = 'G';
+    static final byte VERSION = 1;
+
+    // Flag bits
+    static final int FLAG_IS_CHUNK = 0x01; // Real-time chunk (false = full recording)
+    static final int FLAG_STREAM = 0x02; // Sub-second stream frame - server reassembles by chunk id + sequence
+    static final int FLAG_END_OF_STREAM = 0x04; // Last frame of a stream (may have an empty payload)
+    static final int FLAG_NO_SPEECH = 0x08; // On-device VAD found no speech - server may skip STT
+    static final int FLAG_HAS_OVERLAP = 0x10; // Chunk starts with the tail of the previous chunk (chunk_overlap_ms)
+    static final int FLAG_OPUS = 0x20; // Payload is [u16 length][Opus packet]... instead of raw PCM
+
+    private AudioFrameCodec() {
+    }
+
+    static byte[] encode(long chunkId, int sequence, long timestampMs, int sampleRate, int flags,
+                         byte[] pcm, int offset, int length) {
+        byte[] frame = newFrame(chunkId, sequence, timestampMs, sampleRate, flags, length);
+        // Raw PCM goes straight after the header - no WAV header, no Base64
+        System.arraycopy(pcm, offset, frame, HEADER_SIZE, length);
+        return frame;
+    }
+
+    /** Same as above, but copies the payload straight out of the capture ring. */
+    static byte[] encode(long chunkId, int sequence, long timestampMs, int sampleRate, int flags,
+                         PcmRingBuffer ring, long position, int length) {
+        byte[] frame = newFrame(chunkId, sequence, timestampMs, sampleRate, flags, length);
+        ring.copyOut(position, frame, HEADER_SIZE, length);
+        return frame;
+    }
+
+    static long chunkIdOf(byte[] frame) {
+        return ByteBuffer.wrap(frame).order(ByteOrder.BIG_ENDIAN).getLong(4);
+    }
+
+    static int sequenceOf(byte[] frame) {
+        return ByteBuffer.wrap(frame).order(ByteOrder.BIG_ENDIAN).getInt(12);
+    }
+
+    private static byte[] newFrame(long chunkId, int sequence, long timestampMs, int sampleRate, int flags,
+                                   int payloadLength) {
+        byte[] frame = new byte[HEADER_SIZE + payloadLength];
+        ByteBuffer buffer = ByteBuffer.wrap(frame).order(ByteOrder.BIG_ENDIAN);
+        buffer.put(MAGIC_0);
+        buffer.put(MAGIC_1);
+        buffer.put(VERSION);
+        buffer.put((byte) flags);
+        buffer.putLong(chunkId);
+        buffer.putInt(sequence);
+        buffer.putLong(timestampMs);
+        buffer.putInt(sampleRate);
+        buffer.putInt(payloadLength);
+        return frame;
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.fyp_serverbasedapp;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+
+/**
+ * A few large byte arrays kept for reuse, so messages that carry audio do not allocate a
+ * new multi-hundred-KB buffer each time. Arrays larger than maxRetainedBytes are not kept.
+ */
+final class ByteArrayPool {
+
+    private final ArrayDeque<byte[]> free = new ArrayDeque<>();
+    private final int maxArrays;
+    private final int maxRetainedBytes;
+
+    ByteArrayPool(int maxArrays, int maxRetainedBytes) {
+        this.maxArrays = maxArrays;
+        this.maxRetainedBytes = maxRetainedBytes;
+    }
+
+    /** An array of at least minLength bytes. Contents are undefined. */
+    synchronized byte[] acquire(int minLength) {
+        for (Iterator<byte[]> it = free.iterator(); it.hasNext(); ) {
+            byte[] array = it.next();
+            if (array.length >= minLength) {
+                it.remove();
+                return array;
+            }
+        }
+        // Round up so slightly larger payloads still fit the same array next time
+        return new byte[Math.max(minLength, Integer.highestOneBit(Math.max(minLength - 1, 1)) << 1)];
+    }
+
+    synchronized void release(byte[] array) {
+        if (array == null || array.length > maxRetainedBytes) {
+            return;
+        }
+        if (free.size() >= maxArrays) {
+            // Keep the larger arrays - they fit more payloads
+            byte[] smallest = null;
+            for (byte[] candidate : free) {
+                if (smallest == null || candidate.length < smallest.length) {
+                    smallest = candidate;
+                }
+            }
+            if (smallest == null || smallest.length >= array.length) {
+                return;
+            }
+            free.remove(smallest);
+        }
+        free.addLast(array);
+    }
+}
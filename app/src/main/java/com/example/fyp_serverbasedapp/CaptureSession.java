@@ -0,0 +1,197 @@
+package com.example.fyp_serverbasedapp;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Real-time processing of one recording, run on the capture ring's consumer thread.
+ * Applies the VAD gate and then either feeds the speech chunker or cuts stream frames.
+ * Audio is never copied here: it stays in the ring until the chunk or frame using it is sent.
+ */
+final class CaptureSession {
+
+    interface Listener {
+        void onSpeech();
+
+        // [position, position + length) in the ring - copy it out before returning
+        void onStreamFrame(long position, int length, boolean endOfStream, boolean hasSpeech);
+    }
+
+    private final PcmRingBuffer ring;
+    private final VoiceActivityDetector vad;
+    private final SpeechChunker chunker; // null = streaming
+    private final int streamFrameBytes;
+    private final int preRollBytes;
+    private final int minFlushBytes;
+    private final boolean dropSilence;
+    private final Listener listener;
+
+    private final long startPosition;
+    private long consumedPosition;
+    private long forwardedPosition; // End of the last audio passed on - never sent twice
+    private volatile long endPosition = -1; // Ring write position when capture ended, -1 = still capturing
+    private final CountDownLatch finished = new CountDownLatch(1); // Released by finish() on the consumer thread
+
+    // Stream frame being assembled, as a range of the ring
+    private long frameStart = -1; // -1 = no frame open
+    private boolean frameHasSpeech = false;
+
+    private boolean previousSpeech = false;
+    private long silentBytes = 0;
+
+    CaptureSession(PcmRingBuffer ring, VoiceActivityDetector vad, SpeechChunker chunker, int streamFrameBytes,
+                   int preRollBytes, int minFlushBytes, boolean dropSilence, Listener listener) {
+        this.ring = ring;
+        this.vad = vad;
+        this.chunker = chunker;
+        this.streamFrameBytes = streamFrameBytes;
+        this.preRollBytes = preRollBytes;
+        this.minFlushBytes = minFlushBytes;
+        this.dropSilence = dropSilence;
+        this.listener = listener;
+        // Created by the producer before its first write
+        this.startPosition = ring.writePosition();
+        this.consumedPosition = startPosition;
+        this.forwardedPosition = startPosition;
+    }
+
+    boolean isStreaming() {
+        return chunker == null;
+    }
+
+    long consumedPosition() {
+        return consumedPosition;
+    }
+
+    long capturedBytes() {
+        return consumedPosition - startPosition;
+    }
+
+    long silentBytes() {
+        return silentBytes;
+    }
+
+    /** Called by the producer after its last commitWrite(), with the ring's write position. */
+    void markCaptureEnded(long endPosition) {
+        this.endPosition = endPosition;
+    }
+
+    boolean isCaptureEnded() {
+        return endPosition >= 0;
+    }
+
+    /** End of this session's audio given the ring's write position - a later recording's writes are not ours. */
+    long readLimit(long writePosition) {
+        long end = endPosition;
+        return end >= 0 ? Math.min(writePosition, end) : writePosition;
+    }
+
+    /** Capture has ended and everything it wrote has been consumed. */
+    boolean isDrained() {
+        long end = endPosition;
+        return end >= 0 && consumedPosition >= end;
+    }
+
+    boolean isFinished() {
+        return finished.getCount() == 0;
+    }
+
+    /** Blocks until the consumer has finished this session. Returns false on timeout. */
+    boolean awaitFinished(long timeoutMs) throws InterruptedException {
+        return finished.await(timeoutMs, TimeUnit.MILLISECONDS);
+    }
+
+    /** Processes the contiguous ring view [position, position + length). */
+    void consume(long position, int length) {
+        long end = position + length;
+        boolean isSpeech = vad.process(ring.array(), ring.offsetOf(position), length);
+        if (isSpeech) {
+            listener.onSpeech();
+        } else {
+            silentBytes += length;
+        }
+        boolean forward = isSpeech || !dropSilence;
+
+        // Speech onset - start from the pre-roll still held in the ring so the first syllable is not cut,
+        // but not from before the end of the previous utterance's hangover, which has gone already
+        long from = position;
+        if (dropSilence && vad.speechStarted()) {
+            from = Math.max(position - preRollBytes, Math.max(forwardedPosition, ring.releasePosition()));
+        }
+        if (forward) {
+            forwardedPosition = end;
+        }
+
+        if (chunker == null) {
+            if (forward) {
+                if (frameStart < 0) {
+                    frameStart = from;
+                }
+                frameHasSpeech |= isSpeech;
+                // Push each frame as soon as it is full
+                while (end - frameStart >= streamFrameBytes) {
+                    listener.onStreamFrame(frameStart, streamFrameBytes, false, frameHasSpeech);
+                    frameStart += streamFrameBytes;
+                    frameHasSpeech = isSpeech;
+                }
+            } else if (frameStart >= 0) {
+                // Speech ended - flush the partial frame instead of holding it until the next utterance
+                if (position > frameStart) {
+                    listener.onStreamFrame(frameStart, (int) (position - frameStart), false, true);
+                }
+                frameStart = -1;
+                frameHasSpeech = false;
+            }
+        } else {
+            if (forward) {
+                writeToChunker(from, end, isSpeech);
+            }
+            if (previousSpeech && !isSpeech) {
+                // End of an utterance is the best boundary there is - close the chunk here
+                chunker.endOfSpeech(minFlushBytes);
+            }
+        }
+        previousSpeech = isSpeech;
+        consumedPosition = end;
+        ring.release(holdPosition());
+    }
+
+    /** Everything captured has been consumed - close the stream and let the ring go. */
+    void finish() {
+        if (chunker == null) {
+            // Flush the partial frame and tell the server the stream is complete
+            long start = frameStart >= 0 ? frameStart : consumedPosition;
+            listener.onStreamFrame(start, (int) (consumedPosition - start), true, frameHasSpeech || dropSilence);
+            frameStart = -1;
+        } else {
+            // Recording was stopped or the conversation left - no final chunk is sent
+            chunker.reset();
+        }
+        ring.release(consumedPosition);
+        finished.countDown();
+    }
+
+    private void writeToChunker(long from, long end, boolean isSpeech) {
+        // The range may wrap around the end of the ring
+        for (long p = from; p < end; ) {
+            int n = ring.contiguousFrom(p, end);
+            chunker.write(ring.array(), ring.offsetOf(p), n, p, isSpeech);
+            p += n;
+        }
+    }
+
+    // Oldest byte still needed: an open frame or chunk, or the pre-roll for the next onset
+    private long holdPosition() {
+        long hold = consumedPosition;
+        if (dropSilence && !previousSpeech) {
+            hold -= preRollBytes;
+        }
+        if (frameStart >= 0) {
+            hold = Math.min(hold, frameStart);
+        }
+        if (chunker != null && chunker.chunkStart() >= 0) {
+            hold = Math.min(hold, chunker.chunkStart());
+        }
+        return hold;
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.fyp_serverbasedapp;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Decides whether a gesture frame differs enough from the last one sent to be worth a server
+ * round trip. The Y plane is reduced to a small luma thumbnail and compared with the thumbnail
+ * of the last sent frame (mean absolute difference, with the overall brightness shift removed
+ * so auto-exposure alone does not count as change). A keyframe is let through every
+ * keyframeIntervalMs anyway, so a gesture held perfectly still is still recognised.
+ */
+final class FrameChangeDetector {
+
+    private final int gridWidth;
+    private final int gridHeight;
+    private final double threshold; // Mean absolute luma difference (0-255) that counts as change
+    private final long keyframeIntervalMs;
+    private final int[] current;
+    private final int[] reference;
+    private boolean hasReference = false;
+    private long lastSentMs = 0;
+
+    private long framesChecked = 0;
+    private long framesChanged = 0;
+    private long keyframes = 0;
+    private long framesSkipped = 0;
+
+    FrameChangeDetector(int gridWidth, int gridHeight, double threshold, long keyframeIntervalMs) {
+        this.gridWidth = gridWidth;
+        this.gridHeight = gridHeight;
+        this.threshold = threshold;
+        this.keyframeIntervalMs = keyframeIntervalMs;
+        this.current = new int[gridWidth * gridHeight];
+        this.reference = new int[gridWidth * gridHeight];
+    }
+
+    /**
+     * Returns true if this frame should be sent; it then becomes the new reference.
+     * Only the luma plane is read, at gridWidth x gridHeight points (2x2 averaged).
+     */
+    synchronized boolean shouldSend(ByteBuffer y, int rowStride, int pixelStride, int width, int height, long nowMs) {
+        framesChecked++;
+        long sum = 0;
+        int cell = 0;
+        for (int gy = 0; gy < gridHeight; gy++) {
+            // Sample the centre of each cell, keeping the 2x2 block inside the frame
+            int row = Math.min(height - 2, (2 * gy + 1) * height / (2 * gridHeight)) * rowStride;
+            for (int gx = 0; gx < gridWidth; gx++) {
+                int index = row + Math.min(width - 2, (2 * gx + 1) * width / (2 * gridWidth)) * pixelStride;
+                int luma = ((y.get(index) & 0xFF) + (y.get(index + pixelStride) & 0xFF)
+                        + (y.get(index + rowStride) & 0xFF) + (y.get(index + rowStride + pixelStride) & 0xFF)) >> 2;
+                current[cell++] = luma;
+                sum += luma;
+            }
+        }
+
+        boolean send;
+        if (!hasReference) {
+            send = true;
+        } else if (difference(sum) > threshold) {
+            framesChanged++;
+            send = true;
+        } else if (nowMs - lastSentMs >= keyframeIntervalMs) {
+            keyframes++;
+            send = true;
+        } else {
+            framesSkipped++;
+            send = false;
+        }
+        if (send) {
+            System.arraycopy(current, 0, reference, 0, current.length);
+            hasReference = true;
+            lastSentMs = nowMs;
+        }
+        return send;
+    }
+
+    /** Forgets the reference so the next frame is sent (e.g. when detection restarts). */
+    synchronized void reset() {
+        hasReference = false;
+    }
+
+    synchronized String metricsSummary() {
+        return "checked=" + framesChecked + " changed=" + framesChanged + " keyframes=" + keyframes
+                + " skipped=" + framesSkipped;
+    }
+
+    private double difference(long currentSum) {
+        long referenceSum = 0;
+        for (int value : reference) {
+            referenceSum += value;
+        }
+        // Whole-frame brightness shift (exposure, flicker) is not scene change
+        int offset = (int) ((currentSum - referenceSum) / current.length);
+        long sad = 0;
+        for (int i = 0; i < current.length; i++) {
+            sad += Math.abs(current[i] - reference[i] - offset);
+        }
+        return (double) sad / current.length;
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.fyp_serverbasedapp;
+
+import android.graphics.ImageFormat;
+import android.graphics.Rect;
+import android.graphics.YuvImage;
+import android.media.Image;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Turns a YUV_420_888 camera frame into the small JPEG the gesture model needs: a centre square
+ * crop, downsampled straight from the Y/U/V planes to outputSize x outputSize NV21 and encoded
+ * once. No Bitmap is decoded, rotated or re-compressed - the caller sends the rotation along
+ * instead. Buffers are reused between frames; encode() is synchronized for that reason.
+ */
+final class GestureFrameEncoder {
+
+    private final int outputSize;
+    private final int jpegQuality;
+    private final byte[] nv21;
+    private final int[] columnMap; // Output column -> source column, rebuilt when the frame size changes
+    private final Rect outputRect;
+    private final ByteArrayOutputStream jpeg = new ByteArrayOutputStream(32 * 1024);
+    private int mappedWidth = -1;
+    private int mappedHeight = -1;
+
+    private long frames = 0;
+    private long jpegBytes = 0;
+    private long encodeNanos = 0;
+
+    GestureFrameEncoder(int outputSize, int jpegQuality) {
+        if (outputSize <= 0 || (outputSize & 1) != 0) {
+            throw new IllegalArgumentException("outputSize must be positive and even: " + outputSize);
+        }
+        this.outputSize = outputSize;
+        this.jpegQuality = jpegQuality;
+        this.nv21 = new byte[outputSize * outputSize * 3 / 2];
+        this.columnMap = new int[outputSize];
+        this.outputRect = new Rect(0, 0, outputSize, outputSize);
+    }
+
+    /** Returns the JPEG bytes (a new array the caller owns). The image is not closed. */
+    synchronized byte[] encode(Image image) {
+        if (image.getFormat() != ImageFormat.YUV_420_888) {
+            throw new IllegalArgumentException("Expected YUV_420_888, got format " + image.getFormat());
+        }
+        long started = System.nanoTime();
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int side = Math.min(width, height);
+        // Even offsets keep luma and chroma samples aligned
+        int cropX = ((width - side) / 2) & ~1;
+        int cropY = ((height - side) / 2) & ~1;
+        if (width != mappedWidth || height != mappedHeight) {
+            for (int i = 0; i < outputSize; i++) {
+                columnMap[i] = cropX + (int) ((long) i * side / outputSize);
+            }
+            mappedWidth = width;
+            mappedHeight = height;
+        }
+
+        Image.Plane[] planes = image.getPlanes();
+        downsampleLuma(planes[0], cropY, side);
+        downsampleChroma(planes[1], planes[2], cropY, side);
+
+        jpeg.reset();
+        new YuvImage(nv21, ImageFormat.NV21, outputSize, outputSize, null)
+                .compressToJpeg(outputRect, jpegQuality, jpeg);
+        byte[] result = jpeg.toByteArray();
+
+        frames++;
+        jpegBytes += result.length;
+        encodeNanos += System.nanoTime() - started;
+        return result;
+    }
+
+    synchronized String metricsSummary() {
+        if (frames == 0) {
+            return "frames=0";
+        }
+        return "frames=" + frames + " avgJpeg=" + (jpegBytes / frames) + "B avgEncode="
+                + (encodeNanos / frames / 1000) + "us (" + outputSize + "x" + outputSize + " q" + jpegQuality + ")";
+    }
+
+    private void downsampleLuma(Image.Plane plane, int cropY, int side) {
+        ByteBuffer y = plane.getBuffer();
+        int rowStride = plane.getRowStride();
+        int pixelStride = plane.getPixelStride();
+        // At 2x or more, average a 2x2 block so thin edges (fingers) don't alias away
+        boolean average = side >= 2 * outputSize;
+        int out = 0;
+        for (int oy = 0; oy < outputSize; oy++) {
+            int row = (cropY + (int) ((long) oy * side / outputSize)) * rowStride;
+            for (int ox = 0; ox < outputSize; ox++) {
+                int index = row + columnMap[ox] * pixelStride;
+                if (average) {
+                    int sum = (y.get(index) & 0xFF) + (y.get(index + pixelStride) & 0xFF)
+                            + (y.get(index + rowStride) & 0xFF) + (y.get(index + rowStride + pixelStride) & 0xFF);
+                    nv21[out++] = (byte) (sum >> 2);
+                } else {
+                    nv21[out++] = y.get(index);
+                }
+            }
+        }
+    }
+
+    // NV21 chroma is interleaved V,U at half resolution in both directions
+    private void downsampleChroma(Image.Plane uPlane, Image.Plane vPlane, int cropY, int side) {
+        ByteBuffer u = uPlane.getBuffer();
+        ByteBuffer v = vPlane.getBuffer();
+        int rowStride = uPlane.getRowStride();
+        int pixelStride = uPlane.getPixelStride();
+        int out = outputSize * outputSize;
+        for (int oy = 0; oy < outputSize; oy += 2) {
+            int row = ((cropY + (int) ((long) oy * side / outputSize)) >> 1) * rowStride;
+            for (int ox = 0; ox < outputSize; ox += 2) {
+                int index = row + (columnMap[ox] >> 1) * pixelStride;
+                nv21[out++] = v.get(index);
+                nv21[out++] = u.get(index);
+            }
+        }
+    }
+}
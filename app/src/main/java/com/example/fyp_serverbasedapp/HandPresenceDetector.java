@@ -0,0 +1,115 @@
+package com.example.fyp_serverbasedapp;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Cheap on-device check for whether a hand is likely in view, so frames of an empty scene
+ * never reach the server's gesture model. Each cell of a coarse grid is classified as skin by
+ * its YCbCr colour, and a hand is reported when the largest connected skin blob is big
+ * enough. When most of the frame looks like skin (beige walls, a face up close) the colour
+ * test says nothing useful, so the frame is let through for the server to decide.
+ */
+final class HandPresenceDetector {
+
+    // Classic YCbCr skin box - holds across skin tones because it ignores luma
+    private static final int CB_MIN = 77;
+    private static final int CB_MAX = 127;
+    private static final int CR_MIN = 133;
+    private static final int CR_MAX = 173;
+    private static final int LUMA_MIN = 40; // Too dark for the chroma to mean anything
+    private static final double UNINFORMATIVE_FRACTION = 0.6;
+
+    private final int gridWidth;
+    private final int gridHeight;
+    private final int minBlobCells;
+    private final boolean[] skin;
+    private final int[] stack;
+
+    private long framesChecked = 0;
+    private long handFrames = 0;
+    private long uninformativeFrames = 0;
+
+    HandPresenceDetector(int gridWidth, int gridHeight, int minBlobCells) {
+        this.gridWidth = gridWidth;
+        this.gridHeight = gridHeight;
+        this.minBlobCells = minBlobCells;
+        this.skin = new boolean[gridWidth * gridHeight];
+        this.stack = new int[gridWidth * gridHeight];
+    }
+
+    /** Reads one pixel per grid cell from the Y, U (Cb) and V (Cr) planes of a YUV_420_888 frame. */
+    synchronized boolean isHandLikely(ByteBuffer y, int yRowStride, int yPixelStride,
+                                      ByteBuffer u, ByteBuffer v, int uvRowStride, int uvPixelStride,
+                                      int width, int height) {
+        framesChecked++;
+        int skinCells = 0;
+        int cell = 0;
+        for (int gy = 0; gy < gridHeight; gy++) {
+            int py = (2 * gy + 1) * height / (2 * gridHeight);
+            for (int gx = 0; gx < gridWidth; gx++) {
+                int px = (2 * gx + 1) * width / (2 * gridWidth);
+                int luma = y.get(py * yRowStride + px * yPixelStride) & 0xFF;
+                int chroma = (py >> 1) * uvRowStride + (px >> 1) * uvPixelStride;
+                int cb = u.get(chroma) & 0xFF;
+                int cr = v.get(chroma) & 0xFF;
+                boolean isSkin = luma >= LUMA_MIN && cb >= CB_MIN && cb <= CB_MAX && cr >= CR_MIN && cr <= CR_MAX;
+                skin[cell++] = isSkin;
+                if (isSkin) {
+                    skinCells++;
+                }
+            }
+        }
+
+        if (skinCells > UNINFORMATIVE_FRACTION * skin.length) {
+            uninformativeFrames++;
+            return true;
+        }
+        if (skinCells >= minBlobCells && largestBlob() >= minBlobCells) {
+            handFrames++;
+            return true;
+        }
+        return false;
+    }
+
+    synchronized String metricsSummary() {
+        return "checked=" + framesChecked + " hand=" + handFrames + " uninformative=" + uninformativeFrames
+                + " rejected=" + (framesChecked - handFrames - uninformativeFrames);
+    }
+
+    // 4-connected components over the skin mask; clears the mask as it goes
+    private int largestBlob() {
+        int largest = 0;
+        for (int start = 0; start < skin.length; start++) {
+            if (!skin[start]) {
+                continue;
+            }
+            int size = 0;
+            int top = 0;
+            stack[top++] = start;
+            skin[start] = false;
+            while (top > 0) {
+                int cell = stack[--top];
+                size++;
+                int gx = cell % gridWidth;
+                if (gx > 0 && skin[cell - 1]) {
+                    skin[cell - 1] = false;
+                    stack[top++] = cell - 1;
+                }
+                if (gx < gridWidth - 1 && skin[cell + 1]) {
+                    skin[cell + 1] = false;
+                    stack[top++] = cell + 1;
+                }
+                if (cell >= gridWidth && skin[cell - gridWidth]) {
+                    skin[cell - gridWidth] = false;
+                    stack[top++] = cell - gridWidth;
+                }
+                if (cell + gridWidth < skin.length && skin[cell + gridWidth]) {
+                    skin[cell + gridWidth] = false;
+                    stack[top++] = cell + gridWidth;
+                }
+            }
+            largest = Math.max(largest, size);
+        }
+        return largest;
+    }
+}
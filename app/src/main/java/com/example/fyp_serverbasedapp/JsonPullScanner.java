@@ -0,0 +1,340 @@
+package com.example.fyp_serverbasedapp;
+
+/**
+ * Forward-only reader over a JSON message, for payloads too big to parse into a JSONObject.
+ * Values that are not needed are skipped without allocating, and a Base64 string value can be
+ * decoded straight into a pooled buffer, so a tts_audio message costs one decoded payload
+ * instead of a copy of the Base64 text plus the decoded bytes.
+ */
+final class JsonPullScanner {
+
+    static final int STRING = 0;
+    static final int OBJECT = 1;
+    static final int ARRAY = 2;
+    static final int OTHER = 3; // number, true, false, null
+
+    private static final byte[] BASE64_VALUES = new byte[128];
+
+    static {
+        java.util.Arrays.fill(BASE64_VALUES, (byte) -1);
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/";
+        for (int i = 0; i < alphabet.length(); i++) {
+            BASE64_VALUES[alphabet.charAt(i)] = (byte) i;
+        }
+        // URL-safe variants decode the same way
+        BASE64_VALUES['-'] = 62;
+        BASE64_VALUES['_'] = 63;
+    }
+
+    /** Decoded Base64 value: 'length' valid bytes at the start of 'data', which came from the pool. */
+    static final class Bytes {
+        final byte[] data;
+        final int length;
+
+        Bytes(byte[] data, int length) {
+            this.data = data;
+            this.length = length;
+        }
+    }
+
+    private final String json;
+    private int pos = 0;
+    private String fieldName;
+
+    JsonPullScanner(String json) {
+        this.json = json;
+    }
+
+    /**
+     * Value of the top-level "type" field, or "" if there is none. Scans the whole message
+     * without allocating anything but the result; the scanner stays at the start.
+     */
+    static String messageType(String json) {
+        JsonPullScanner scanner = new JsonPullScanner(json);
+        try {
+            scanner.beginObject();
+            while (scanner.nextField()) {
+                if ("type".equals(scanner.fieldName()) && scanner.peek() == STRING) {
+                    return scanner.readString();
+                }
+                scanner.skipValue();
+            }
+        } catch (IllegalArgumentException e) {
+            // Not an object - let the full parser report it
+        }
+        return "";
+    }
+
+    void beginObject() {
+        expect('{');
+        fieldName = null;
+    }
+
+    /** Moves to the next field of the current object. Returns false (and leaves it) at its end. */
+    boolean nextField() {
+        skipWhitespace();
+        char c = current();
+        if (c == ',') {
+            pos++;
+            skipWhitespace();
+            c = current();
+        }
+        if (c == '}') {
+            pos++;
+            return false;
+        }
+        fieldName = readString();
+        expect(':');
+        return true;
+    }
+
+    String fieldName() {
+        return fieldName;
+    }
+
+    void beginArray() {
+        expect('[');
+    }
+
+    /** Moves to the next element of the current array. Returns false (and leaves it) at its end. */
+    boolean nextElement() {
+        skipWhitespace();
+        char c = current();
+        if (c == ',') {
+            pos++;
+            skipWhitespace();
+            c = current();
+        }
+        if (c == ']') {
+            pos++;
+            return false;
+        }
+        return true;
+    }
+
+    int peek() {
+        skipWhitespace();
+        switch (current()) {
+            case '"':
+                return STRING;
+            case '{':
+                return OBJECT;
+            case '[':
+                return ARRAY;
+            default:
+                return OTHER;
+        }
+    }
+
+    String readString() {
+        expect('"');
+        int start = pos;
+        // Fast path: no escapes, one substring
+        while (pos < json.length()) {
+            char c = json.charAt(pos);
+            if (c == '"') {
+                return json.substring(start, pos++);
+            }
+            if (c == '\\') {
+                break;
+            }
+            pos++;
+        }
+        StringBuilder sb = new StringBuilder(json.substring(start, pos));
+        while (true) {
+            char c = next();
+            if (c == '"') {
+                return sb.toString();
+            }
+            if (c != '\\') {
+                sb.append(c);
+                continue;
+            }
+            char escaped = next();
+            switch (escaped) {
+                case 'b':
+                    sb.append('\b');
+                    break;
+                case 'f':
+                    sb.append('\f');
+                    break;
+                case 'n':
+                    sb.append('\n');
+                    break;
+                case 'r':
+                    sb.append('\r');
+                    break;
+                case 't':
+                    sb.append('\t');
+                    break;
+                case 'u':
+                    if (pos + 4 > json.length()) {
+                        throw error("Truncated \\u escape");
+                    }
+                    sb.append((char) Integer.parseInt(json.substring(pos, pos + 4), 16));
+                    pos += 4;
+                    break;
+                default:
+                    sb.append(escaped); // \" \\ \/
+                    break;
+            }
+        }
+    }
+
+    /** Reads true/false; anything else (e.g. null) gives the fallback. */
+    boolean readBoolean(boolean fallback) {
+        if (peek() != OTHER) {
+            skipValue();
+            return fallback;
+        }
+        if (json.startsWith("true", pos)) {
+            pos += 4;
+            return true;
+        }
+        if (json.startsWith("false", pos)) {
+            pos += 5;
+            return false;
+        }
+        skipValue();
+        return fallback;
+    }
+
+    int readInt(int fallback) {
+        return (int) readDouble(fallback);
+    }
+
+    double readDouble(double fallback) {
+        if (peek() != OTHER) {
+            skipValue();
+            return fallback;
+        }
+        int start = pos;
+        skipValue();
+        try {
+            return Double.parseDouble(json.substring(start, pos).trim());
+        } catch (NumberFormatException e) {
+            return fallback; // null
+        }
+    }
+
+    /**
+     * Decodes a Base64 string value into a buffer from the pool (the caller releases it).
+     * Returns null for a non-string value, which is skipped.
+     */
+    Bytes readBase64(ByteArrayPool pool) {
+        if (peek() != STRING) {
+            skipValue();
+            return null;
+        }
+        pos++; // Opening quote
+        int start = pos;
+        int end = json.indexOf('"', start);
+        if (end < 0) {
+            throw error("Unterminated string");
+        }
+        byte[] out = pool.acquire((end - start) / 4 * 3 + 3);
+        int length = 0;
+        int accumulator = 0;
+        int bits = 0;
+        for (int i = start; i < end; i++) {
+            char c = json.charAt(i);
+            if (c == '\\') {
+                // Only "\/" can appear in Base64 text; whitespace escapes are ignored
+                c = json.charAt(++i);
+                if (c != '/') {
+                    continue;
+                }
+            }
+            if (c == '=') {
+                break;
+            }
+            int value = c < 128 ? BASE64_VALUES[c] : -1;
+            if (value < 0) {
+                continue; // Line breaks and other noise
+            }
+            accumulator = (accumulator << 6) | value;
+            bits += 6;
+            if (bits >= 8) {
+                bits -= 8;
+                out[length++] = (byte) (accumulator >> bits);
+            }
+        }
+        pos = end + 1;
+        return new Bytes(out, length);
+    }
+
+    /** Skips the value at the cursor, including nested objects and arrays. */
+    void skipValue() {
+        skipWhitespace();
+        int depth = 0;
+        while (pos < json.length()) {
+            char c = json.charAt(pos);
+            if (c == '"') {
+                skipString();
+                if (depth == 0) {
+                    return;
+                }
+                continue;
+            }
+            if (c == '{' || c == '[') {
+                depth++;
+            } else if (c == '}' || c == ']') {
+                if (depth == 0) {
+                    return; // End of the enclosing container - scalar ended
+                }
+                depth--;
+                if (depth == 0) {
+                    pos++;
+                    return;
+                }
+            } else if (c == ',' && depth == 0) {
+                return;
+            }
+            pos++;
+        }
+    }
+
+    private void skipString() {
+        pos++; // Opening quote
+        while (pos < json.length()) {
+            char c = json.charAt(pos++);
+            if (c == '\\') {
+                pos++;
+            } else if (c == '"') {
+                return;
+            }
+        }
+        throw error("Unterminated string");
+    }
+
+    private void skipWhitespace() {
+        while (pos < json.length() && json.charAt(pos) <= ' ') {
+            pos++;
+        }
+    }
+
+    private void expect(char c) {
+        skipWhitespace();
+        if (current() != c) {
+            throw error("Expected '" + c + "'");
+        }
+        pos++;
+    }
+
+    private char current() {
+        if (pos >= json.length()) {
+            throw error("Unexpected end of message");
+        }
+        return json.charAt(pos);
+    }
+
+    private char next() {
+        char c = current();
+        pos++;
+        return c;
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " at " + pos);
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.fyp_serverbasedapp;
+
+/**
+ * Fixed-size log-linear histogram in the style of HdrHistogram: every power of two is split
+ * into 16 linear sub-buckets, so any recorded value is known to within about 6% whatever its
+ * magnitude, and recording is a couple of shifts and an array increment. Not thread-safe.
+ */
+final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS; // Values below this are exact
+    private static final int HALF = SUB_BUCKETS / 2;
+
+    private final long[] counts = new long[indexOf(Long.MAX_VALUE) + 1];
+    private long total = 0;
+    private long sum = 0;
+    private long max = 0;
+
+    void record(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        counts[indexOf(value)]++;
+        total++;
+        sum += value;
+        max = Math.max(max, value);
+    }
+
+    long count() {
+        return total;
+    }
+
+    long max() {
+        return max;
+    }
+
+    long mean() {
+        return total == 0 ? 0 : sum / total;
+    }
+
+    /** Highest value equivalent to the given percentile (0-100), never above the recorded max. */
+    long percentile(double percentile) {
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(max, highestEquivalent(i));
+            }
+        }
+        return max;
+    }
+
+    void reset() {
+        java.util.Arrays.fill(counts, 0);
+        total = 0;
+        sum = 0;
+        max = 0;
+    }
+
+    // [0, 32) map to themselves; above that each power of two gets 16 buckets of equal width
+    private static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS - 1);
+        return shift * HALF + (int) (value >>> shift);
+    }
+
+    private static long highestEquivalent(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / HALF - 1;
+        long lowest = (long) (index % HALF + HALF) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,210 @@
+package com.example.fyp_serverbasedapp;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+
+/**
+ * Follows each real-time chunk from capture to the transcript on screen. A span is opened when
+ * the chunker closes a chunk, stamped as it passes each stage on whatever thread it is on, and
+ * correlated with server replies through its chunk_id. Every stage keeps a histogram of the
+ * time since the previous stage, plus one for the whole trip, so percentiles show where the
+ * end-to-end latency goes. Chunks that never produce a segment (silence) age out unreported.
+ * Only real-time chunks get a span: streaming-mode frames and the full-recording upload are sent
+ * without one and are not measured.
+ */
+final class LatencyTracker {
+
+    enum Stage {
+        CAPTURED("capture"),            // Last sample of the chunk read from the microphone
+        CLOSED("chunk close"),          // Chunker cut the chunk (ring wait + VAD)
+        ENCODED("encode"),              // WAV/Opus + Base64, or binary frame built
+        ENQUEUED("enqueue"),            // Handed to the WebSocket send queue
+        SENT("send"),                   // webSocketClient.send() returned
+        ACKED("audio_received"),        // Server confirmed the chunk
+        FIRST_SEGMENT("first segment"), // First segment_result for the chunk decoded
+        RENDERED("render");             // Frame that draws it has started
+
+        final String label;
+
+        Stage(String label) {
+            this.label = label;
+        }
+    }
+
+    private static final Stage[] STAGES = Stage.values();
+    private static final double[] PERCENTILES = {50, 90, 99};
+
+    static final class Span {
+        final long[] at = new long[STAGES.length]; // System.nanoTime(), 0 = not reached
+        String chunkId;
+    }
+
+    private final int bytesPerSecond;
+    private final int maxOpenSpans;
+    private final int keepSpans;
+    private final LatencyHistogram[] stageMicros = new LatencyHistogram[STAGES.length];
+    private final LatencyHistogram totalMicros = new LatencyHistogram();
+    private final LinkedHashMap<String, Span> open = new LinkedHashMap<>();
+    private final ArrayDeque<Span> completed = new ArrayDeque<>();
+    private long abandoned = 0;
+
+    // Capture clock - where the recorder was in the ring, and when
+    private long lastCapturePosition = -1;
+    private long lastCaptureNanos = 0;
+
+    LatencyTracker(int bytesPerSecond, int maxOpenSpans, int keepSpans) {
+        this.bytesPerSecond = bytesPerSecond;
+        this.maxOpenSpans = maxOpenSpans;
+        this.keepSpans = keepSpans;
+        for (int i = 1; i < STAGES.length; i++) {
+            stageMicros[i] = new LatencyHistogram();
+        }
+    }
+
+    /** Capture thread, after each read: ring bytes up to writePosition exist as of nanos. */
+    synchronized void onCaptured(long writePosition, long nanos) {
+        lastCapturePosition = writePosition;
+        lastCaptureNanos = nanos;
+    }
+
+    /** Opens a span for a chunk ending at endPosition in the ring, closed now. */
+    synchronized Span begin(long endPosition) {
+        Span span = new Span();
+        long now = System.nanoTime();
+        long captured = now;
+        if (lastCapturePosition >= endPosition) {
+            // Audio arrives at a fixed rate - walk back from the latest read to this chunk's end
+            captured = lastCaptureNanos - (lastCapturePosition - endPosition) * 1_000_000_000L / bytesPerSecond;
+        }
+        span.at[Stage.CAPTURED.ordinal()] = Math.min(captured, now);
+        record(span, Stage.CLOSED, now);
+        return span;
+    }
+
+    /** Makes the span reachable by the chunk_id the server will echo. */
+    synchronized void bind(Span span, String chunkId) {
+        if (span == null || chunkId == null || span.chunkId != null) {
+            return;
+        }
+        span.chunkId = chunkId;
+        open.put(chunkId, span);
+        Iterator<Span> eldest = open.values().iterator();
+        while (open.size() > maxOpenSpans && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+            abandoned++;
+        }
+    }
+
+    synchronized void mark(Span span, Stage stage) {
+        if (span != null) {
+            record(span, stage, System.nanoTime());
+        }
+    }
+
+    synchronized void mark(String chunkId, Stage stage) {
+        Span span = chunkId == null || chunkId.isEmpty() ? null : open.get(chunkId);
+        if (span != null) {
+            record(span, stage, System.nanoTime());
+        }
+    }
+
+    /** One line per stage: count and percentiles in milliseconds. */
+    synchronized String summary() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.US, "%-16s %6s %8s %8s %8s %8s%n", "stage (ms)", "count", "p50", "p90", "p99", "max"));
+        for (int i = 1; i < STAGES.length; i++) {
+            appendRow(sb, STAGES[i].label, stageMicros[i]);
+        }
+        appendRow(sb, "end to end", totalMicros);
+        sb.append("rendered=").append(totalMicros.count()).append(" open=").append(open.size())
+                .append(" abandoned=").append(abandoned);
+        return sb.toString();
+    }
+
+    /** Compact p50/p90 per stage for an on-screen overlay. */
+    synchronized String overlayText() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 1; i < STAGES.length; i++) {
+            appendShort(sb, STAGES[i].label, stageMicros[i]);
+            sb.append(i % 2 == 0 ? '\n' : ' ');
+        }
+        appendShort(sb, "e2e", totalMicros);
+        return sb.toString();
+    }
+
+    /** The summary, then one CSV row per recent span: milliseconds from capture to each stage. */
+    synchronized void writeReport(Writer out) throws IOException {
+        out.write(summary());
+        out.write("\n\nchunk_id");
+        for (int i = 1; i < STAGES.length; i++) {
+            out.write(',');
+            out.write(STAGES[i].name().toLowerCase(Locale.US));
+        }
+        out.write('\n');
+        for (Span span : completed) {
+            out.write(span.chunkId != null ? span.chunkId : "");
+            long captured = span.at[Stage.CAPTURED.ordinal()];
+            for (int i = 1; i < STAGES.length; i++) {
+                out.write(',');
+                if (span.at[i] != 0) {
+                    out.write(String.format(Locale.US, "%.1f", (span.at[i] - captured) / 1e6));
+                }
+            }
+            out.write('\n');
+        }
+    }
+
+    synchronized void reset() {
+        for (int i = 1; i < STAGES.length; i++) {
+            stageMicros[i].reset();
+        }
+        totalMicros.reset();
+        open.clear();
+        completed.clear();
+        abandoned = 0;
+    }
+
+    // First time only - a chunk with several segments keeps the time of the first
+    private void record(Span span, Stage stage, long nanos) {
+        int index = stage.ordinal();
+        if (span.at[index] != 0) {
+            return;
+        }
+        span.at[index] = nanos;
+        for (int previous = index - 1; previous >= 0; previous--) {
+            if (span.at[previous] != 0) {
+                stageMicros[index].record((nanos - span.at[previous]) / 1000);
+                break;
+            }
+        }
+        if (stage == Stage.RENDERED) {
+            totalMicros.record((nanos - span.at[Stage.CAPTURED.ordinal()]) / 1000);
+            if (span.chunkId != null) {
+                open.remove(span.chunkId);
+            }
+            completed.addLast(span);
+            if (completed.size() > keepSpans) {
+                completed.removeFirst();
+            }
+        }
+    }
+
+    private static void appendRow(StringBuilder sb, String label, LatencyHistogram histogram) {
+        sb.append(String.format(Locale.US, "%-16s %6d", label, histogram.count()));
+        for (double percentile : PERCENTILES) {
+            sb.append(String.format(Locale.US, " %8.1f", histogram.percentile(percentile) / 1000.0));
+        }
+        sb.append(String.format(Locale.US, " %8.1f%n", histogram.max() / 1000.0));
+    }
+
+    private static void appendShort(StringBuilder sb, String label, LatencyHistogram histogram) {
+        sb.append(label).append(' ')
+                .append(histogram.percentile(50) / 1000).append('/')
+                .append(histogram.percentile(90) / 1000).append("ms");
+    }
+}
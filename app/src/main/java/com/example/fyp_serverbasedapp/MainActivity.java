@@ -7,12 +7,13 @@ import android.content.SharedPreferences;
 import android.media.AudioRecord;
 import android.media.MediaRecorder;
 import android.media.AudioFormat;
+import android.net.ConnectivityManager;
+import android.net.Network;
 import android.os.Bundle;
 import android.util.Log;
 import android.view.View;
 import android.widget.Button;
 import android.widget.LinearLayout;
-import android.widget.ScrollView;
 import android.widget.TextView;
 import android.widget.Switch;
 import android.content.Intent;
@@ -24,9 +25,6 @@ import android.widget.RadioGroup;
 import android.widget.RadioButton;
 import android.view.ViewGroup;
 import android.provider.MediaStore;
-import android.graphics.Bitmap;
-import android.graphics.BitmapFactory;
-import android.graphics.Matrix;
 import android.hardware.camera2.CameraCharacteristics;
 import java.io.ByteArrayOutputStream;
 import android.hardware.camera2.CameraDevice;
@@ -37,7 +35,6 @@ import android.hardware.camera2.CaptureResult;
 import android.hardware.camera2.TotalCaptureResult;
 import android.media.Image;
 import android.media.ImageReader;
-import android.os.HandlerThread;
 import android.graphics.ImageFormat;
 import java.nio.ByteBuffer;
 
@@ -45,10 +42,14 @@ import androidx.annotation.NonNull;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.core.app.ActivityCompat;
 import androidx.core.content.ContextCompat;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
 
 import org.json.JSONObject;
 import org.json.JSONException;
 import android.util.Base64;
+import org.java_websocket.WebSocket;
+import org.java_websocket.WebSocketImpl;
 import org.java_websocket.client.WebSocketClient;
 import org.java_websocket.handshake.ServerHandshake;
 import java.net.URI;
@@ -57,18 +58,17 @@ import java.io.FileOutputStream;
 import java.io.FileInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 import java.util.HashSet;
 import java.util.Collections;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.TimeUnit;
 import java.lang.Thread;
 import android.speech.tts.TextToSpeech;
 import java.util.Locale;
@@ -92,10 +92,27 @@ public class MainActivity extends AppCompatActivity {
     private boolean isRecordingState = false; // Visual recording state indicator
     private boolean isGestureDetectionActive = false; // Gesture detection toggle state
     private boolean shouldReconnect = true; // Auto-reconnect flag
-    private int reconnectAttempts = 0;
-    private static final int MAX_RECONNECT_ATTEMPTS = 5;
-    private long lastReconnectTime = 0; // Track last reconnect to prevent loops
-    private static final long MIN_RECONNECT_INTERVAL_MS = 5000; // Min 5 seconds between reconnects
+    private static final int MAX_RECONNECT_ATTEMPTS = 8; // ~1.5 min of retries before giving up
+    private static final long RECONNECT_BASE_DELAY_MS = 1000; // First retry after 0.5-1s, then doubling
+    private static final long RECONNECT_MAX_DELAY_MS = 30000; // Backoff cap (before jitter)
+    private final ReconnectScheduler reconnectScheduler = new ReconnectScheduler(new Handler(Looper.getMainLooper()),
+            RECONNECT_BASE_DELAY_MS, RECONNECT_MAX_DELAY_MS, MAX_RECONNECT_ATTEMPTS, new ReconnectScheduler.Listener() {
+        @Override
+        public void onReconnect(int attempt) {
+            if (!isConnected && !isConnecting) {
+                Log.i(TAG, "Auto-reconnecting (attempt " + attempt + "/" + MAX_RECONNECT_ATTEMPTS + ")...");
+                reconnectWebSocket();
+            }
+        }
+
+        @Override
+        public void onGiveUp(int attempts) {
+            Log.w(TAG, "Giving up after " + attempts + " reconnect attempts - " + reconnectScheduler.metricsSummary());
+            abandonSuspendedSession();
+            processingStatus.setText("Connection lost. Click 'Test Server' to reconnect.");
+        }
+    });
+    private ConnectivityManager.NetworkCallback networkCallback; // Retries at once when the network returns
     private Handler pingHandler = new Handler(Looper.getMainLooper());
     private Runnable pingRunnable;
     private Handler gestureHandler = new Handler(Looper.getMainLooper());
@@ -110,15 +127,36 @@ public class MainActivity extends AppCompatActivity {
     private android.os.HandlerThread backgroundThread;
     private android.os.Handler backgroundHandler;
     private String cameraId;
+    private volatile boolean isFrontCamera; // Frames are sent unmirrored - the server flips them
+    private int cameraSensorOrientation = 0; // Read once when the camera is chosen
+    private volatile int gestureFrameRotation = 0; // Precomputed - frames only read it
+    private android.hardware.display.DisplayManager.DisplayListener displayRotationListener;
     private static final int GESTURE_SEND_INTERVAL_MS = 500; // Send images to server every 500ms (throttling)
-    private long lastGestureSendTime = 0; // Track last time we sent a gesture image
+    private static final int GESTURE_FRAME_SIZE = 224; // Gesture model input - frames are cropped and scaled to this square
+    private static final int GESTURE_JPEG_QUALITY = 80; // Lower = fewer uplink bytes per frame
+    private final GestureFrameEncoder gestureFrameEncoder = new GestureFrameEncoder(GESTURE_FRAME_SIZE, GESTURE_JPEG_QUALITY);
+    private static final double GESTURE_CHANGE_THRESHOLD = 6.0; // Mean luma difference (0-255) on a 32x24 thumbnail
+    private static final long GESTURE_KEYFRAME_INTERVAL_MS = 3000; // Send an unchanged scene at least this often
+    private final FrameChangeDetector gestureChangeDetector =
+            new FrameChangeDetector(32, 24, GESTURE_CHANGE_THRESHOLD, GESTURE_KEYFRAME_INTERVAL_MS);
+    private static final boolean GESTURE_HAND_FILTER_ENABLED = true; // Only send frames with a likely hand in view
+    private final HandPresenceDetector handPresenceDetector = new HandPresenceDetector(32, 24, 12);
+    private volatile boolean gestureHandInView = true;
+    private long lastGestureSendTime = 0; // Track last time we sent a gesture image (camera thread)
+    private final AtomicBoolean gestureFrameInFlight = new AtomicBoolean(false); // One frame encoding at a time
+    private long gestureFramesAccepted = 0; // Camera thread only
+    private long gestureFramesDropped = 0;
+    private android.util.Range<Integer> gestureFpsRange; // Slowest AE frame rate the camera offers, null = default
     private Thread audioBufferProcessorThread;
     private volatile boolean isAppDestroyed = false;
 
-    // Separate executor services for parallel processing (containerized)
-    private ExecutorService audioProcessingExecutor; // Dedicated thread pool for audio processing
-    private ExecutorService gestureProcessingExecutor; // Dedicated thread pool for gesture processing
-    private ExecutorService webSocketSendExecutor; // Dedicated thread pool for WebSocket sends (thread-safe)
+    // Every background thread runs on a TaskScheduler lane (priority, pool size, bounded queue)
+    private final TaskScheduler taskScheduler = new TaskScheduler();
+    private volatile TtsAudioPlayer ttsAudioPlayer; // Streams tts_audio PCM to one reusable AudioTrack
+    private WebSocketSendScheduler sendScheduler; // Single WebSocket sender with per-type bounded queues
+    private volatile ServerMessageDispatcher messageDispatcher; // Decodes server messages off the UI thread
+    private final ByteArrayPool ttsAudioPool = new ByteArrayPool(2, 2 * 1024 * 1024); // Decoded tts_audio payloads
+    private volatile boolean manualPingPending = false; // Only a ping from the button shows its pong
 
     // Audio recording parameters
     private static final int SAMPLE_RATE = 16000;
@@ -127,24 +165,60 @@ public class MainActivity extends AppCompatActivity {
     private static final int BUFFER_SIZE_MULTIPLIER = 4; // Increased buffer size
 
     // Real-time chunk parameters
-    private static final int CHUNK_INTERVAL_MS = 3000; // Send chunks every 3 seconds
+    private static final int CHUNK_INTERVAL_MS = 3000; // Typical chunk length (cut at a pause near this)
+    private static final int MIN_CHUNK_MS = 1500; // Earliest point a chunk may close at a pause
+    private static final int MAX_CHUNK_MS = CHUNK_INTERVAL_MS + 1000; // Forced cut at the quietest point
     private static final int BYTES_PER_SECOND = SAMPLE_RATE * 2; // 16-bit = 2 bytes per sample, mono
     private static final int CHUNK_SIZE_BYTES = (CHUNK_INTERVAL_MS * BYTES_PER_SECOND) / 1000; // ~96KB for 3 seconds
 
+    // Streaming mode parameters - small frames pushed straight from the read loop
+    private static final int STREAM_FRAME_MS = 200; // One frame every 200ms
+    private static final int STREAM_FRAME_BYTES = (STREAM_FRAME_MS * BYTES_PER_SECOND) / 1000; // 6.4KB per frame
+
+    // Voice activity detection gate in the capture loop
+    private static final int VAD_HANGOVER_MS = 300; // Keep sending this long after speech stops
+    private static final int VAD_PRE_ROLL_MS = 300; // Audio replayed from just before speech onset
+    private static final int VAD_PRE_ROLL_BYTES = (VAD_PRE_ROLL_MS * BYTES_PER_SECOND) / 1000;
+
+    // Compressed uplink - offered in join_conversation, the server picks the codec
+    private static final boolean ENABLE_OPUS_UPLINK = true; // false = always send PCM
+    private static final int OPUS_UPLINK_BITRATE = 24000; // 24 kbit/s instead of 256 kbit/s PCM
+
+    // Capture ring - the recorder writes into it, VAD/chunker/sender read views of it
+    private static final int AUDIO_RING_BYTES = 1 << 18; // 256KB, ~8s - must exceed MAX_CHUNK_MS + overlap
+    private static final boolean VAD_DROP_SILENCE = true; // false = send everything but flag silent audio
+
     private static final int MIN_RECORDING_DURATION_MS = 300; // Catch very quick speech
     private static final int OVERLAP_DURATION_MS = 500; // More overlap to prevent cutting
+    private static final int MIN_RECORDING_DURATION_BYTES = (MIN_RECORDING_DURATION_MS * BYTES_PER_SECOND) / 1000;
+
+    // Full-session audio - a rolling window in a memory-mapped cache file, not on the heap
+    private static final int SESSION_AUDIO_WINDOW_MS = 5 * 60 * 1000; // Keep the last 5 minutes
+    private static final int SESSION_AUDIO_WINDOW_BYTES = (int) ((long) SESSION_AUDIO_WINDOW_MS * BYTES_PER_SECOND / 1000); // ~9.6MB
+    private static final int UPLOAD_BLOCK_BYTES = 48000; // 1.5s - a multiple of 3 so Base64 blocks join cleanly
+    private static final long SESSION_DRAIN_TIMEOUT_MS = 2000; // Longest wait for the last reads to reach the store
+    private SessionAudioStore sessionAudio; // null if the cache file could not be mapped
 
     // Audio data collection with buffering - Minimize downtime
-    private List<byte[]> audioChunks = new ArrayList<>();
-    private BlockingQueue<byte[]> audioBuffer = new LinkedBlockingQueue<>(50); // Audio buffer
-    private int totalBytesRecorded = 0;
+    private final PcmRingBuffer audioRing = new PcmRingBuffer(AUDIO_RING_BYTES);
+    private volatile CaptureSession activeCaptureSession; // Set by the capture thread, consumed by AudioBufferProcessor
+    private Thread audioCaptureThread;
     private long lastSpeechTime = 0;
-    private long recordingStartTime = 0;
 
-    // Real-time chunk tracking
-    private List<byte[]> currentChunkBuffer = new ArrayList<>(); // Buffer for current 3-second chunk
-    private int currentChunkBytes = 0; // Bytes in current chunk
-    private Handler chunkHandler = new Handler(Looper.getMainLooper()); // Handler for chunk timer
+    // Per-chunk latency spans, capture to transcript render - the report is written when recording stops
+    private static final boolean LATENCY_OVERLAY_ENABLED = false; // Show stage percentiles under the transcript
+    private static final int LATENCY_OVERLAY_REFRESH_MS = 1000;
+    private final LatencyTracker latencyTracker = new LatencyTracker(BYTES_PER_SECOND, 64, 512);
+    private final Handler latencyOverlayHandler = new Handler(Looper.getMainLooper());
+    private TextView latencyOverlay;
+    private final Runnable latencyOverlayUpdater = new Runnable() {
+        @Override
+        public void run() {
+            latencyOverlay.setText(latencyTracker.overlayText());
+            latencyOverlayHandler.postDelayed(this, LATENCY_OVERLAY_REFRESH_MS);
+        }
+    };
+    private long recordingStartTime = 0;
 
     private boolean hasDetectedSpeech = false;
 
@@ -155,13 +229,35 @@ public class MainActivity extends AppCompatActivity {
     // Essential counters only
     private int audioSentCount = 0;
     private int audioReceivedCount = 0;
+    private int audioRefusedCount = 0; // Audio the send queue would not take
+
+    // Binary audio framing - negotiated in join_conversation, JSON/Base64 stays as fallback
+    private volatile boolean useBinaryAudioFrames = false;
+    private volatile boolean useStreamingAudio = false; // Sub-second frames instead of 3-second chunks
+    private volatile boolean opusUplinkOffered = false; // Opus was listed in our last join_conversation
+    private volatile boolean useOpusUplink = false; // Server chose Opus for this session
+    private OpusUplinkEncoder opusEncoder; // Owned by the AudioBufferProcessor thread
+    private final AtomicInteger audioFrameSequence = new AtomicInteger(0); // Monotonic per session
+    private int resumeSequence = -1; // next_sequence sent with the last resume_token
+    private long lastChunkId = 0;
+
+    // Session resumption - audio not yet confirmed by audio_received is replayed after a reconnect
+    private static final long UNACKED_AUDIO_MAX_BYTES = 4L * 1024 * 1024; // ~2 min of PCM
+    private static final long SESSION_RESUME_TIMEOUT_MS = 60000; // Give up and leave after this long offline
+    private final UnackedAudioBuffer unackedAudio = new UnackedAudioBuffer(UNACKED_AUDIO_MAX_BYTES);
+    private volatile String sessionToken; // From conversation_joined - null if the server cannot resume
+    private volatile boolean isSessionSuspended = false; // Socket dropped, session kept for a resume
+    private final Handler sessionResumeHandler = new Handler(Looper.getMainLooper());
+    private final Runnable sessionResumeTimeout = this::abandonSuspendedSession;
 
     // UI Components
     private TextView connectionStatus;
     private TextView processingStatus;
     private TextView gestureDisplay;  // Display box for gesture meaning
-    private LinearLayout conversationContainer;
-    private ScrollView chatScrollView;
+    private RecyclerView conversationList;
+    private TranscriptAdapter transcriptAdapter;
+    private TranscriptAutoScroller transcriptScroller;
+    private final TranscriptModel transcriptModel = new TranscriptModel(); // UI thread only
     private Button requestButton, stopButton, testServerButton, disconnectButton;
     private Button voiceRegistrationButton;
     private Button gestureRecognitionButton;
@@ -178,6 +274,9 @@ public class MainActivity extends AppCompatActivity {
     private String recordedVoiceData = null;
     private boolean hasRecordedVoice = false;
     private static final int VOICE_RECORDING_DURATION_MS = 5000; // 5 seconds for voice registration
+    private static final int VOICE_RECORDING_BYTES = (VOICE_RECORDING_DURATION_MS + 500) * BYTES_PER_SECOND / 1000;
+    private byte[] voiceRecordingBuffer; // Allocated on first registration, reused afterwards
+    private int voiceRecordedBytes = 0;
 
     // Text-to-Speech for gesture announcements
     private TextToSpeech textToSpeech;
@@ -185,6 +284,17 @@ public class MainActivity extends AppCompatActivity {
     private String lastSpokenGesture = ""; // Track last spoken gesture to avoid repeating
     private long lastSpokenGestureTime = 0; // Track when last gesture was spoken
     private static final long GESTURE_SPEAK_COOLDOWN_MS = 3000; // 3 seconds cooldown between same gestures
+    // Synthesized clips by text + voice - the gesture vocabulary is tiny, so repeats cost nothing
+    private final TtsAudioCache ttsAudioCache = new TtsAudioCache(48, 8 * 1024 * 1024);
+    private volatile String ttsVoiceKey = ""; // Voice name + locale, part of the cache key
+    // synthesizeToFile requests by utterance id, completed by the UtteranceProgressListener
+    private final java.util.concurrent.ConcurrentHashMap<String, PendingSynthesis> pendingSyntheses =
+            new java.util.concurrent.ConcurrentHashMap<>();
+    private final AtomicInteger ttsUtteranceCounter = new AtomicInteger();
+    // Gesture recognizer labels, synthesized once TTS is ready
+    private static final String[] GESTURE_TTS_WARM_LABELS = {
+            "Closed_Fist", "Open_Palm", "Pointing_Up", "Thumb_Down", "Thumb_Up", "Victory", "ILoveYou"
+    };
 
 
     @Override
@@ -217,68 +327,25 @@ public class MainActivity extends AppCompatActivity {
         // Initialize UI components
         connectionStatus = findViewById(R.id.connectionStatus);
         processingStatus = findViewById(R.id.processingStatus);
-        conversationContainer = findViewById(R.id.conversationContainer);
-        chatScrollView = findViewById(R.id.chatScrollView);
-
-        // Configure ScrollView to stretch width and enable scrolling
-        if (chatScrollView != null) {
-            try {
-                // Ensure ScrollView stretches to full width on all screen sizes
-                ViewGroup.LayoutParams scrollParams = chatScrollView.getLayoutParams();
-                if (scrollParams != null) {
-                    scrollParams.width = ViewGroup.LayoutParams.MATCH_PARENT;
-                    chatScrollView.setLayoutParams(scrollParams);
-                }
-
-                // CRITICAL: Don't use fillViewport(true) - it prevents scrolling when content is larger
-                // Only use fillViewport if content is smaller than viewport (we want scrolling)
-                chatScrollView.setFillViewport(false);
-                // Ensure smooth scrolling
-                chatScrollView.setSmoothScrollingEnabled(true);
-                // Enable nested scrolling for better touch handling
-                chatScrollView.setNestedScrollingEnabled(true);
-                // Enable vertical scrolling
-                chatScrollView.setVerticalScrollBarEnabled(true);
-                // Make sure ScrollView can scroll
-                chatScrollView.setScrollContainer(true);
-            } catch (Exception e) {
-                Log.e(TAG, "Error configuring ScrollView: " + e.getMessage());
-            }
-        }
-
-        // Configure conversationContainer to stretch width on all screen sizes
-        if (conversationContainer != null) {
-            try {
-                // Set orientation explicitly (safe operation)
-                conversationContainer.setOrientation(LinearLayout.VERTICAL);
-
-                // Post layout parameter setting to ensure parent is available
-                conversationContainer.post(() -> {
-                    try {
-                        ViewGroup parent = (ViewGroup) conversationContainer.getParent();
-                        if (parent != null) {
-                            // Get existing layout params and modify them safely
-                            ViewGroup.LayoutParams existingParams = conversationContainer.getLayoutParams();
-                            if (existingParams != null) {
-                                // CRITICAL: Set width to MATCH_PARENT to stretch full width on all screens
-                                // This allows the container to use full width on AR glasses and mobile
-                                existingParams.width = ViewGroup.LayoutParams.MATCH_PARENT;
-                                existingParams.height = ViewGroup.LayoutParams.WRAP_CONTENT;
-                                conversationContainer.setLayoutParams(existingParams);
-
-                                // Force layout to ensure proper sizing
-                                conversationContainer.requestLayout();
-                            }
-                        }
-                    } catch (Exception e) {
-                        Log.e(TAG, "Error setting conversationContainer layout params: " + e.getMessage());
-                        // Continue without setting layout params - app should still work
-                    }
-                });
-            } catch (Exception e) {
-                Log.e(TAG, "Error configuring conversationContainer: " + e.getMessage());
-                // Continue without setting layout params - app should still work
-            }
+        conversationList = findViewById(R.id.conversationList);
+
+        // Transcript: recycled bubbles, newest at the bottom
+        transcriptAdapter = new TranscriptAdapter(this);
+        LinearLayoutManager transcriptLayout = new LinearLayoutManager(this);
+        transcriptLayout.setStackFromEnd(true);
+        conversationList.setLayoutManager(transcriptLayout);
+        conversationList.setAdapter(transcriptAdapter);
+        // Bubbles change text, not size class - skip the default change animation flicker
+        conversationList.setItemAnimator(null);
+        // At most one scroll per frame, and only while the user hasn't scrolled up to read
+        transcriptScroller = new TranscriptAutoScroller(conversationList);
+        transcriptAdapter.setCommitCallback(transcriptScroller::requestScroll);
+        transcriptAdapter.addNotice("Connect and join conversation to begin...", 0xFF00FF00);
+
+        latencyOverlay = findViewById(R.id.latencyOverlay);
+        if (LATENCY_OVERLAY_ENABLED) {
+            latencyOverlay.setVisibility(View.VISIBLE);
+            latencyOverlayHandler.post(latencyOverlayUpdater);
         }
 
         requestButton = findViewById(R.id.requestButton);
@@ -377,6 +444,7 @@ public class MainActivity extends AppCompatActivity {
         initializeExecutorServices();
 
         setupWebSocket();
+        registerNetworkCallback();
 
         // Request permissions at startup - always request both together
         boolean needsAudio = !checkAudioPermission();
@@ -402,9 +470,11 @@ public class MainActivity extends AppCompatActivity {
         testServerButton.setOnClickListener(v -> {
             if (!isConnected) {
                 Log.i(TAG, "Manual reconnect requested");
+                reconnectScheduler.cancel();
                 reconnectWebSocket();
                 processingStatus.setText("Connecting to server...");
             } else {
+                manualPingPending = true;
                 sendPingMessage();
                 processingStatus.setText("Manual ping sent to server...");
             }
@@ -441,6 +511,7 @@ public class MainActivity extends AppCompatActivity {
 
         disconnectButton.setOnClickListener(v -> {
             Log.i(TAG, "Manual disconnect requested");
+            reconnectScheduler.cancel();
             stopClientPing(); // Stop ping when disconnecting
             leaveConversation();
             closeWebSocket();
@@ -540,60 +611,95 @@ public class MainActivity extends AppCompatActivity {
                 buttonsLayout.addView(gestureRecognitionButton);
                 buttonsLayout.addView(gestureDisplay);
             }
-        } else {
-            // Fallback: attach to conversation container if buttons' parent isn't linear
-            conversationContainer.addView(divider, 0);
-            conversationContainer.addView(gestureRecognitionButton, 1);
-            conversationContainer.addView(gestureDisplay, 2);
+        } else if (buttonsParent instanceof ViewGroup) {
+            // Fallback: append to whatever holds the buttons
+            ViewGroup buttonsGroup = (ViewGroup) buttonsParent;
+            buttonsGroup.addView(divider);
+            buttonsGroup.addView(gestureRecognitionButton);
+            buttonsGroup.addView(gestureDisplay);
         }
 
         // Start audio buffer processing
+        openSessionAudioStore();
         startAudioBufferProcessor();
     }
 
     private void startAudioBufferProcessor() {
-        // Process audio buffer in background thread
-        audioBufferProcessorThread = new Thread(() -> {
+        // Single consumer of the capture ring - runs VAD, chunking and streaming on views of it
+        audioBufferProcessorThread = taskScheduler.newThread(TaskScheduler.Lane.ENCODE, "AudioBufferProcessor", () -> {
+            CaptureSession session = null;
             while (!isAppDestroyed) {
                 try {
-                    byte[] audioData = audioBuffer.take(); // Blocking take
-                    if (audioData != null && !isAppDestroyed) {
-                        processAudioChunk(audioData);
+                    // Sessions are taken in order - a new recording waits until the previous one is finished
+                    if (session == null || session.isFinished()) {
+                        session = activeCaptureSession;
+                        if (session == null || session.isFinished()) {
+                            audioRing.awaitData(audioRing.writePosition(), TimeUnit.MILLISECONDS.toNanos(100));
+                            continue;
+                        }
+                    }
+
+                    long position = session.consumedPosition();
+                    long available = session.readLimit(audioRing.writePosition());
+                    if (position < available) {
+                        int length = audioRing.contiguousFrom(position, available);
+                        processAudioChunk(audioRing.array(), audioRing.offsetOf(position), length);
+                        session.consume(position, length);
+                    } else if (session.isDrained()) {
+                        session.finish();
+                        if (session.capturedBytes() > 0) {
+                            Log.i(TAG, "VAD: " + (session.silentBytes() * 100 / session.capturedBytes())
+                                    + "% of captured audio was silence" + (VAD_DROP_SILENCE ? " (not sent)" : " (flagged)"));
+                        }
+                    } else {
+                        audioRing.awaitData(position, TimeUnit.MILLISECONDS.toNanos(100));
+                    }
+                    if (Thread.interrupted()) {
+                        Log.i(TAG, "Audio buffer processor interrupted");
+                        break;
                     }
-                } catch (InterruptedException e) {
-                    Log.i(TAG, "Audio buffer processor interrupted");
-                    break;
                 } catch (Exception e) {
                     if (!isAppDestroyed) {
                         Log.e(TAG, "Error in audio buffer processor: " + e.getMessage());
                     }
                 }
             }
+            releaseOpusEncoder();
         });
-        audioBufferProcessorThread.setName("AudioBufferProcessor");
         audioBufferProcessorThread.start();
     }
 
-    private void processAudioChunk(byte[] audioData) {
+    private void openSessionAudioStore() {
+        try {
+            sessionAudio = new SessionAudioStore(new File(getCacheDir(), "session_audio.pcm"), SESSION_AUDIO_WINDOW_BYTES);
+        } catch (IOException e) {
+            // Real-time audio still works - only the full-session upload is lost
+            Log.e(TAG, "Could not map session audio file: " + e.getMessage());
+            sessionAudio = null;
+        }
+    }
+
+    private void clearSessionAudio() {
+        SessionAudioStore store = sessionAudio;
+        if (store != null) {
+            store.clear();
+        }
+    }
+
+    private void processAudioChunk(byte[] audioData, int offset, int length) {
         // Don't process audio if not in conversation
         if (!isInConversation) {
             return;
         }
 
-        // Add to audio chunks
-        audioChunks.add(audioData);
-        totalBytesRecorded += audioData.length;
-
-        // Log every 10 chunks to avoid spam
-        if (audioChunks.size() % 10 == 0) {
+        // Add to the session window (the ring only holds the last few seconds)
+        SessionAudioStore store = sessionAudio;
+        if (store != null) {
+            store.append(audioData, offset, length);
         }
 
-        // Continuous recording - no speech detection, just record everything
-        long currentTime = System.currentTimeMillis();
-        lastSpeechTime = currentTime;
-        if (!hasDetectedSpeech) {
-            hasDetectedSpeech = true;
-        }
+        // Full session keeps everything - speech detection (lastSpeechTime, hasDetectedSpeech)
+        // is done by the VAD gate on the same view
 
         // Continuous recording - no UI status updates needed
     }
@@ -624,6 +730,7 @@ public class MainActivity extends AppCompatActivity {
         isInConversation = true;
         audioSentCount = 0;
         audioReceivedCount = 0;
+        audioFrameSequence.set(0);
         canRecordNext = true;
 
 
@@ -655,7 +762,9 @@ public class MainActivity extends AppCompatActivity {
             isInConversation = true;
             audioSentCount = 0;
             audioReceivedCount = 0;
+            audioFrameSequence.set(0);
             canRecordNext = true;
+            latencyTracker.reset();
 
             // Clear the conversation chatbox
             clearConversationChatbox();
@@ -710,10 +819,6 @@ public class MainActivity extends AppCompatActivity {
         isRecording = false;
         isRecordingState = false;
 
-        // Stop chunk timer to prevent sending more chunks
-        chunkHandler.removeCallbacksAndMessages(null);
-        Log.i(TAG, "Chunk timer stopped");
-
         // Send stop processing message to server to cancel queued chunks
         sendStopProcessingMessage();
 
@@ -729,17 +834,36 @@ public class MainActivity extends AppCompatActivity {
 
         // DO NOT process and send audio - we want to stop completely
         // Clear any pending audio chunks to prevent sending
-        audioChunks.clear();
-        totalBytesRecorded = 0;
-        synchronized (currentChunkBuffer) {
-            currentChunkBuffer.clear();
-            currentChunkBytes = 0;
-        }
+        // (the capture thread drops its pending real-time chunk when the read loop exits)
+        clearSessionAudio();
+        exportLatencyReport();
 
         Log.i(TAG, "Recording stopped - audio chunks cleared, no final audio will be sent");
 
     }
 
+    // Stage percentiles plus recent spans as CSV, in <external files>/latency/ for adb pull
+    private void exportLatencyReport() {
+        Log.i(TAG, "Chunk latency:\n" + latencyTracker.summary());
+        taskScheduler.execute(TaskScheduler.Lane.BACKGROUND, () -> {
+            File dir = getExternalFilesDir("latency");
+            if (dir == null) {
+                dir = new File(getFilesDir(), "latency");
+            }
+            if (!dir.isDirectory() && !dir.mkdirs()) {
+                Log.w(TAG, "Cannot create " + dir + " - latency report not written");
+                return;
+            }
+            File report = new File(dir, "latency_" + System.currentTimeMillis() + ".txt");
+            try (Writer out = new BufferedWriter(new FileWriter(report))) {
+                latencyTracker.writeReport(out);
+                Log.i(TAG, "Latency report written to " + report);
+            } catch (IOException e) {
+                Log.w(TAG, "Failed to write latency report: " + e.getMessage());
+            }
+        });
+    }
+
     private void sendStopProcessingMessage() {
         if (webSocketClient != null && webSocketClient.isOpen()) {
             try {
@@ -778,6 +902,7 @@ public class MainActivity extends AppCompatActivity {
 
         // Send reset session message
         sendResetSessionMessage();
+        endResumableSession();
 
         if (audioRecorder != null) {
             try {
@@ -797,8 +922,7 @@ public class MainActivity extends AppCompatActivity {
 
 
         // Clear audio buffer
-        audioBuffer.clear();
-        audioChunks.clear();
+        clearSessionAudio();
 
         runOnUiThread(() -> {
             processingStatus.setText("Ready");
@@ -854,8 +978,31 @@ public class MainActivity extends AppCompatActivity {
                 JSONObject joinMessage = new JSONObject();
                 joinMessage.put("type", "join_conversation");
                 joinMessage.put("timestamp", System.currentTimeMillis());
+                // Advertise binary audio frames - server opts in via conversation_joined
+                joinMessage.put("binary_audio", true);
+                joinMessage.put("binary_audio_version", AudioFrameCodec.VERSION);
+                // Advertise streaming frames - server reassembles them and runs incremental STT
+                joinMessage.put("streaming_audio", true);
+                joinMessage.put("stream_frame_ms", STREAM_FRAME_MS);
+                // Real-time chunks may start with this much audio from the end of the previous chunk
+                joinMessage.put("chunk_overlap_ms", OVERLAP_DURATION_MS);
+                // Uplink codecs we can send, preferred first - server answers with audio_codec
+                opusUplinkOffered = ENABLE_OPUS_UPLINK && OpusUplinkEncoder.isSupported(SAMPLE_RATE);
+                org.json.JSONArray audioCodecs = new org.json.JSONArray();
+                if (opusUplinkOffered) {
+                    audioCodecs.put(OpusUplinkEncoder.CODEC_NAME);
+                    joinMessage.put("opus_bitrate", OPUS_UPLINK_BITRATE);
+                }
+                audioCodecs.put("pcm");
+                joinMessage.put("audio_codecs", audioCodecs);
+                // Pick up the session the dropped connection belonged to
+                if (isSessionSuspended && sessionToken != null) {
+                    joinMessage.put("resume_token", sessionToken);
+                    resumeSequence = audioFrameSequence.get();
+                    joinMessage.put("next_sequence", resumeSequence);
+                }
                 webSocketClient.send(joinMessage.toString());
-                Log.i(TAG, "Sent join_conversation message to server");
+                Log.i(TAG, "Sent join_conversation message to server" + (isSessionSuspended ? " (resume)" : ""));
             } catch (JSONException e) {
                 Log.e(TAG, "Failed to send join_conversation message: " + e.getMessage());
             }
@@ -868,8 +1015,14 @@ public class MainActivity extends AppCompatActivity {
                 JSONObject pingMessage = new JSONObject();
                 pingMessage.put("type", "ping");
                 pingMessage.put("timestamp", System.currentTimeMillis());
-                webSocketClient.send(pingMessage.toString());
-                Log.d(TAG, "Sent ping to server");
+                String pingStr = pingMessage.toString();
+                // A ping still waiting behind a stalled link is replaced, not duplicated
+                if (sendScheduler != null) {
+                    if (!sendScheduler.enqueue(WebSocketSendScheduler.Lane.CONTROL, "ping", pingStr.length(), () -> pingStr)) {
+                        Log.w(TAG, "Ping not queued - sender stopped");
+                    }
+                    Log.d(TAG, "Send queues: " + sendScheduler.metricsSummary());
+                }
                 // Don't update UI for automatic pings
             } catch (JSONException e) {
                 Log.e(TAG, "Failed to send ping: " + e.getMessage());
@@ -888,6 +1041,8 @@ public class MainActivity extends AppCompatActivity {
                 resetMessage.put("type", "reset_session");
                 resetMessage.put("timestamp", System.currentTimeMillis());
 
+                // Nothing from the previous session will be replayed
+                unackedAudio.clear();
                 webSocketClient.send(resetMessage.toString());
                 processingStatus.setText("Session reset - ready to start fresh");
             } catch (JSONException e) {
@@ -927,10 +1082,53 @@ public class MainActivity extends AppCompatActivity {
 
         isConnected = false;
 
-        // Small delay to ensure old connection is fully closed
-        new Handler(Looper.getMainLooper()).postDelayed(() -> {
-            setupWebSocket();
-        }, 500); // 500ms delay
+        // The old client is closed and dropped - a new client needs no settling delay
+        setupWebSocket();
+    }
+
+    // Network callbacks run on a ConnectivityManager thread; the scheduler is thread-safe
+    private void registerNetworkCallback() {
+        ConnectivityManager connectivityManager = (ConnectivityManager) getSystemService(CONNECTIVITY_SERVICE);
+        if (connectivityManager == null) {
+            return;
+        }
+        networkCallback = new ConnectivityManager.NetworkCallback() {
+            @Override
+            public void onAvailable(Network network) {
+                if (reconnectScheduler.isReconnecting()) {
+                    Log.i(TAG, "Network available - reconnecting now");
+                }
+                reconnectScheduler.onNetworkAvailable();
+            }
+
+            @Override
+            public void onLost(Network network) {
+                Log.i(TAG, "Network lost - reconnect attempts on hold");
+                reconnectScheduler.onNetworkLost();
+            }
+        };
+        try {
+            connectivityManager.registerDefaultNetworkCallback(networkCallback);
+        } catch (RuntimeException e) {
+            // Without the callback we still retry on the backoff timer
+            Log.w(TAG, "Could not register network callback: " + e.getMessage());
+            networkCallback = null;
+        }
+    }
+
+    private void unregisterNetworkCallback() {
+        if (networkCallback == null) {
+            return;
+        }
+        ConnectivityManager connectivityManager = (ConnectivityManager) getSystemService(CONNECTIVITY_SERVICE);
+        try {
+            if (connectivityManager != null) {
+                connectivityManager.unregisterNetworkCallback(networkCallback);
+            }
+        } catch (RuntimeException e) {
+            Log.w(TAG, "Error unregistering network callback: " + e.getMessage());
+        }
+        networkCallback = null;
     }
 
     @Override
@@ -1023,6 +1221,12 @@ public class MainActivity extends AppCompatActivity {
                     isConnected = true;
                     isConnecting = false; // Connection established
 
+                    // Time from the drop to a working socket again
+                    long reconnectMs = reconnectScheduler.onConnected();
+                    if (reconnectMs >= 0) {
+                        Log.i(TAG, "Reconnected after " + reconnectMs + "ms - " + reconnectScheduler.metricsSummary());
+                    }
+
                     // Start keep-alive pings (10 second interval for tunnel services)
                     startClientPing();
 
@@ -1039,304 +1243,14 @@ public class MainActivity extends AppCompatActivity {
 
                 @Override
                 public void onMessage(String message) {
-                    try {
-                        // Log raw message for debugging parsing issues
-                        android.util.Log.i(TAG, "========== RAW_WS_MSG RECEIVED ==========");
-                        android.util.Log.i(TAG, "Message length: " + message.length());
-                        android.util.Log.i(TAG, "Message: " + (message.length() > 500 ? message.substring(0, 500) + "..." : message));
-
-                        JSONObject response = new JSONObject(message);
-                        String type = response.optString("type", "");
-
-                        runOnUiThread(() -> {
-                            switch (type) {
-                                case "conversation_joined":
-                                    connectionStatus.setText("Connected");
-                                    connectionStatus.setTextColor(getResources().getColor(android.R.color.holo_green_dark));
-                                    processingStatus.setText("Joined conversation - Ready to record!");
-                                    Log.i(TAG, "Successfully joined conversation");
-                                    break;
-
-                                case "pong":
-                                    connectionStatus.setText("Connected");
-                                    connectionStatus.setTextColor(getResources().getColor(android.R.color.holo_green_dark));
-                                    processingStatus.setText("Server is alive! (Status: " + response.optInt("status_code", 0) + ")");
-                                    break;
-
-                                case "keep_alive":
-                                    // Update connection status to show it's alive
-                                    connectionStatus.setText("Connected");
-                                    connectionStatus.setTextColor(getResources().getColor(android.R.color.holo_green_dark));
-                                    break;
-
-                                case "processing_started":
-                                    break;
-
-                                case "processing_status":
-                                    // Server is still processing - update UI and reset client ping timer
-                                    connectionStatus.setText("Connected");
-                                    connectionStatus.setTextColor(getResources().getColor(android.R.color.holo_green_dark));
-                                    processingStatus.setText("Processing on server... (working)");
-                                    // Restart client ping so the handler doesn't trigger a reconnect while server is busy
-                                    startClientPing();
-                                    // Also send a ping immediately to keep connection alive
-                                    if (isConnected && webSocketClient != null && webSocketClient.isOpen()) {
-                                        sendPingMessage();
-                                    }
-                                    break;
-
-                                case "processing_stopped":
-                                    // Server confirmed stop processing request
-                                    runOnUiThread(() -> {
-                                        processingStatus.setText("Processing stopped - remaining chunks skipped");
-                                    });
-                                    Log.i(TAG, "Server confirmed: Processing stopped");
-                                    break;
-
-                                case "segment_result":
-                                    audioReceivedCount++;
-                                    try {
-                                        JSONObject segment = response.getJSONObject("segment");
-                                        // Support both 'speaker_id' (new) and 'speaker' (legacy)
-                                        String speaker = segment.optString("speaker_id", segment.optString("speaker", "UNKNOWN"));
-                                        // Support both 'text' (new) and 'transcription' (legacy)
-                                        String text = segment.optString("text", segment.optString("transcription", ""));
-
-                                        // Check if this is the wearer's voice
-                                        boolean isWearer = segment.optBoolean("is_wearer", false);
-
-                                        // Simple speaker name formatting
-                                        String speakerName;
-                                        if (isWearer) {
-                                            speakerName = "YOU";  // Display as "YOU" for the wearer
-                                        } else if (speaker.startsWith("SPEAKER_")) {
-                                            speakerName = "Speaker " + speaker.substring(8); // Remove "SPEAKER_" prefix
-                                        } else {
-                                            speakerName = speaker;
-                                        }
-
-                                        // Add message directly without duplicate checking
-                                        addMessageToConversation(speakerName, text);
-                                        Log.d(TAG, "Added message - " + speakerName + ": " + text);
-
-                                    } catch (JSONException e) {
-                                        processingStatus.setText("Error parsing server response");
-                                        Log.e(TAG, "Error parsing segment_result: " + e.getMessage());
-                                    }
-                                    break;
-
-                                case "processing_result":
-                                    // Server sent the full array of segments in one message
-                                    try {
-                                        org.json.JSONArray segs = response.optJSONArray("segments");
-                                        if (segs != null) {
-                                            for (int si = 0; si < segs.length(); si++) {
-                                                JSONObject segment = segs.optJSONObject(si);
-                                                if (segment == null) continue;
-                                                String speaker = segment.optString("speaker_id", segment.optString("speaker", "UNKNOWN"));
-                                                String text = segment.optString("text", segment.optString("transcription", ""));
-
-                                                // Check if this is the wearer's voice
-                                                boolean isWearer = segment.optBoolean("is_wearer", false);
-
-                                                String speakerName;
-                                                if (isWearer) {
-                                                    speakerName = "YOU";  // Display as "YOU" for the wearer
-                                                } else if (speaker.startsWith("SPEAKER_")) {
-                                                    speakerName = "Speaker " + speaker.substring(8);
-                                                } else {
-                                                    speakerName = speaker;
-                                                }
-
-                                                // Add message directly without duplicate checking
-                                                addMessageToConversation(speakerName, text);
-                                            }
-                                        }
-                                    } catch (Exception e) {
-                                        processingStatus.setText("Error parsing processing_result");
-                                    }
-                                    break;
-
-                                case "no_speech":
-                                    break;
-
-                                case "audio_received":
-                                    // Server confirmed it received the audio
-                                    canRecordNext = true;
-
-
-                                    break;
-
-                                case "audio_processed":
-
-                                    // Update status to show processing completed
-                                    runOnUiThread(() -> {
-                                        processingStatus.setText("Processing completed - Ready to record again");
-                                    });
-
-                                    updateButtonStates();
-                                    break;
-
-                                case "speakers_list":
-                                    processingStatus.setText("Speakers auto-detected during conversation");
-                                    break;
-
-                                case "voice_registered":
-                                    // Handle voice registration from VoiceRegistrationActivity
-                                    String voiceId = response.optString("voice_id", null);
-                                    int numSamples = response.optInt("num_samples", 1);
-                                    String regMethod = response.optString("registration_method", "single");
-
-                                    if (voiceId != null) {
-                                        userVoiceId = voiceId;
-                                        saveUserVoiceId(voiceId);  // Save persistently
-
-                                        if ("multi-sample".equals(regMethod)) {
-                                            processingStatus.setText("Voice registered with " + numSamples + " samples (Robust)");
-                                        } else {
-                                            processingStatus.setText("Voice registered! You'll show as 'WEARER'");
-                                        }
-                                    }
-                                    break;
-
-                                case "processing_error":
-                                    try {
-                                        String error = response.getString("error");
-                                        String chunkId = response.optString("chunk_id", "");
-                                        processingStatus.setText("Processing Error: " + error);
-                                        connectionStatus.setText("Connected");
-                                        connectionStatus.setTextColor(getResources().getColor(android.R.color.holo_green_dark));
-                                        Log.e(TAG, "Server processing error for chunk " + chunkId + ": " + error);
-                                    } catch (JSONException e) {
-                                        processingStatus.setText("Unknown processing error occurred");
-                                    }
-                                    isProcessing.set(false);
-                                    updateButtonStates();
-                                    break;
-
-                                case "error":
-                                    try {
-                                        String error = response.getString("error");
-                                        processingStatus.setText("Error: " + error);
-                                    } catch (JSONException e) {
-                                        processingStatus.setText("Unknown error occurred");
-                                    }
-                                    isProcessing.set(false);
-                                    updateButtonStates();
-                                    break;
-
-                                case "gesture_result":
-                                    try {
-                                        android.util.Log.i(TAG, "========== GESTURE RESULT RECEIVED ==========");
-                                        android.util.Log.i(TAG, "Full response: " + response.toString());
-
-                                        int statusCode = response.optInt("status_code", 0);
-                                        android.util.Log.i(TAG, "Status code: " + statusCode);
-
-                                        if (statusCode == 200) {
-                                            org.json.JSONArray gestures = response.optJSONArray("gestures");
-                                            android.util.Log.i(TAG, "Gestures array: " + (gestures != null ? gestures.toString() : "null"));
-                                            android.util.Log.i(TAG, "Gestures length: " + (gestures != null ? gestures.length() : 0));
-
-                                            if (gestures != null && gestures.length() > 0) {
-                                                StringBuilder gestureText = new StringBuilder();
-                                                StringBuilder gestureNamesForTTS = new StringBuilder();
-
-                                                for (int i = 0; i < gestures.length(); i++) {
-                                                    JSONObject gesture = gestures.getJSONObject(i);
-                                                    String categoryName = gesture.optString("category_name", "Unknown");
-                                                    double score = gesture.optDouble("score", 0.0);
-
-                                                    // Build display text with confidence
-                                                    if (i > 0) gestureText.append(", ");
-                                                    gestureText.append(categoryName).append(" (").append(String.format("%.0f%%", score * 100)).append(")");
-
-                                                    // Build clean text for TTS (just names)
-                                                    if (i > 0) gestureNamesForTTS.append(" and ");
-                                                    gestureNamesForTTS.append(categoryName);
-
-                                                    android.util.Log.i(TAG, "Gesture " + i + ": " + categoryName + " (" + score + ")");
-                                                }
-
-                                                android.util.Log.i(TAG, "Final gesture text: " + gestureText.toString());
-
-                                                // Display in gesture display box
-                                                if (gestureDisplay != null) {
-                                                    gestureDisplay.setText("Gesture: " + gestureText.toString());
-                                                    gestureDisplay.setBackgroundColor(getResources().getColor(android.R.color.holo_green_dark));
-                                                    gestureDisplay.setVisibility(View.VISIBLE);
-                                                    android.util.Log.i(TAG, "Gesture display updated");
-                                                } else {
-                                                    android.util.Log.e(TAG, "gestureDisplay is NULL!");
-                                                }
-
-                                                processingStatus.setText("Gesture detected: " + gestureText.toString());
-
-                                                // Speak the gesture out loud using Text-to-Speech (clean names only)
-                                                speakGesture(gestureNamesForTTS.toString());
-                                            } else {
-                                                android.util.Log.i(TAG, "No gestures detected in response");
-                                                if (gestureDisplay != null) {
-                                                    gestureDisplay.setText("No gesture detected");
-                                                    gestureDisplay.setBackgroundColor(getResources().getColor(android.R.color.darker_gray));
-                                                    gestureDisplay.setVisibility(View.VISIBLE);
-                                                }
-                                                processingStatus.setText("No gesture detected");
-                                            }
-                                        } else {
-                                            String error = response.optString("error", "Unknown error");
-                                            android.util.Log.e(TAG, "Gesture recognition error: " + error);
-                                            if (gestureDisplay != null) {
-                                                gestureDisplay.setText("Error: " + error);
-                                                gestureDisplay.setBackgroundColor(getResources().getColor(android.R.color.holo_red_dark));
-                                                gestureDisplay.setVisibility(View.VISIBLE);
-                                            }
-                                            processingStatus.setText("Gesture recognition error: " + error);
-                                        }
-                                        android.util.Log.i(TAG, "==========================================");
-                                    } catch (JSONException e) {
-                                        android.util.Log.e(TAG, "Error parsing gesture result: " + e.getMessage(), e);
-                                        if (gestureDisplay != null) {
-                                            gestureDisplay.setText("Error parsing gesture result");
-                                            gestureDisplay.setBackgroundColor(getResources().getColor(android.R.color.holo_red_dark));
-                                            gestureDisplay.setVisibility(View.VISIBLE);
-                                        }
-                                        processingStatus.setText("Error parsing gesture result");
-                                    }
-                                    break;
-
-                                case "tts_audio":
-                                    // Handle TTS audio from server to play on glasses
-                                    try {
-                                        String audioData = response.optString("audio_data", "");
-                                        String format = response.optString("format", "wav");
-                                        String text = response.optString("text", "");
-
-                                        android.util.Log.i(TAG, "========== TTS AUDIO RECEIVED ==========");
-                                        android.util.Log.i(TAG, "Text: " + text);
-                                        android.util.Log.i(TAG, "Format: " + format);
-                                        android.util.Log.i(TAG, "Audio data length: " + (audioData != null ? audioData.length() : 0));
-
-                                        if (audioData != null && !audioData.isEmpty()) {
-                                            android.util.Log.i(TAG, "Calling playTTSAudioOnGlasses...");
-                                            playTTSAudioOnGlasses(audioData, format);
-                                        } else {
-                                            android.util.Log.w(TAG, "TTS audio message missing audio_data");
-                                        }
-                                        android.util.Log.i(TAG, "=====================================");
-                                    } catch (Exception e) {
-                                        android.util.Log.e(TAG, "Error handling tts_audio message: " + e.getMessage(), e);
-                                        e.printStackTrace();
-                                    }
-                                    break;
-
-                                default:
-                            }
-                        });
-                    } catch (JSONException e) {
-                        runOnUiThread(() -> {
-                            processingStatus.setText("Received non-JSON message");
-                        });
+                    // Full payloads only at VERBOSE - tts_audio alone is hundreds of KB
+                    if (Log.isLoggable(TAG, Log.VERBOSE)) {
+                        Log.v(TAG, "WS message: " + (message.length() > 500 ? message.substring(0, 500) + "..." : message));
+                    }
+                    // Decoded off the socket's read thread and off the UI thread
+                    ServerMessageDispatcher dispatcher = messageDispatcher;
+                    if (dispatcher != null) {
+                        dispatcher.dispatch(message);
                     }
                 }
 
@@ -1349,11 +1263,26 @@ public class MainActivity extends AppCompatActivity {
                     // Stop ping when connection closes
                     stopClientPing();
 
+                    // Transport must be negotiated again on the next join
+                    useBinaryAudioFrames = false;
+                    useStreamingAudio = false;
+                    useOpusUplink = false;
                     isConnected = false;
                     isConnecting = false; // Reset connecting flag
-                    leaveConversation();
+
+                    // A dropped link keeps the session: recording goes on and audio waits for the resume
+                    boolean resumable = isResumable(code);
+                    if (resumable) {
+                        suspendSession();
+                    } else {
+                        // Anything still queued was meant for this connection
+                        if (sendScheduler != null) {
+                            sendScheduler.clear();
+                        }
+                        leaveConversation();
+                    }
                     runOnUiThread(() -> {
-                        connectionStatus.setText("Disconnected");
+                        connectionStatus.setText(resumable ? "Reconnecting" : "Disconnected");
                         connectionStatus.setTextColor(getResources().getColor(android.R.color.holo_red_dark));
                         updateButtonStates();
                     });
@@ -1368,21 +1297,15 @@ public class MainActivity extends AppCompatActivity {
                     }
 
                     // Auto-reconnect for unexpected disconnects (not manual disconnects)
-                    // Only reconnect if it was an unexpected closure (code 1006 = abnormal closure)
-                    // and we're not already trying to reconnect
-                    if (code == 1006 && !isConnecting && shouldReconnect) {
-                        Log.i(TAG, "Unexpected disconnect detected - attempting auto-reconnect...");
+                    // Only reconnect if it was an unexpected closure (code 1006 = abnormal closure);
+                    // a failed reconnect attempt or a suspended session keeps retrying with backoff
+                    if ((code == 1006 || resumable || reconnectScheduler.isReconnecting()) && shouldReconnect) {
+                        Log.i(TAG, "Unexpected disconnect detected - scheduling reconnect (attempt "
+                                + (reconnectScheduler.attempts() + 1) + ")");
                         runOnUiThread(() -> {
-                            processingStatus.setText("Connection lost. Reconnecting...");
+                            processingStatus.setText(resumable ? "Connection lost. Resuming session..." : "Connection lost. Reconnecting...");
                         });
-
-                        // Wait a bit before reconnecting to avoid immediate retry loops
-                        new Handler(Looper.getMainLooper()).postDelayed(() -> {
-                            if (!isConnected && !isConnecting) {
-                                Log.i(TAG, "Auto-reconnecting...");
-                                reconnectWebSocket();
-                            }
-                        }, 3000); // Wait 3 seconds before reconnecting
+                        reconnectScheduler.onDisconnected();
                     } else {
                         Log.i(TAG, "Connection closed - manual disconnect or reconnect disabled");
                         runOnUiThread(() -> {
@@ -1396,9 +1319,15 @@ public class MainActivity extends AppCompatActivity {
                     Log.e(TAG, "========== WebSocket ERROR ==========");
                     Log.e(TAG, "Error: " + ex.getMessage());
                     ex.printStackTrace();
+                    useBinaryAudioFrames = false;
+                    useStreamingAudio = false;
+                    useOpusUplink = false;
                     isConnected = false;
                     isConnecting = false; // Reset connecting flag
-                    leaveConversation();
+                    // onClose follows and decides whether the session can be resumed
+                    if (!isResumable(1006)) {
+                        leaveConversation();
+                    }
                     runOnUiThread(() -> {
                         connectionStatus.setText("Error");
                         connectionStatus.setTextColor(getResources().getColor(android.R.color.holo_red_dark));
@@ -1433,8 +1362,7 @@ public class MainActivity extends AppCompatActivity {
         try {
 
             // Clear previous recording data
-            audioChunks.clear();
-            totalBytesRecorded = 0;
+            clearSessionAudio();
             hasDetectedSpeech = false;
             recordingStartTime = System.currentTimeMillis();
             lastSpeechTime = recordingStartTime;
@@ -1477,89 +1405,105 @@ public class MainActivity extends AppCompatActivity {
             runOnUiThread(() -> {
             });
 
-            new Thread(() -> {
-                byte[] buffer = new byte[bufferSize];
+            AudioRecord recorder = audioRecorder;
+            Thread previousCapture = audioCaptureThread;
+            audioCaptureThread = taskScheduler.newThread(TaskScheduler.Lane.URGENT_AUDIO, "AudioCapture", () -> {
+                // Only one thread may write into the capture ring - let a previous capture loop finish first
+                if (previousCapture != null) {
+                    try {
+                        previousCapture.join(1000);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
 
                 try {
-                    audioRecorder.startRecording();
+                    recorder.startRecording();
                 } catch (SecurityException e) {
                     runOnUiThread(() -> {
                         processingStatus.setText("Error: Audio permission denied");
                     });
                     return;
+                } catch (IllegalStateException e) {
+                    // Released before we got to start it
+                    return;
                 }
 
-                // Reset chunk tracking - start fresh for real-time processing
-                currentChunkBuffer.clear();
-                currentChunkBytes = 0;
                 recordingStartTime = System.currentTimeMillis();
 
-                // Start chunk timer - send chunks every 3 seconds with NO overlap
-                // For real-time, we want clean boundaries even if speech is cut off
-                chunkHandler.postDelayed(new Runnable() {
-                    @Override
-                    public void run() {
-                        if (isRecording && isInConversation) {
-                            sendRealTimeChunk();
-                            // Clear buffer immediately after sending to prevent overlap
-                            synchronized (currentChunkBuffer) {
-                                currentChunkBuffer.clear();
-                                currentChunkBytes = 0;
+                // Streaming mode is decided once per recording so a stream is never mixed with chunks
+                boolean streaming = useStreamingAudio;
+                long streamId = streaming ? nextChunkId() : 0;
+
+                // Chunks close at speech pauses (or end of speech) instead of on a wall-clock timer,
+                // and the tail of each cut chunk is carried into the next one
+                SpeechChunker chunker = streaming ? null : new SpeechChunker(SAMPLE_RATE, MIN_CHUNK_MS, MAX_CHUNK_MS,
+                        OVERLAP_DURATION_MS, this::sendRealTimeChunk);
+
+                // VAD, chunker and stream frames all run on the AudioBufferProcessor thread, reading the ring
+                CaptureSession session = new CaptureSession(audioRing,
+                        new VoiceActivityDetector(SAMPLE_RATE, VAD_HANGOVER_MS),
+                        chunker, STREAM_FRAME_BYTES, VAD_PRE_ROLL_BYTES, MIN_RECORDING_DURATION_BYTES, VAD_DROP_SILENCE,
+                        new CaptureSession.Listener() {
+                            @Override
+                            public void onSpeech() {
+                                lastSpeechTime = System.currentTimeMillis();
+                                hasDetectedSpeech = true;
                             }
-                            // Schedule next chunk
-                            chunkHandler.postDelayed(this, CHUNK_INTERVAL_MS);
-                        }
-                    }
-                }, CHUNK_INTERVAL_MS);
 
-                int totalBytesRead = 0;
-                int chunkCount = 0;
+                            @Override
+                            public void onStreamFrame(long position, int length, boolean endOfStream, boolean hasSpeech) {
+                                sendStreamFrame(streamId, position, length, endOfStream, hasSpeech);
+                            }
+                        });
+                activeCaptureSession = session;
 
-                while (isRecording && isInConversation) {
-                    if (audioRecorder == null) {
-                        break;
-                    }
+                if (streaming) {
+                    Log.i(TAG, "Streaming audio in " + STREAM_FRAME_MS + "ms frames (stream " + streamId + ")");
+                    runOnUiThread(() -> {
+                        processingStatus.setText("Streaming audio...");
+                    });
+                }
 
-                    int bytesRead = audioRecorder.read(buffer, 0, buffer.length);
+                // Reads go straight into the ring - nothing is allocated per read
+                int readSize = Math.min(bufferSize, STREAM_FRAME_BYTES);
+                byte[] overrunScratch = null;
+                long overrunBytes = 0;
 
-                    if (bytesRead < 0) {
-                        break;
+                while (isRecording && isInConversation && audioRecorder == recorder) {
+                    int writable = audioRing.writableContiguous() & ~1;
+                    int bytesRead;
+                    if (writable == 0) {
+                        // Consumer is behind by a whole ring - keep draining the recorder and drop this read
+                        if (overrunScratch == null) {
+                            overrunScratch = new byte[readSize];
+                        }
+                        bytesRead = recorder.read(overrunScratch, 0, readSize);
+                        if (bytesRead > 0) {
+                            overrunBytes += bytesRead;
+                        }
+                    } else {
+                        bytesRead = recorder.read(audioRing.array(), audioRing.writeOffset(), Math.min(readSize, writable));
+                        if (bytesRead > 0) {
+                            audioRing.commitWrite(bytesRead);
+                            latencyTracker.onCaptured(audioRing.writePosition(), System.nanoTime());
+                        }
                     }
 
-                    totalBytesRead += bytesRead;
-                    chunkCount++;
-
-                    // Store audio data in buffer for processing
-                    byte[] audioChunk = new byte[bytesRead];
-                    System.arraycopy(buffer, 0, audioChunk, 0, bytesRead);
-
-                    // Add to main buffer (for final processing)
-                    try {
-                        audioBuffer.put(audioChunk);
-                    } catch (InterruptedException e) {
+                    if (bytesRead < 0) {
                         break;
                     }
-
-                    // Also add to current chunk buffer for real-time processing
-                    synchronized (currentChunkBuffer) {
-                        currentChunkBuffer.add(audioChunk);
-                        currentChunkBytes += bytesRead;
-                    }
-
-                    // Log every 50 chunks to avoid spam
-                    if (chunkCount % 50 == 0) {
-                    }
                 }
 
-                // Stop chunk timer
-                chunkHandler.removeCallbacksAndMessages(null);
-
-                // Send any remaining audio as final chunk
-                if (currentChunkBytes > 0) {
-                    sendRealTimeChunk();
+                if (overrunBytes > 0) {
+                    Log.w(TAG, "Capture ring overrun - dropped " + overrunBytes + " bytes");
                 }
 
-            }).start();
+                // The consumer finishes the session (final stream frame) once it has drained the ring
+                session.markCaptureEnded(audioRing.writePosition());
+                audioRing.wakeConsumer();
+            });
+            audioCaptureThread.start();
         } catch (Exception e) {
             runOnUiThread(() -> {
                 processingStatus.setText("Error starting recording: " + e.getMessage());
@@ -1568,9 +1512,6 @@ public class MainActivity extends AppCompatActivity {
     }
 
     private void stopSingleRecording() {
-        // Stop chunk timer
-        chunkHandler.removeCallbacksAndMessages(null);
-
         if (audioRecorder != null) {
             try {
                 if (audioRecorder.getRecordingState() == AudioRecord.RECORDSTATE_RECORDING) {
@@ -1596,12 +1537,6 @@ public class MainActivity extends AppCompatActivity {
 
         // Process and send the final recorded audio (full audio, not chunk)
         processAndSendAudio();
-
-        // Clear chunk buffer
-        synchronized (currentChunkBuffer) {
-            currentChunkBuffer.clear();
-            currentChunkBytes = 0;
-        }
     }
 
     private void processAndSendAudio() {
@@ -1610,322 +1545,198 @@ public class MainActivity extends AppCompatActivity {
             return;
         }
 
-        if (audioChunks.isEmpty()) {
+        SessionAudioStore store = sessionAudio;
+        if (store == null) {
             canRecordNext = true;
             isProcessing.set(false);
             return;
         }
+        CaptureSession session = activeCaptureSession;
 
         // Mark that we're sending audio
         canRecordNext = false;
         isProcessing.set(true);
 
-        // Use dedicated audio processing executor for parallel processing
-        if (audioProcessingExecutor != null && !audioProcessingExecutor.isShutdown()) {
-            audioProcessingExecutor.execute(() -> {
-                try {
-                    // Combine all audio chunks into one array
-                    byte[] completeAudio = new byte[totalBytesRecorded];
-                    int offset = 0;
-                    for (byte[] chunk : audioChunks) {
-                        System.arraycopy(chunk, 0, completeAudio, offset, chunk.length);
-                        offset += chunk.length;
-                    }
+        // Encode lane - Base64 of a whole session must stay off the UI thread
+        boolean queued = taskScheduler.execute(TaskScheduler.Lane.ENCODE, () -> {
+            try {
+                // The processor is still moving the last reads from the ring into the store
+                if (session != null && !session.awaitFinished(SESSION_DRAIN_TIMEOUT_MS)) {
+                    Log.w(TAG, "Audio processor still draining - sending the audio stored so far");
+                }
 
-                    // Create WAV header and combine with audio data
-                    byte[] wavBytes = createWavBytes(completeAudio);
+                // Read a fixed range by absolute position - later appends cannot shift it
+                long from = store.oldestPosition();
+                int totalBytes = (int) (store.endPosition() - from);
+                if (totalBytes == 0) {
+                    canRecordNext = true;
+                    isProcessing.set(false);
+                    return;
+                }
+                if (store.droppedBytes() > 0) {
+                    Log.w(TAG, "Session longer than " + (SESSION_AUDIO_WINDOW_MS / 60000)
+                            + " minutes - sending the most recent part only");
+                }
 
-                    if (wavBytes == null) {
-                        canRecordNext = true;
-                        isProcessing.set(false);
-                        return;
-                    }
+                // Binary frames: stream the window block by block, no session-sized array
+                if (useBinaryAudioFrames) {
+                    sendSessionAudioFrames(store, from, totalBytes);
+                    return;
+                }
 
-                    // Convert to base64 and send directly
-                    String base64Audio = Base64.encodeToString(wavBytes, Base64.DEFAULT);
+                // JSON needs a single message - Base64 the WAV block by block straight from the store
+                String base64Audio = encodeSessionAudioAsWavBase64(store, from, totalBytes);
 
-                    sendWavAudioToServer(base64Audio);
+                sendWavAudioToServer(base64Audio);
 
-                } catch (Exception e) {
-                    // Reset flags on error
-                    canRecordNext = true;
-                    isProcessing.set(false);
-                }
-            });
-        } else {
-            android.util.Log.e(TAG, "Audio processing executor not available");
+            } catch (Exception e) {
+                Log.e(TAG, "Session audio upload failed: " + e.getMessage());
+                // Reset flags on error
+                canRecordNext = true;
+                isProcessing.set(false);
+            }
+        });
+        if (!queued) {
+            android.util.Log.e(TAG, "Encode lane not available");
             canRecordNext = true;
             isProcessing.set(false);
         }
     }
 
+    private void sendSessionAudioFrames(SessionAudioStore store, long from, int totalBytes) throws IOException {
+        // One upload id, numbered frames, END_OF_STREAM on the last - the same reassembly as live streams
+        long uploadId = nextChunkId();
+        byte[] block = new byte[UPLOAD_BLOCK_BYTES];
+        int sent = 0;
+        do {
+            int length = store.read(from + sent, block, 0, Math.min(block.length, totalBytes - sent));
+            if (length < 0) {
+                throw new IOException("Session audio was overwritten during the upload");
+            }
+            sent += length;
+            int flags = AudioFrameCodec.FLAG_STREAM;
+            if (length == 0 || sent >= totalBytes) {
+                flags |= AudioFrameCodec.FLAG_END_OF_STREAM;
+            }
+            sendEncodedAudioFrame(flags, AudioFrameCodec.encode(
+                    uploadId,
+                    audioFrameSequence.getAndIncrement(),
+                    System.currentTimeMillis(),
+                    SAMPLE_RATE,
+                    flags,
+                    block, 0, length
+            ), null);
+            if (length == 0) {
+                break;
+            }
+        } while (sent < totalBytes);
+    }
+
+    private String encodeSessionAudioAsWavBase64(SessionAudioStore store, long from, int totalBytes) throws IOException {
+        ByteArrayOutputStream header = new ByteArrayOutputStream(44);
+        writeWavHeader(header, totalBytes, SAMPLE_RATE);
+
+        StringBuilder base64 = new StringBuilder(((header.size() + totalBytes + 2) / 3) * 4);
+        byte[] block = new byte[UPLOAD_BLOCK_BYTES];
+
+        // First block carries the WAV header; every block but the last is a multiple of 3 bytes
+        System.arraycopy(header.toByteArray(), 0, block, 0, header.size());
+        int fill = header.size();
+        int read = 0;
+        while (true) {
+            int length = store.read(from + read, block, fill, Math.min(block.length - fill, totalBytes - read));
+            if (length < 0) {
+                throw new IOException("Session audio was overwritten while encoding");
+            }
+            read += length;
+            fill += length;
+            if (fill == 0) {
+                break;
+            }
+            base64.append(Base64.encodeToString(block, 0, fill, Base64.NO_WRAP));
+            if (fill < block.length) {
+                break; // Short block - that was the end
+            }
+            fill = 0;
+        }
+        return base64.toString();
+    }
+
     private byte[] createWavBytes(byte[] audioData) {
+        return createWavBytes(audioData, 0, audioData.length);
+    }
+
+    private byte[] createWavBytes(byte[] audioData, int offset, int length) {
         try {
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            writeWavHeader(baos, audioData.length, SAMPLE_RATE);
-            baos.write(audioData);
+            ByteArrayOutputStream baos = new ByteArrayOutputStream(44 + length);
+            writeWavHeader(baos, length, SAMPLE_RATE);
+            baos.write(audioData, offset, length);
             return baos.toByteArray();
         } catch (IOException e) {
             return null;
         }
     }
 
+    private byte[] createWavBytes(PcmRingBuffer ring, long position, int length) {
+        try {
+            ByteArrayOutputStream header = new ByteArrayOutputStream(44);
+            writeWavHeader(header, length, SAMPLE_RATE);
+            // Header then PCM straight from the ring into one exact-size array
+            byte[] wavBytes = new byte[header.size() + length];
+            System.arraycopy(header.toByteArray(), 0, wavBytes, 0, header.size());
+            ring.copyOut(position, wavBytes, header.size(), length);
+            return wavBytes;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
     // Conversation Methods
     private void clearConversationChatbox() {
         runOnUiThread(() -> {
-            if (conversationContainer != null) {
-                conversationContainer.removeAllViews();
-
-
-                // Add initial message
-                LinearLayout initialMessage = new LinearLayout(this);
-                initialMessage.setOrientation(LinearLayout.HORIZONTAL);
-                initialMessage.setPadding(4, 2, 4, 2);
-
-                TextView initialText = new TextView(this);
-                initialText.setText("Conversation started - listening for speech...");
-                initialText.setTextSize(12);
-                initialText.setTextColor(getResources().getColor(android.R.color.darker_gray));
-                initialText.setPadding(4, 2, 4, 2);
-
-                initialMessage.addView(initialText);
-                conversationContainer.addView(initialMessage);
-
-                // Scroll to top after clearing
-                scrollToBottom();
+            transcriptModel.clear();
+            if (transcriptAdapter != null) {
+                transcriptAdapter.reset("Conversation started - listening for speech...",
+                        getResources().getColor(android.R.color.darker_gray));
+            }
+            if (transcriptScroller != null) {
+                transcriptScroller.stick(); // New conversation - follow it from the start
             }
         });
     }
 
-    private void scrollToBottom() {
-        if (chatScrollView != null && conversationContainer != null) {
-            // Use post to ensure layout is complete
-            chatScrollView.post(() -> {
-                try {
-                    // Force layout calculation
-                    conversationContainer.measure(
-                            View.MeasureSpec.makeMeasureSpec(chatScrollView.getWidth(), View.MeasureSpec.EXACTLY),
-                            View.MeasureSpec.makeMeasureSpec(0, View.MeasureSpec.UNSPECIFIED)
-                    );
-
-                    // Get the actual height of the content
-                    int contentHeight = conversationContainer.getMeasuredHeight();
-                    int scrollViewHeight = chatScrollView.getHeight();
-
-                    if (contentHeight > scrollViewHeight) {
-                        // Content is taller than viewport - scroll to bottom
-                        int scrollAmount = contentHeight - scrollViewHeight;
-                        chatScrollView.smoothScrollTo(0, scrollAmount);
-                    } else {
-                        // Content fits - just ensure we're at the bottom
-                        chatScrollView.fullScroll(ScrollView.FOCUS_DOWN);
-                    }
-                } catch (Exception e) {
-                    Log.e(TAG, "Error scrolling to bottom: " + e.getMessage());
-                    // Fallback: use fullScroll if any error occurs
-                    try {
-                        chatScrollView.fullScroll(ScrollView.FOCUS_DOWN);
-                    } catch (Exception e2) {
-                        Log.e(TAG, "Error in fallback scroll: " + e2.getMessage());
-                    }
-                }
-            });
-        }
-    }
-
-    private void addMessageToConversation(String speakerId, String speechText) {
-        // Debug logging
-        Log.d(TAG, "addMessageToConversation called - Speaker: " + speakerId + ", Text: " + speechText);
-
-        if (speechText == null || speechText.trim().isEmpty()) {
-            Log.w(TAG, "Warning: Attempted to add empty message, skipping");
-            return;
-        }
-
+    // Merges segments into the transcript: refined partials and same-speaker runs update existing bubbles
+    private void addSegmentsToConversation(List<ServerMessageDispatcher.Segment> segments) {
         runOnUiThread(() -> {
-            Log.d(TAG, "Inside runOnUiThread - conversationContainer: " + (conversationContainer != null ? "exists" : "null"));
-            if (conversationContainer != null) {
-                // Remove initial message if it exists
-                if (conversationContainer.getChildCount() == 1) {
-                    try {
-                        View firstChild = conversationContainer.getChildAt(0);
-                        if (firstChild instanceof TextView) {
-                            TextView firstTextView = (TextView) firstChild;
-                            if (firstTextView.getText().toString().contains("Conversation started")) {
-                                conversationContainer.removeViewAt(0);
-                            }
-                        } else if (firstChild instanceof LinearLayout) {
-                            LinearLayout firstLayout = (LinearLayout) firstChild;
-                            if (firstLayout.getChildCount() > 0) {
-                                View firstSubChild = firstLayout.getChildAt(0);
-                                if (firstSubChild instanceof TextView) {
-                                    TextView firstTextView = (TextView) firstSubChild;
-                                    if (firstTextView.getText().toString().contains("Conversation started")) {
-                                        conversationContainer.removeViewAt(0);
-                                    }
-                                }
-                            }
-                        }
-                    } catch (Exception e) {
-                    }
-                }
-
-                // Check if this is the wearer's message
-                boolean isWearerMessage = speakerId.equals("YOU");
-
-                // Create outer horizontal container for alignment
-                LinearLayout outerLayout = new LinearLayout(this);
-                outerLayout.setOrientation(LinearLayout.HORIZONTAL);
-                outerLayout.setLayoutParams(new LinearLayout.LayoutParams(
-                        LinearLayout.LayoutParams.MATCH_PARENT,
-                        LinearLayout.LayoutParams.WRAP_CONTENT
-                ));
-
-                // Set gravity to align messages: right for wearer, left for others
-                if (isWearerMessage) {
-                    outerLayout.setGravity(android.view.Gravity.END);  // Right align
+            List<TranscriptModel.Bubble> changed = new ArrayList<>(segments.size());
+            List<String> chunkIds = new ArrayList<>(segments.size());
+            for (ServerMessageDispatcher.Segment segment : segments) {
+                if (segment.text == null || segment.text.trim().isEmpty()) {
+                    Log.w(TAG, "Warning: Attempted to add empty message, skipping");
+                    continue;
+                }
+                TranscriptModel.Bubble bubble = transcriptModel.apply(segment.speakerName, segment.isWearer,
+                        segment.text, segment.chunkId, segment.start, segment.partial);
+                if (bubble == null) {
+                    Log.d(TAG, "Duplicate segment from " + segment.speakerName + " (chunk " + segment.chunkId + ") skipped");
                 } else {
-                    outerLayout.setGravity(android.view.Gravity.START);  // Left align
-                }
-
-                // Create message layout - use vertical for better text display
-                LinearLayout messageLayout = new LinearLayout(this);
-                messageLayout.setOrientation(LinearLayout.VERTICAL);
-                messageLayout.setPadding(6, 4, 6, 4);
-
-                // Set message layout to wrap content with max width (85% of screen)
-                LinearLayout.LayoutParams messageParams = new LinearLayout.LayoutParams(
-                        LinearLayout.LayoutParams.WRAP_CONTENT,
-                        LinearLayout.LayoutParams.WRAP_CONTENT
-                );
-                messageParams.setMargins(8, 4, 8, 4);  // Add margins between messages
-                messageLayout.setLayoutParams(messageParams);
-
-                // Speaker name with color-coded labels
-                TextView speakerName = new TextView(this);
-                String displaySpeakerName = speakerId;
-                int speakerColor = getResources().getColor(android.R.color.holo_blue_light);
-
-                // speaker name formatting with color coding
-                if (speakerId.equals("YOU")) {
-                    // Special handling for wearer - use distinct color
-                    displaySpeakerName = "YOU";
-                    speakerColor = getResources().getColor(android.R.color.holo_green_light);  // Green for YOU
-                } else if (speakerId.equals("USER")) {
-                    // Legacy support for USER
-                    displaySpeakerName = "YOU";
-                    speakerColor = getResources().getColor(android.R.color.holo_green_light);
-                } else if (speakerId.startsWith("SPEAKER_") || speakerId.startsWith("Speaker ")) {
-                    // Other speakers - extract speaker number for color coding
-                    String speakerNumber = "";
-                    if (speakerId.startsWith("SPEAKER_")) {
-                        speakerNumber = speakerId.substring(8);
-                        displaySpeakerName = "Speaker " + speakerNumber;
-                    } else if (speakerId.startsWith("Speaker ")) {
-                        // Extract number from "Speaker 00" or "Speaker 01" format
-                        String[] parts = speakerId.split(" ");
-                        if (parts.length > 1) {
-                            speakerNumber = parts[1];
-                            displaySpeakerName = speakerId;
-                        } else {
-                            displaySpeakerName = speakerId;
-                        }
-                    } else {
-                        displaySpeakerName = speakerId;
+                    if (!changed.contains(bubble)) {
+                        changed.add(bubble);
                     }
-
-                    // Assign different colors based on speaker number
-                    speakerColor = getSpeakerColor(speakerNumber);
-                } else {
-                    // Default for any other speaker ID
-                    displaySpeakerName = speakerId;
-                    speakerColor = getSpeakerColor(""); // Use default color
-                }
-
-                speakerName.setText(displaySpeakerName);
-                speakerName.setTextSize(15f);
-                speakerName.setTextColor(speakerColor);
-                speakerName.setPadding(10, 6, 10, 6);
-                speakerName.setTypeface(null, android.graphics.Typeface.BOLD);
-
-                // Set width to wrap content for speaker name
-                LinearLayout.LayoutParams speakerParams = new LinearLayout.LayoutParams(
-                        LinearLayout.LayoutParams.WRAP_CONTENT,
-                        LinearLayout.LayoutParams.WRAP_CONTENT
-                );
-                speakerName.setLayoutParams(speakerParams);
-
-                // Add background for better visibility
-                speakerName.setBackgroundColor(getResources().getColor(R.color.speaker_name_bg));
-
-                // Add subtle border effect
-                android.graphics.drawable.GradientDrawable border = new android.graphics.drawable.GradientDrawable();
-                border.setColor(getResources().getColor(R.color.speaker_name_bg));
-                border.setStroke(2, speakerColor);
-                border.setCornerRadius(8f);
-                speakerName.setBackground(border);
-
-                // Speech text with better readability
-                TextView speechTextView = new TextView(this);
-
-                // Check if speech text is empty or null
-                String displayText = speechText;
-                if (speechText == null || speechText.trim().isEmpty()) {
-                    displayText = "[No speech detected]";
-                }
-
-                speechTextView.setText(displayText);
-                speechTextView.setTextSize(16f);
-                speechTextView.setTextColor(getResources().getColor(android.R.color.white));
-                speechTextView.setPadding(12, 8, 12, 8);
-                speechTextView.setMaxLines(0);
-                speechTextView.setSingleLine(false);
-                speechTextView.setLineSpacing(6f, 1.1f);
-
-                // Add background for speech text with different colors for wearer vs others
-                android.graphics.drawable.GradientDrawable textBg = new android.graphics.drawable.GradientDrawable();
-                if (isWearerMessage) {
-                    // Green-tinted background for wearer's messages
-                    textBg.setColor(0xFF2D5016);  // Dark green background
-                } else {
-                    // Default background for other speakers
-                    textBg.setColor(getResources().getColor(R.color.speaker_text_bg));
-                }
-                textBg.setCornerRadius(8f);
-                speechTextView.setBackground(textBg);
-
-                // Set width to wrap content for speech text with max width constraint
-                LinearLayout.LayoutParams speechParams = new LinearLayout.LayoutParams(
-                        LinearLayout.LayoutParams.WRAP_CONTENT,
-                        LinearLayout.LayoutParams.WRAP_CONTENT
-                );
-                // Set max width to 85% of screen width for better chat bubble appearance
-                android.view.Display display = getWindowManager().getDefaultDisplay();
-                android.graphics.Point size = new android.graphics.Point();
-                display.getSize(size);
-                speechTextView.setMaxWidth((int) (size.x * 0.85));  // 85% of screen width
-                speechTextView.setLayoutParams(speechParams);
-
-                messageLayout.addView(speakerName);
-                messageLayout.addView(speechTextView);
-
-                // Add message layout to outer layout, then add outer layout to container
-                outerLayout.addView(messageLayout);
-                conversationContainer.addView(outerLayout);
-
-                // Force layout update to ensure proper sizing for scrolling
-                conversationContainer.requestLayout();
-                chatScrollView.requestLayout();
-
-                // Auto-scroll to bottom with better scrolling behavior
-                // Use a slight delay to ensure layout is complete
-                chatScrollView.postDelayed(() -> scrollToBottom(), 100);
-
-                // Limit conversation history to prevent memory issues during long conversations
-                if (conversationContainer.getChildCount() > 15) {
-                    conversationContainer.removeViewAt(0);
+                    chunkIds.add(segment.chunkId);
                 }
             }
+            if (transcriptAdapter != null) {
+                transcriptAdapter.upsertMessages(changed);
+            }
+            // Rendered once the frame that lays out the new bubbles starts
+            if (!chunkIds.isEmpty()) {
+                android.view.Choreographer.getInstance().postFrameCallback(frameTimeNanos -> {
+                    for (String chunkId : chunkIds) {
+                        latencyTracker.mark(chunkId, LatencyTracker.Stage.RENDERED);
+                    }
+                });
+            }
         });
     }
 
@@ -2040,100 +1851,604 @@ public class MainActivity extends AppCompatActivity {
         };
     }
 
-    private void sendRealTimeChunk() {
-        // Send accumulated chunk buffer as real-time chunk
-        synchronized (currentChunkBuffer) {
-            if (currentChunkBuffer.isEmpty() || currentChunkBytes == 0) {
-                return;
-            }
-
-            // Combine chunk buffer into single array
-            byte[] chunkAudio = new byte[currentChunkBytes];
-            int offset = 0;
-            for (byte[] chunk : currentChunkBuffer) {
-                System.arraycopy(chunk, 0, chunkAudio, offset, chunk.length);
-                offset += chunk.length;
-            }
+    private void sendRealTimeChunk(long position, int length, int overlapBytes, boolean hasSpeech) {
+        // Send a chunk closed by the speech chunker as real-time chunk
+        if (length == 0) {
+            return;
+        }
+        LatencyTracker.Span span = latencyTracker.begin(position + length);
 
-            // Clear chunk buffer for next chunk
-            currentChunkBuffer.clear();
-            currentChunkBytes = 0;
+        // Binary frame: PCM (or Opus) straight from the ring behind a small header
+        if (useBinaryAudioFrames) {
+            sendBinaryAudioFrame(position, length, true, hasSpeech, overlapBytes, span);
+            return;
+        }
 
-            // Send chunk using dedicated audio processing executor
-            if (audioProcessingExecutor != null && !audioProcessingExecutor.isShutdown()) {
-                audioProcessingExecutor.execute(() -> {
-                    try {
-                        // Create WAV header and combine with audio data
-                        byte[] wavBytes = createWavBytes(chunkAudio);
-                        if (wavBytes == null) {
-                            return;
-                        }
+        // The ring view is only valid on this thread - encode or copy it before handing off
+        byte[] opusPackets = encodeUplinkOpus(position, length, true);
+        byte[] payload = opusPackets != null ? opusPackets : createWavBytes(audioRing, position, length);
+        String format = opusPackets != null ? OpusUplinkEncoder.CODEC_NAME : "wav";
+        if (payload == null) {
+            return;
+        }
 
-                        // Convert to base64
-                        String base64Audio = Base64.encodeToString(wavBytes, Base64.DEFAULT);
+        // Base64 + JSON on the encode lane
+        boolean queued = taskScheduler.execute(TaskScheduler.Lane.ENCODE, () -> {
+            try {
+                // Convert to base64 (no line breaks)
+                String base64Audio = Base64.encodeToString(payload, Base64.NO_WRAP);
+                latencyTracker.mark(span, LatencyTracker.Stage.ENCODED);
 
-                        // Send as real-time chunk
-                        sendWavAudioToServer(base64Audio, true);
+                // Send as real-time chunk
+                sendWavAudioToServer(base64Audio, true, hasSpeech, overlapBytes, format, span);
 
-                    } catch (Exception e) {
-                        Log.e(TAG, "Error sending real-time chunk: " + e.getMessage());
-                    }
-                });
-            } else {
-                android.util.Log.e(TAG, "Audio processing executor not available for real-time chunk");
+            } catch (Exception e) {
+                Log.e(TAG, "Error sending real-time chunk: " + e.getMessage());
             }
+        });
+        if (!queued) {
+            android.util.Log.e(TAG, "Encode lane not available for real-time chunk");
         }
     }
 
     private void sendWavAudioToServer(String base64Audio) {
-        sendWavAudioToServer(base64Audio, false);
+        sendWavAudioToServer(base64Audio, false, true, 0, "wav", null);
     }
 
-    private void sendWavAudioToServer(String base64Audio, boolean isChunk) {
-        if (webSocketClient == null || !webSocketClient.isOpen()) {
+    // span: latency span of a real-time chunk, null for anything else
+    private void sendWavAudioToServer(String base64Audio, boolean isChunk, boolean hasSpeech, int overlapBytes, String format,
+                                      LatencyTracker.Span span) {
+        if (!canQueueAudio()) {
             return;
         }
 
-        // Use dedicated WebSocket send executor for thread-safe parallel sending
-        if (webSocketSendExecutor != null && !webSocketSendExecutor.isShutdown()) {
-            webSocketSendExecutor.execute(() -> {
-                try {
-                    audioSentCount++;
-                    String chunkId = (isChunk ? "chunk_" : "android_wav_") + System.currentTimeMillis();
+        // Audio lane: never dropped, but held back while the socket is backed up
+        if (sendScheduler == null) {
+            android.util.Log.e(TAG, "WebSocket sender not available for audio");
+            runOnUiThread(() -> {
+                processingStatus.setText("Error: Not connected to server");
+            });
+            isProcessing.set(false);
+            return;
+        }
+        latencyTracker.mark(span, LatencyTracker.Stage.ENQUEUED);
+        boolean queued = sendScheduler.enqueue(WebSocketSendScheduler.Lane.AUDIO, base64Audio.length(), new WebSocketSendScheduler.Message() {
+            @Override
+            public Object build() throws JSONException {
+                // Built at send time so chunk ids and sequence numbers follow the actual send order
+                audioSentCount++;
+                String chunkId = (isChunk ? "chunk_" : "android_wav_") + nextChunkId();
+
+                int sequence = audioFrameSequence.getAndIncrement();
+
+                JSONObject message = new JSONObject();
+                message.put("type", "audio_from_glasses");
+                message.put("chunk_id", chunkId);
+                message.put("sequence", sequence);
+                message.put("audio_data", base64Audio);
+                message.put("timestamp", System.currentTimeMillis());
+                message.put("format", format); // "wav", or the negotiated uplink codec
+                message.put("sample_rate", SAMPLE_RATE);
+                message.put("is_chunk", isChunk); // Mark as real-time chunk
+                message.put("has_speech", hasSpeech); // On-device VAD result
+                message.put("overlap_ms", overlapBytes * 1000 / BYTES_PER_SECOND); // Leading audio repeated from previous chunk
+                String payload = message.toString();
+                retainUntilAcked(sequence, chunkId, payload);
+                latencyTracker.bind(span, chunkId);
+                return payload;
+            }
 
-                    JSONObject message = new JSONObject();
-                    message.put("type", "audio_from_glasses");
-                    message.put("chunk_id", chunkId);
-                    message.put("audio_data", base64Audio);
-                    message.put("timestamp", System.currentTimeMillis());
-                    message.put("format", "wav");
-                    message.put("sample_rate", SAMPLE_RATE);
-                    message.put("is_chunk", isChunk); // Mark as real-time chunk
+            @Override
+            public void onSent() {
+                latencyTracker.mark(span, LatencyTracker.Stage.SENT);
+                // Update status to show audio sent
+                runOnUiThread(() -> {
+                    if (isChunk) {
+                        processingStatus.setText("Real-time processing...");
+                    } else {
+                        processingStatus.setText("Audio sent to server - Processing...");
+                    }
+                });
+            }
 
-                    webSocketClient.send(message.toString());
+            @Override
+            public void onFailed(Exception e) {
+                runOnUiThread(() -> {
+                    processingStatus.setText("Error sending audio to server");
+                });
+                isProcessing.set(false);
+            }
+        });
+        if (!queued) {
+            onAudioRefused(isChunk ? "real-time chunk" : "audio upload");
+        }
+    }
 
-                    // Update status to show audio sent
-                    runOnUiThread(() -> {
-                        if (isChunk) {
-                            processingStatus.setText("Real-time processing...");
-                        } else {
-                            processingStatus.setText("Audio sent to server - Processing...");
-                        }
-                    });
+    // Encodes straight from the capture ring - must run on the ring's consumer thread
+    private void sendBinaryAudioFrame(long position, int length, boolean isChunk, boolean hasSpeech, int overlapBytes,
+                                      LatencyTracker.Span span) {
+        int flags = audioFrameFlags(isChunk, hasSpeech, overlapBytes);
+        byte[] frame = encodeAudioFrame(nextChunkId(), flags, position, length, true);
+        latencyTracker.mark(span, LatencyTracker.Stage.ENCODED);
+        sendEncodedAudioFrame(flags, frame, span);
+    }
 
-                } catch (JSONException e) {
-                    runOnUiThread(() -> {
-                        processingStatus.setText("Error sending audio to server");
-                    });
-                    isProcessing.set(false);
+    private int audioFrameFlags(boolean isChunk, boolean hasSpeech, int overlapBytes) {
+        int flags = isChunk ? AudioFrameCodec.FLAG_IS_CHUNK : 0;
+        if (!hasSpeech) {
+            flags |= AudioFrameCodec.FLAG_NO_SPEECH;
+        }
+        if (overlapBytes > 0) {
+            flags |= AudioFrameCodec.FLAG_HAS_OVERLAP;
+        }
+        return flags;
+    }
+
+    private void sendStreamFrame(long streamId, long position, int length, boolean endOfStream, boolean hasSpeech) {
+        if (length == 0 && !endOfStream) {
+            return;
+        }
+        int flags = AudioFrameCodec.FLAG_IS_CHUNK | AudioFrameCodec.FLAG_STREAM;
+        if (endOfStream) {
+            flags |= AudioFrameCodec.FLAG_END_OF_STREAM;
+        }
+        if (!hasSpeech) {
+            flags |= AudioFrameCodec.FLAG_NO_SPEECH;
+        }
+        // One Opus stream per audio stream - the encoder is only reset at the end
+        sendEncodedAudioFrame(flags, encodeAudioFrame(streamId, flags, position, length, endOfStream), null);
+    }
+
+    // Ring view -> binary frame, Opus-compressed when negotiated. Consumer thread only.
+    private byte[] encodeAudioFrame(long chunkId, int flags, long position, int length, boolean endOfUnit) {
+        byte[] opusPackets = encodeUplinkOpus(position, length, endOfUnit);
+        if (opusPackets != null) {
+            flags |= AudioFrameCodec.FLAG_OPUS;
+            return AudioFrameCodec.encode(chunkId, audioFrameSequence.getAndIncrement(), System.currentTimeMillis(),
+                    SAMPLE_RATE, flags, opusPackets, 0, opusPackets.length);
+        }
+        return AudioFrameCodec.encode(chunkId, audioFrameSequence.getAndIncrement(), System.currentTimeMillis(),
+                SAMPLE_RATE, flags, audioRing, position, length);
+    }
+
+    // Returns null when the session uses PCM (or Opus just failed and we fell back to PCM)
+    private byte[] encodeUplinkOpus(long position, int length, boolean endOfUnit) {
+        if (!useOpusUplink) {
+            return null;
+        }
+        try {
+            if (opusEncoder == null) {
+                opusEncoder = new OpusUplinkEncoder(SAMPLE_RATE, OPUS_UPLINK_BITRATE);
+            }
+            return opusEncoder.encode(audioRing, position, length, endOfUnit);
+        } catch (IOException | RuntimeException e) {
+            // Each frame says what it carries, so the server copes with a switch mid-session
+            Log.e(TAG, "Opus encoding failed - sending PCM for the rest of the session: " + e.getMessage());
+            useOpusUplink = false;
+            releaseOpusEncoder();
+            return null;
+        }
+    }
+
+    private void releaseOpusEncoder() {
+        if (opusEncoder != null) {
+            try {
+                opusEncoder.release();
+            } catch (RuntimeException e) {
+                Log.w(TAG, "Error releasing Opus encoder: " + e.getMessage());
+            }
+            opusEncoder = null;
+        }
+    }
+
+    private void sendEncodedAudioFrame(int flags, byte[] frame, LatencyTracker.Span span) {
+        if (!canQueueAudio()) {
+            return;
+        }
+
+        boolean isChunk = (flags & AudioFrameCodec.FLAG_IS_CHUNK) != 0;
+        boolean isStream = (flags & AudioFrameCodec.FLAG_STREAM) != 0;
+
+        // Audio lane: never dropped, but held back while the socket is backed up
+        if (sendScheduler == null) {
+            android.util.Log.e(TAG, "WebSocket sender not available for audio");
+            runOnUiThread(() -> {
+                processingStatus.setText("Error: Not connected to server");
+            });
+            isProcessing.set(false);
+            return;
+        }
+        latencyTracker.mark(span, LatencyTracker.Stage.ENQUEUED);
+        boolean queued = sendScheduler.enqueue(WebSocketSendScheduler.Lane.AUDIO, frame.length, new WebSocketSendScheduler.Message() {
+            @Override
+            public Object build() {
+                audioSentCount++;
+                String chunkId = (isChunk ? "chunk_" : "android_wav_") + AudioFrameCodec.chunkIdOf(frame);
+                retainUntilAcked(AudioFrameCodec.sequenceOf(frame), chunkId, frame);
+                latencyTracker.bind(span, chunkId);
+                return frame;
+            }
+
+            @Override
+            public void onSent() {
+                latencyTracker.mark(span, LatencyTracker.Stage.SENT);
+                // Stream frames go out several times a second - keep the UI quiet until the last one
+                if (isStream && (flags & AudioFrameCodec.FLAG_END_OF_STREAM) == 0) {
+                    return;
                 }
+
+                // Update status to show audio sent
+                runOnUiThread(() -> {
+                    if (isChunk) {
+                        processingStatus.setText("Real-time processing...");
+                    } else {
+                        processingStatus.setText("Audio sent to server - Processing...");
+                    }
+                });
+            }
+
+            @Override
+            public void onFailed(Exception e) {
+                Log.e(TAG, "Error sending binary audio frame: " + e.getMessage());
+                runOnUiThread(() -> {
+                    processingStatus.setText("Error sending audio to server");
+                });
+                isProcessing.set(false);
+            }
+        });
+        if (!queued) {
+            onAudioRefused(isStream ? "stream frame" : "binary audio frame");
+        }
+    }
+
+    // Chunk ids stay timestamp based (chunk_<millis>) but never repeat, even for back-to-back sends
+    private synchronized long nextChunkId() {
+        long now = System.currentTimeMillis();
+        lastChunkId = Math.max(now, lastChunkId + 1);
+        return lastChunkId;
+    }
+
+    // =============== SERVER MESSAGES ===============
+
+    // Runs on the dispatcher thread - anything touching views is posted, everything else stays here
+    private class ServerEventHandler implements ServerMessageDispatcher.Listener {
+
+        @Override
+        public void onConversationJoined(ServerMessageDispatcher.Joined joined) {
+            // Server decides whether it accepts binary audio frames
+            useBinaryAudioFrames = joined.binaryAudio;
+            // Streaming frames are only sent as binary frames
+            useStreamingAudio = useBinaryAudioFrames && joined.streamingAudio;
+            // Codec is per session - anything we did not offer means PCM
+            useOpusUplink = opusUplinkOffered && OpusUplinkEncoder.CODEC_NAME.equals(joined.audioCodec);
+            Log.i(TAG, "Audio transport: " + (useBinaryAudioFrames ? "binary frames" : "JSON/Base64")
+                    + ", mode: " + (useStreamingAudio ? "streaming " + STREAM_FRAME_MS + "ms"
+                    : "chunks " + MIN_CHUNK_MS + "-" + MAX_CHUNK_MS + "ms")
+                    + ", codec: " + (useOpusUplink ? "opus " + OPUS_UPLINK_BITRATE / 1000 + "kbit/s" : "pcm"));
+            // Token for resuming this session after a dropped connection
+            sessionToken = joined.sessionToken;
+
+            runOnUiThread(() -> {
+                if (isSessionSuspended) {
+                    resumeSuspendedSession(joined.resumed, joined.nextSequence);
+                    return;
+                }
+                connectionStatus.setText("Connected");
+                connectionStatus.setTextColor(getResources().getColor(android.R.color.holo_green_dark));
+                processingStatus.setText("Joined conversation - Ready to record!");
             });
-        } else {
-            android.util.Log.e(TAG, "WebSocket send executor not available for audio");
+            Log.i(TAG, "Successfully joined conversation");
+        }
+
+        @Override
+        public void onPong(int statusCode) {
+            // Automatic pings arrive every 10s - only answer the button on screen
+            if (!manualPingPending) {
+                return;
+            }
+            manualPingPending = false;
             runOnUiThread(() -> {
-                processingStatus.setText("Error: Not connected to server");
+                connectionStatus.setText("Connected");
+                connectionStatus.setTextColor(getResources().getColor(android.R.color.holo_green_dark));
+                processingStatus.setText("Server is alive! (Status: " + statusCode + ")");
+            });
+        }
+
+        @Override
+        public void onKeepAlive() {
+            // The socket being open already says "Connected" - nothing to redraw
+        }
+
+        @Override
+        public void onProcessingStatus() {
+            // Also send a ping immediately to keep connection alive
+            if (isConnected && webSocketClient != null && webSocketClient.isOpen()) {
+                sendPingMessage();
+            }
+            runOnUiThread(() -> {
+                // Server is still processing - update UI and reset client ping timer
+                connectionStatus.setText("Connected");
+                connectionStatus.setTextColor(getResources().getColor(android.R.color.holo_green_dark));
+                processingStatus.setText("Processing on server... (working)");
+                // Restart client ping so the handler doesn't trigger a reconnect while server is busy
+                startClientPing();
+            });
+        }
+
+        @Override
+        public void onProcessingStopped() {
+            // Server confirmed stop processing request
+            Log.i(TAG, "Server confirmed: Processing stopped");
+            runOnUiThread(() -> processingStatus.setText("Processing stopped - remaining chunks skipped"));
+        }
+
+        @Override
+        public void onSegment(ServerMessageDispatcher.Segment segment) {
+            audioReceivedCount++;
+            latencyTracker.mark(segment.chunkId, LatencyTracker.Stage.FIRST_SEGMENT);
+            addSegmentsToConversation(Collections.singletonList(segment));
+        }
+
+        @Override
+        public void onSegments(List<ServerMessageDispatcher.Segment> segments) {
+            for (ServerMessageDispatcher.Segment segment : segments) {
+                latencyTracker.mark(segment.chunkId, LatencyTracker.Stage.FIRST_SEGMENT);
+            }
+            addSegmentsToConversation(segments);
+        }
+
+        @Override
+        public void onAudioReceived(int sequence, String chunkId) {
+            // Server confirmed it received the audio
+            canRecordNext = true;
+            latencyTracker.mark(chunkId, LatencyTracker.Stage.ACKED);
+            // Confirmed audio is no longer kept for replay
+            if (sequence >= 0) {
+                unackedAudio.ack(sequence);
+            } else {
+                unackedAudio.ackChunk(chunkId);
+            }
+        }
+
+        @Override
+        public void onAudioProcessed() {
+            runOnUiThread(() -> {
+                processingStatus.setText("Processing completed - Ready to record again");
+                updateButtonStates();
+            });
+        }
+
+        @Override
+        public void onSpeakersList() {
+            runOnUiThread(() -> processingStatus.setText("Speakers auto-detected during conversation"));
+        }
+
+        @Override
+        public void onVoiceRegistered(String voiceId, int numSamples, boolean multiSample) {
+            // Handle voice registration from VoiceRegistrationActivity
+            userVoiceId = voiceId;
+            saveUserVoiceId(voiceId);  // Save persistently
+            runOnUiThread(() -> {
+                if (multiSample) {
+                    processingStatus.setText("Voice registered with " + numSamples + " samples (Robust)");
+                } else {
+                    processingStatus.setText("Voice registered! You'll show as 'WEARER'");
+                }
+            });
+        }
+
+        @Override
+        public void onProcessingError(String error, String chunkId) {
+            Log.e(TAG, "Server processing error for chunk " + chunkId + ": " + error);
+            isProcessing.set(false);
+            runOnUiThread(() -> {
+                if (error != null) {
+                    processingStatus.setText("Processing Error: " + error);
+                    connectionStatus.setText("Connected");
+                    connectionStatus.setTextColor(getResources().getColor(android.R.color.holo_green_dark));
+                } else {
+                    processingStatus.setText("Unknown processing error occurred");
+                }
+                updateButtonStates();
             });
+        }
+
+        @Override
+        public void onError(String error) {
             isProcessing.set(false);
+            runOnUiThread(() -> {
+                processingStatus.setText(error != null ? "Error: " + error : "Unknown error occurred");
+                updateButtonStates();
+            });
+        }
+
+        @Override
+        public void onGestureResult(ServerMessageDispatcher.GestureResult result) {
+            if (!result.success) {
+                android.util.Log.e(TAG, "Gesture recognition error: " + result.error);
+                runOnUiThread(() -> {
+                    showGestureDisplay("Error: " + result.error, android.R.color.holo_red_dark);
+                    processingStatus.setText("Gesture recognition error: " + result.error);
+                });
+            } else if (result.displayText == null) {
+                runOnUiThread(() -> {
+                    showGestureDisplay("No gesture detected", android.R.color.darker_gray);
+                    processingStatus.setText("No gesture detected");
+                });
+            } else {
+                android.util.Log.d(TAG, "Gesture result: " + result.displayText);
+                runOnUiThread(() -> {
+                    showGestureDisplay("Gesture: " + result.displayText, android.R.color.holo_green_dark);
+                    processingStatus.setText("Gesture detected: " + result.displayText);
+                    // Speak the gesture out loud using Text-to-Speech (clean names only)
+                    speakGesture(result.spokenText);
+                });
+            }
+        }
+
+        @Override
+        public void onTtsAudio(JsonPullScanner.Bytes audio, String format, String text) {
+            // Handle TTS audio from server to play on glasses
+            android.util.Log.i(TAG, "TTS audio received - text: " + text + ", format: " + format
+                    + ", audio bytes: " + (audio != null ? audio.length : 0));
+            if (audio != null && audio.length > 0) {
+                playTTSAudioOnGlasses(audio, format);
+            } else {
+                if (audio != null) {
+                    ttsAudioPool.release(audio.data);
+                }
+                android.util.Log.w(TAG, "TTS audio message missing audio_data");
+            }
+        }
+
+        @Override
+        public void onMalformed(String type, Exception e) {
+            Log.e(TAG, "Error parsing " + (type.isEmpty() ? "server message" : type) + ": " + e.getMessage());
+            String status;
+            switch (type) {
+                case "":
+                    status = "Received non-JSON message";
+                    break;
+                case "segment_result":
+                    status = "Error parsing server response";
+                    break;
+                default:
+                    status = "Error parsing " + type;
+                    break;
+            }
+            runOnUiThread(() -> {
+                if ("gesture_result".equals(type)) {
+                    showGestureDisplay("Error parsing gesture result", android.R.color.holo_red_dark);
+                }
+                processingStatus.setText(status);
+            });
+        }
+    }
+
+    // UI thread only
+    private void showGestureDisplay(String text, int colorRes) {
+        if (gestureDisplay != null) {
+            gestureDisplay.setText(text);
+            gestureDisplay.setBackgroundColor(getResources().getColor(colorRes));
+            gestureDisplay.setVisibility(View.VISIBLE);
+        }
+    }
+
+    // =============== SESSION RESUMPTION ===============
+
+    // The audio lane only refuses once its byte ceiling is reached (minutes of dead link) or the sender
+    // has stopped - anything recorded after that could never be sent, so stop recording
+    private void onAudioRefused(String what) {
+        audioRefusedCount++;
+        Log.e(TAG, "Send queue refused " + what + " (" + audioRefusedCount + " refused) - "
+                + (sendScheduler != null ? sendScheduler.metricsSummary() : "sender gone"));
+        isProcessing.set(false);
+        runOnUiThread(() -> {
+            if (isRecording) {
+                stopRecording();
+            }
+            processingStatus.setText("Upload stalled - recording stopped");
+        });
+    }
+
+    // Audio may be queued while the socket is open, or while a dropped session waits for its resume
+    private boolean canQueueAudio() {
+        return isSessionSuspended || (webSocketClient != null && webSocketClient.isOpen());
+    }
+
+    private void retainUntilAcked(int sequence, String chunkId, Object payload) {
+        // Only worth keeping if the server can give us the session back
+        if (sessionToken != null) {
+            unackedAudio.retain(sequence, chunkId, payload);
+        }
+    }
+
+    private boolean isResumable(int closeCode) {
+        return shouldReconnect && sessionToken != null && isInConversation
+                && (closeCode == 1006 || isSessionSuspended);
+    }
+
+    private void suspendSession() {
+        if (!isSessionSuspended) {
+            Log.i(TAG, "Session suspended - " + unackedAudio.size() + " unconfirmed audio messages ("
+                    + unackedAudio.bytes() / 1024 + "KB) kept for replay");
+            sessionResumeHandler.postDelayed(sessionResumeTimeout, SESSION_RESUME_TIMEOUT_MS);
+        }
+        isSessionSuspended = true;
+        if (sendScheduler != null) {
+            // New audio waits in its lane; pings, gestures and TTS are stale by the time we are back
+            sendScheduler.setPaused(WebSocketSendScheduler.Lane.AUDIO, true);
+            sendScheduler.clear(WebSocketSendScheduler.Lane.CONTROL);
+            sendScheduler.clear(WebSocketSendScheduler.Lane.GESTURE);
+            sendScheduler.clear(WebSocketSendScheduler.Lane.TTS);
+        }
+    }
+
+    // nextSequence: what the server expects next, -1 if it did not say
+    private void resumeSuspendedSession(boolean resumed, int nextSequence) {
+        sessionResumeHandler.removeCallbacks(sessionResumeTimeout);
+        isSessionSuspended = false;
+
+        // Replay only into the session the audio belongs to, with the numbering both sides agree on
+        boolean replayable = resumed && nextSequence == resumeSequence;
+        if (replayable) {
+            // Replay in the original order, ahead of the audio queued while we were offline
+            List<Object> replay = unackedAudio.snapshot();
+            if (sendScheduler != null) {
+                for (int i = replay.size() - 1; i >= 0; i--) {
+                    Object payload = replay.get(i);
+                    int size = payload instanceof byte[] ? ((byte[]) payload).length : ((String) payload).length();
+                    if (!sendScheduler.enqueueFirst(WebSocketSendScheduler.Lane.AUDIO, size, () -> payload)) {
+                        Log.w(TAG, "Replay not queued - sender stopped");
+                        break;
+                    }
+                }
+            }
+            Log.i(TAG, "Session resumed - replaying " + replay.size() + " unconfirmed audio messages"
+                    + (unackedAudio.evictedCount() > 0 ? " (" + unackedAudio.evictedCount() + " evicted)" : ""));
+        } else {
+            // The old audio and the frames numbered for the old session mean nothing to this one
+            Log.w(TAG, (resumed ? "Session resumed at sequence " + nextSequence + ", expected " + resumeSequence
+                    : "Server started a new session") + " - dropping " + unackedAudio.size() + " unconfirmed and "
+                    + (sendScheduler != null ? sendScheduler.queueDepth(WebSocketSendScheduler.Lane.AUDIO) : 0)
+                    + " queued audio messages");
+            unackedAudio.clear();
+            if (sendScheduler != null) {
+                sendScheduler.clear(WebSocketSendScheduler.Lane.AUDIO);
+            }
+            // A resumed session keeps counting from where the server is; a new one starts over
+            audioFrameSequence.set(resumed && nextSequence >= 0 ? nextSequence : 0);
+        }
+        resumeSequence = -1;
+        if (sendScheduler != null) {
+            sendScheduler.setPaused(WebSocketSendScheduler.Lane.AUDIO, false);
+        }
+
+        connectionStatus.setText("Connected");
+        connectionStatus.setTextColor(getResources().getColor(android.R.color.holo_green_dark));
+        processingStatus.setText(resumed ? "Reconnected - session resumed" : "Reconnected - new session");
+        updateButtonStates();
+    }
+
+    private void abandonSuspendedSession() {
+        if (!isSessionSuspended) {
+            return;
+        }
+        Log.w(TAG, "Session could not be resumed within " + SESSION_RESUME_TIMEOUT_MS / 1000 + "s - leaving conversation");
+        leaveConversation();
+        processingStatus.setText("Connection lost. Click 'Test Server' to reconnect.");
+    }
+
+    // The session is over - nothing left to resume or replay
+    private void endResumableSession() {
+        sessionResumeHandler.removeCallbacks(sessionResumeTimeout);
+        boolean wasSuspended = isSessionSuspended;
+        isSessionSuspended = false;
+        sessionToken = null;
+        unackedAudio.clear();
+        if (wasSuspended && sendScheduler != null) {
+            sendScheduler.setPaused(WebSocketSendScheduler.Lane.AUDIO, false);
+            sendScheduler.clear(WebSocketSendScheduler.Lane.AUDIO);
         }
     }
 
@@ -2199,8 +2514,10 @@ public class MainActivity extends AppCompatActivity {
             }
 
             // Clear previous recording
-            audioChunks.clear();
-            totalBytesRecorded = 0;
+            if (voiceRecordingBuffer == null) {
+                voiceRecordingBuffer = new byte[VOICE_RECORDING_BYTES];
+            }
+            voiceRecordedBytes = 0;
             hasRecordedVoice = false;
             recordedVoiceData = null;
 
@@ -2229,8 +2546,8 @@ public class MainActivity extends AppCompatActivity {
                 return;
             }
 
-            new Thread(() -> {
-                byte[] buffer = new byte[bufferSize];
+            taskScheduler.newThread(TaskScheduler.Lane.URGENT_AUDIO, "VoiceRecording", () -> {
+                byte[] buffer = voiceRecordingBuffer;
                 long startTime = System.currentTimeMillis();
 
                 try {
@@ -2242,16 +2559,17 @@ public class MainActivity extends AppCompatActivity {
                             break;
                         }
 
-                        int bytesRead = audioRecorder.read(buffer, 0, buffer.length);
+                        // Read straight into the registration buffer - no per-read copies
+                        int remaining = buffer.length - voiceRecordedBytes;
+                        if (remaining == 0) {
+                            break;
+                        }
+                        int bytesRead = audioRecorder.read(buffer, voiceRecordedBytes, Math.min(remaining, bufferSize));
                         if (bytesRead < 0) {
                             Log.e(TAG, "AudioRecord read failed: " + bytesRead);
                             break;
                         }
-
-                        byte[] audioChunk = new byte[bytesRead];
-                        System.arraycopy(buffer, 0, audioChunk, 0, bytesRead);
-                        audioChunks.add(audioChunk);
-                        totalBytesRecorded += bytesRead;
+                        voiceRecordedBytes += bytesRead;
 
                         // Update progress
                         long elapsed = System.currentTimeMillis() - startTime;
@@ -2305,23 +2623,16 @@ public class MainActivity extends AppCompatActivity {
     }
 
     private void processRecordedVoice() {
-        if (audioChunks.isEmpty()) {
+        if (voiceRecordedBytes == 0) {
             processingStatus.setText("No audio recorded. Please try again.");
             return;
         }
+        int recordedBytes = voiceRecordedBytes;
 
-        new Thread(() -> {
+        taskScheduler.execute(TaskScheduler.Lane.BACKGROUND, () -> {
             try {
-                // Combine all audio chunks
-                byte[] completeAudio = new byte[totalBytesRecorded];
-                int offset = 0;
-                for (byte[] chunk : audioChunks) {
-                    System.arraycopy(chunk, 0, completeAudio, offset, chunk.length);
-                    offset += chunk.length;
-                }
-
                 // Create WAV header and combine with audio data
-                byte[] wavBytes = createWavBytes(completeAudio);
+                byte[] wavBytes = createWavBytes(voiceRecordingBuffer, 0, recordedBytes);
                 if (wavBytes != null) {
                     recordedVoiceData = Base64.encodeToString(wavBytes, Base64.DEFAULT);
                     hasRecordedVoice = true;
@@ -2342,7 +2653,7 @@ public class MainActivity extends AppCompatActivity {
                     processingStatus.setText("Error processing audio: " + e.getMessage());
                 });
             }
-        }).start();
+        });
     }
 
     private void registerVoiceWithServer() {
@@ -2398,6 +2709,8 @@ public class MainActivity extends AppCompatActivity {
         }
 
         isGestureDetectionActive = true;
+        gestureChangeDetector.reset(); // First frame always goes to the server
+        gestureHandInView = true;
         updateButtonStates();
         processingStatus.setText("Gesture detection started - click button again to stop");
         if (gestureDisplay != null) {
@@ -2432,6 +2745,10 @@ public class MainActivity extends AppCompatActivity {
 
         // Close background camera
         closeBackgroundCamera();
+        android.util.Log.i(TAG, "Gesture frames: accepted=" + gestureFramesAccepted + " dropped at source=" + gestureFramesDropped
+                + " " + gestureFrameEncoder.metricsSummary());
+        android.util.Log.i(TAG, "Gesture change gate: " + gestureChangeDetector.metricsSummary());
+        android.util.Log.i(TAG, "Hand presence filter: " + handPresenceDetector.metricsSummary());
 
         updateButtonStates();
         processingStatus.setText("Gesture detection stopped");
@@ -2466,12 +2783,20 @@ public class MainActivity extends AppCompatActivity {
                 return;
             }
             cameraId = cameraIds[0];
+            CameraCharacteristics characteristics = cameraManager.getCameraCharacteristics(cameraId);
+            Integer facing = characteristics.get(CameraCharacteristics.LENS_FACING);
+            isFrontCamera = facing != null && facing == CameraCharacteristics.LENS_FACING_FRONT;
+            Integer sensorOrientation = characteristics.get(CameraCharacteristics.SENSOR_ORIENTATION);
+            cameraSensorOrientation = sensorOrientation != null ? sensorOrientation : 0;
+            gestureFpsRange = slowestFpsRange(characteristics);
+            updateGestureFrameRotation();
+            registerDisplayRotationListener();
 
             // Start background thread
             startBackgroundThread();
 
-            // Create ImageReader for capturing frames
-            imageReader = ImageReader.newInstance(640, 480, ImageFormat.JPEG, 2);
+            // Create ImageReader for capturing frames - raw YUV, so the only JPEG encode is of the small crop
+            imageReader = ImageReader.newInstance(640, 480, ImageFormat.YUV_420_888, 2);
             imageReader.setOnImageAvailableListener(new ImageReader.OnImageAvailableListener() {
                 @Override
                 public void onImageAvailable(ImageReader reader) {
@@ -2574,121 +2899,185 @@ public class MainActivity extends AppCompatActivity {
             captureRequestBuilder.set(CaptureRequest.CONTROL_AF_MODE, CaptureRequest.CONTROL_AF_MODE_CONTINUOUS_PICTURE);
             captureRequestBuilder.set(CaptureRequest.CONTROL_AE_MODE, CaptureRequest.CONTROL_AE_MODE_ON);
 
+            // We use one frame per GESTURE_SEND_INTERVAL_MS - run the sensor and ISP as slowly as they allow
+            if (gestureFpsRange != null) {
+                captureRequestBuilder.set(CaptureRequest.CONTROL_AE_TARGET_FPS_RANGE, gestureFpsRange);
+            }
+
             // Set repeating request - this will continuously capture frames
             captureSession.setRepeatingRequest(captureRequestBuilder.build(), null, backgroundHandler);
 
-            android.util.Log.i(TAG, "Continuous gesture capture started");
+            android.util.Log.i(TAG, "Continuous gesture capture started at " + (gestureFpsRange != null ? gestureFpsRange + " fps" : "default fps"));
         } catch (Exception e) {
             android.util.Log.e(TAG, "Error starting continuous capture: " + e.getMessage());
             stopGestureDetection();
         }
     }
 
+    // Runs on the camera thread for the newest frame - older ones were already dropped by acquireLatestImage
     private void processCameraImage(Image image) {
         // Throttle: Only process images at a reasonable rate to avoid overwhelming the server
         long currentTime = System.currentTimeMillis();
-        if (currentTime - lastGestureSendTime < GESTURE_SEND_INTERVAL_MS) {
-            // Skip this frame - too soon since last send
+        if (currentTime - lastGestureSendTime < GESTURE_SEND_INTERVAL_MS
+                || !gestureFrameInFlight.compareAndSet(false, true)) {
+            // Skip this frame - too soon since last send, or the previous one is still encoding
+            gestureFramesDropped++;
             image.close();
             return;
         }
+        // Claimed here, not on the worker, so the next frame already sees it
+        lastGestureSendTime = currentTime;
+        gestureFramesAccepted++;
 
-        // Use dedicated gesture processing executor for parallel processing
-        if (gestureProcessingExecutor != null && !gestureProcessingExecutor.isShutdown()) {
-            gestureProcessingExecutor.execute(() -> {
+        // Vision lane so the camera thread never encodes
+        boolean queued = taskScheduler.execute(TaskScheduler.Lane.VISION, () -> {
+            try {
+                byte[] jpegBytes;
                 try {
-                    ByteBuffer buffer = image.getPlanes()[0].getBuffer();
-                    byte[] bytes = new byte[buffer.remaining()];
-                    buffer.get(bytes);
-
-                    // Convert to Bitmap
-                    Bitmap bitmap = BitmapFactory.decodeByteArray(bytes, 0, bytes.length);
-                    if (bitmap != null) {
-                        // Fix orientation - rotate image based on camera sensor orientation
-                        bitmap = rotateBitmapForCamera(bitmap);
-                        lastGestureSendTime = System.currentTimeMillis();
-                        sendGestureImageToServer(bitmap);
+                    Image.Plane[] planes = image.getPlanes();
+                    Image.Plane luma = planes[0];
+                    // No hand-like skin blob - the server would only answer "no gesture"
+                    if (GESTURE_HAND_FILTER_ENABLED && !handPresenceDetector.isHandLikely(
+                            luma.getBuffer(), luma.getRowStride(), luma.getPixelStride(),
+                            planes[1].getBuffer(), planes[2].getBuffer(), planes[1].getRowStride(), planes[1].getPixelStride(),
+                            image.getWidth(), image.getHeight())) {
+                        onGestureHandInView(false);
+                        return;
                     }
-                } catch (Exception e) {
-                    android.util.Log.e(TAG, "Error processing camera image: " + e.getMessage(), e);
+                    onGestureHandInView(true);
+                    // Nothing moved since the last sent frame - skip the encode and the server round trip
+                    if (!gestureChangeDetector.shouldSend(luma.getBuffer(), luma.getRowStride(), luma.getPixelStride(),
+                            image.getWidth(), image.getHeight(), currentTime)) {
+                        return;
+                    }
+                    // Crop + downscale from the YUV planes and encode once
+                    jpegBytes = gestureFrameEncoder.encode(image);
                 } finally {
-                    image.close();
+                    image.close(); // Back to the camera before the frame is sent
                 }
-            });
-        } else {
-            // Fallback: close image if executor is not available
+                // Pixels stay in sensor orientation - the server applies the rotation
+                sendGestureImageToServer(jpegBytes, gestureFrameRotation, isFrontCamera);
+            } catch (Exception e) {
+                android.util.Log.e(TAG, "Error processing camera image: " + e.getMessage(), e);
+            } finally {
+                gestureFrameInFlight.set(false);
+            }
+        });
+        if (!queued) {
+            gestureFrameInFlight.set(false);
             image.close();
         }
     }
 
-    private Bitmap rotateBitmapForCamera(Bitmap bitmap) {
-        if (bitmap == null || cameraManager == null || cameraId == null) {
-            return bitmap;
+    // Shows when the hand leaves view - no frames (and so no results) arrive until it is back
+    private void onGestureHandInView(boolean inView) {
+        if (gestureHandInView == inView) {
+            return;
         }
+        gestureHandInView = inView;
+        if (!inView) {
+            gestureChangeDetector.reset(); // Send the hand as soon as it reappears
+            runOnUiThread(() -> {
+                if (gestureDisplay != null && isGestureDetectionActive) {
+                    gestureDisplay.setText("No hand in view");
+                    gestureDisplay.setBackgroundColor(getResources().getColor(android.R.color.darker_gray));
+                }
+            });
+        }
+    }
 
-        try {
-            // Get camera characteristics to determine sensor orientation
-            CameraCharacteristics characteristics = cameraManager.getCameraCharacteristics(cameraId);
-            Integer sensorOrientation = characteristics.get(CameraCharacteristics.SENSOR_ORIENTATION);
-            if (sensorOrientation == null) {
-                return bitmap;
+    // Lowest maximum frame rate (then lowest minimum) among the camera's AE target ranges
+    private static android.util.Range<Integer> slowestFpsRange(CameraCharacteristics characteristics) {
+        android.util.Range<Integer>[] ranges = characteristics.get(CameraCharacteristics.CONTROL_AE_AVAILABLE_TARGET_FPS_RANGES);
+        if (ranges == null) {
+            return null;
+        }
+        android.util.Range<Integer> slowest = null;
+        for (android.util.Range<Integer> range : ranges) {
+            if (slowest == null || range.getUpper() < slowest.getUpper()
+                    || (range.getUpper().equals(slowest.getUpper()) && range.getLower() < slowest.getLower())) {
+                slowest = range;
             }
+        }
+        return slowest;
+    }
 
-            // Get device display rotation
-            int displayRotation = getWindowManager().getDefaultDisplay().getRotation();
-            int degrees = 0;
-            switch (displayRotation) {
-                case android.view.Surface.ROTATION_0:
-                    degrees = 0;
-                    break;
-                case android.view.Surface.ROTATION_90:
-                    degrees = 90;
-                    break;
-                case android.view.Surface.ROTATION_180:
-                    degrees = 180;
-                    break;
-                case android.view.Surface.ROTATION_270:
-                    degrees = 270;
-                    break;
-            }
+    // Clockwise degrees that turn a sensor-oriented frame upright on this display.
+    // Recomputed only when the camera opens or the display rotates - never per frame.
+    private void updateGestureFrameRotation() {
+        // Get device display rotation
+        int displayRotation = getWindowManager().getDefaultDisplay().getRotation();
+        int degrees = 0;
+        switch (displayRotation) {
+            case android.view.Surface.ROTATION_0:
+                degrees = 0;
+                break;
+            case android.view.Surface.ROTATION_90:
+                degrees = 90;
+                break;
+            case android.view.Surface.ROTATION_180:
+                degrees = 180;
+                break;
+            case android.view.Surface.ROTATION_270:
+                degrees = 270;
+                break;
+        }
 
-            // Calculate total rotation needed
-            // For front camera, we need to mirror and rotate
-            Integer facing = characteristics.get(CameraCharacteristics.LENS_FACING);
-            boolean isFrontCamera = (facing != null && facing == CameraCharacteristics.LENS_FACING_FRONT);
+        int rotation = (cameraSensorOrientation - degrees + 360) % 360;
 
-            int rotation = (sensorOrientation - degrees + 360) % 360;
+        // Front camera rotates the other way (the server also mirrors it)
+        if (isFrontCamera) {
+            rotation = (360 - rotation) % 360;
+        }
+        if (rotation != gestureFrameRotation) {
+            android.util.Log.i(TAG, "Gesture frame rotation: " + rotation + " degrees");
+        }
+        gestureFrameRotation = rotation;
+    }
 
-            // If front camera, we might need to flip horizontally
-            if (isFrontCamera) {
-                // For front camera, adjust rotation
-                rotation = (360 - rotation) % 360;
+    private void registerDisplayRotationListener() {
+        if (displayRotationListener != null) {
+            return;
+        }
+        android.hardware.display.DisplayManager displayManager =
+                (android.hardware.display.DisplayManager) getSystemService(android.content.Context.DISPLAY_SERVICE);
+        if (displayManager == null) {
+            return;
+        }
+        displayRotationListener = new android.hardware.display.DisplayManager.DisplayListener() {
+            @Override
+            public void onDisplayAdded(int displayId) {
             }
 
-            // Only rotate if needed
-            if (rotation != 0) {
-                Matrix matrix = new Matrix();
-                matrix.postRotate(rotation);
-
-                // For front camera, also flip horizontally
-                if (isFrontCamera) {
-                    matrix.postScale(-1, 1, bitmap.getWidth() / 2f, bitmap.getHeight() / 2f);
-                }
+            @Override
+            public void onDisplayRemoved(int displayId) {
+            }
 
-                Bitmap rotatedBitmap = Bitmap.createBitmap(bitmap, 0, 0, bitmap.getWidth(), bitmap.getHeight(), matrix, true);
-                if (rotatedBitmap != bitmap) {
-                    bitmap.recycle(); // Recycle original if new bitmap was created
+            @Override
+            public void onDisplayChanged(int displayId) {
+                if (displayId == android.view.Display.DEFAULT_DISPLAY) {
+                    updateGestureFrameRotation();
                 }
-                return rotatedBitmap;
             }
-        } catch (Exception e) {
-            android.util.Log.e(TAG, "Error rotating bitmap: " + e.getMessage(), e);
-        }
+        };
+        // Main-thread callbacks - getWindowManager() belongs to the UI
+        displayManager.registerDisplayListener(displayRotationListener, new Handler(Looper.getMainLooper()));
+    }
 
-        return bitmap;
+    private void unregisterDisplayRotationListener() {
+        if (displayRotationListener == null) {
+            return;
+        }
+        android.hardware.display.DisplayManager displayManager =
+                (android.hardware.display.DisplayManager) getSystemService(android.content.Context.DISPLAY_SERVICE);
+        if (displayManager != null) {
+            displayManager.unregisterDisplayListener(displayRotationListener);
+        }
+        displayRotationListener = null;
     }
 
     private void closeBackgroundCamera() {
+        unregisterDisplayRotationListener();
         try {
             if (captureSession != null) {
                 // Stop repeating requests first
@@ -2715,7 +3104,8 @@ public class MainActivity extends AppCompatActivity {
     }
 
     private void startBackgroundThread() {
-        backgroundThread = new HandlerThread("CameraBackground");
+        // Camera callbacks and gesture frame capture share the VISION lane's priority
+        backgroundThread = taskScheduler.newHandlerThread(TaskScheduler.Lane.VISION, "CameraBackground");
         backgroundThread.start();
         backgroundHandler = new Handler(backgroundThread.getLooper());
     }
@@ -2733,14 +3123,14 @@ public class MainActivity extends AppCompatActivity {
         }
     }
 
-    private void sendGestureImageToServer(Bitmap imageBitmap) {
+    private void sendGestureImageToServer(byte[] jpegBytes, int rotation, boolean mirrored) {
         android.util.Log.i(TAG, "========== SENDING GESTURE IMAGE ==========");
         android.util.Log.i(TAG, "isConnected: " + isConnected);
-        android.util.Log.i(TAG, "imageBitmap: " + (imageBitmap != null ? "not null, size: " + imageBitmap.getWidth() + "x" + imageBitmap.getHeight() : "null"));
+        android.util.Log.i(TAG, "jpegBytes: " + (jpegBytes != null ? jpegBytes.length + " bytes, rotation " + rotation : "null"));
         android.util.Log.i(TAG, "webSocketClient: " + (webSocketClient != null ? "not null, isOpen: " + (webSocketClient.isOpen() ? "true" : "false") : "null"));
 
-        if (!isConnected || imageBitmap == null) {
-            android.util.Log.e(TAG, "Cannot send: isConnected=" + isConnected + ", imageBitmap=" + (imageBitmap != null));
+        if (!isConnected || jpegBytes == null) {
+            android.util.Log.e(TAG, "Cannot send: isConnected=" + isConnected + ", jpegBytes=" + (jpegBytes != null));
             runOnUiThread(() -> {
                 processingStatus.setText("Not connected or no image data");
                 if (gestureDisplay != null) {
@@ -2756,51 +3146,59 @@ public class MainActivity extends AppCompatActivity {
             return;
         }
 
-        // Use dedicated WebSocket send executor for thread-safe parallel sending
-        if (webSocketSendExecutor != null && !webSocketSendExecutor.isShutdown()) {
-            webSocketSendExecutor.execute(() -> {
-                try {
-                    // Convert bitmap to base64
-                    ByteArrayOutputStream baos = new ByteArrayOutputStream();
-                    imageBitmap.compress(Bitmap.CompressFormat.JPEG, 90, baos); // 90% quality
-                    byte[] imageBytes = baos.toByteArray();
-                    String base64Image = Base64.encodeToString(imageBytes, Base64.DEFAULT);
+        if (sendScheduler == null) {
+            android.util.Log.e(TAG, "WebSocket sender not available");
+            return;
+        }
 
-                    android.util.Log.i(TAG, "Image converted to base64, length: " + base64Image.length());
+        // Gesture lane keeps only the newest frame - a frame replaced while the link is slow is never Base64-encoded
+        boolean queued = sendScheduler.enqueue(WebSocketSendScheduler.Lane.GESTURE, jpegBytes.length * 4 / 3 + 256, new WebSocketSendScheduler.Message() {
+            @Override
+            public Object build() throws JSONException {
+                String base64Image = Base64.encodeToString(jpegBytes, Base64.NO_WRAP);
 
-                    // Create and send gesture recognition message
-                    JSONObject message = new JSONObject();
-                    message.put("type", "gesture_from_glasses");
-                    message.put("image_data", base64Image);
-                    message.put("timestamp", System.currentTimeMillis());
+                android.util.Log.i(TAG, "Image converted to base64, length: " + base64Image.length());
 
-                    String messageStr = message.toString();
-                    android.util.Log.i(TAG, "Sending gesture message, total length: " + messageStr.length());
-                    webSocketClient.send(messageStr);
-                    android.util.Log.i(TAG, "Gesture message sent successfully");
+                // Create and send gesture recognition message
+                JSONObject message = new JSONObject();
+                message.put("type", "gesture_from_glasses");
+                message.put("image_data", base64Image);
+                message.put("rotation", rotation);
+                message.put("mirrored", mirrored);
+                message.put("timestamp", System.currentTimeMillis());
 
-                    runOnUiThread(() -> {
-                        processingStatus.setText("Gesture image sent to server...");
-                        if (gestureDisplay != null) {
-                            gestureDisplay.setText("Sending to server...");
-                            gestureDisplay.setBackgroundColor(getResources().getColor(android.R.color.holo_blue_dark));
-                            gestureDisplay.setVisibility(View.VISIBLE);
-                        }
-                    });
+                String messageStr = message.toString();
+                android.util.Log.i(TAG, "Sending gesture message, total length: " + messageStr.length());
+                return messageStr;
+            }
 
-                } catch (Exception e) {
-                    android.util.Log.e(TAG, "Error sending gesture image: " + e.getMessage(), e);
-                    runOnUiThread(() -> {
-                        processingStatus.setText("Error sending gesture image: " + e.getMessage());
-                        if (gestureDisplay != null) {
-                            gestureDisplay.setText("Error: " + e.getMessage());
-                            gestureDisplay.setBackgroundColor(getResources().getColor(android.R.color.holo_red_dark));
-                        }
-                    });
-                }
-            });
-        } else {
-            android.util.Log.e(TAG, "WebSocket send executor not available");
+            @Override
+            public void onSent() {
+                android.util.Log.i(TAG, "Gesture message sent successfully");
+                runOnUiThread(() -> {
+                    processingStatus.setText("Gesture image sent to server...");
+                    if (gestureDisplay != null) {
+                        gestureDisplay.setText("Sending to server...");
+                        gestureDisplay.setBackgroundColor(getResources().getColor(android.R.color.holo_blue_dark));
+                        gestureDisplay.setVisibility(View.VISIBLE);
+                    }
+                });
+            }
+
+            @Override
+            public void onFailed(Exception e) {
+                android.util.Log.e(TAG, "Error sending gesture image: " + e.getMessage(), e);
+                runOnUiThread(() -> {
+                    processingStatus.setText("Error sending gesture image: " + e.getMessage());
+                    if (gestureDisplay != null) {
+                        gestureDisplay.setText("Error: " + e.getMessage());
+                        gestureDisplay.setBackgroundColor(getResources().getColor(android.R.color.holo_red_dark));
+                    }
+                });
+            }
+        });
+        if (!queued) {
+            android.util.Log.w(TAG, "Gesture frame not queued - sender stopped");
         }
     }
 
@@ -2809,46 +3207,46 @@ public class MainActivity extends AppCompatActivity {
     // =============== EXECUTOR SERVICES (PARALLEL PROCESSING) ===============
 
     private void initializeExecutorServices() {
-        // Create named thread factories for better debugging
-        ThreadFactory audioThreadFactory = new ThreadFactory() {
-            private final AtomicInteger threadNumber = new AtomicInteger(1);
+        // WebSocket sending: 1 thread with bounded per-type queues (audio, gesture, TTS, control)
+        sendScheduler = new WebSocketSendScheduler(new WebSocketSendScheduler.Transport() {
             @Override
-            public Thread newThread(Runnable r) {
-                Thread t = new Thread(r, "AudioProcessor-" + threadNumber.getAndIncrement());
-                t.setDaemon(true);
-                return t;
+            public boolean isOpen() {
+                WebSocketClient client = webSocketClient;
+                return client != null && client.isOpen();
             }
-        };
 
-        ThreadFactory gestureThreadFactory = new ThreadFactory() {
-            private final AtomicInteger threadNumber = new AtomicInteger(1);
             @Override
-            public Thread newThread(Runnable r) {
-                Thread t = new Thread(r, "GestureProcessor-" + threadNumber.getAndIncrement());
-                t.setDaemon(true);
-                return t;
+            public void sendText(String text) {
+                webSocketClient.send(text);
             }
-        };
 
-        ThreadFactory webSocketThreadFactory = new ThreadFactory() {
-            private final AtomicInteger threadNumber = new AtomicInteger(1);
             @Override
-            public Thread newThread(Runnable r) {
-                Thread t = new Thread(r, "WebSocketSender-" + threadNumber.getAndIncrement());
-                t.setDaemon(true);
-                return t;
+            public void sendBinary(byte[] data) {
+                webSocketClient.send(ByteBuffer.wrap(data));
             }
-        };
 
-        // Create dedicated thread pools for each function
-        // Audio processing: 2 threads (can handle multiple chunks)
-        audioProcessingExecutor = Executors.newFixedThreadPool(2, audioThreadFactory);
+            @Override
+            public long bufferedBytes() {
+                WebSocketClient client = webSocketClient;
+                WebSocket connection = client != null ? client.getConnection() : null;
+                if (connection instanceof WebSocketImpl) {
+                    // Frames handed to the socket but not yet written out
+                    long total = 0;
+                    for (ByteBuffer buffer : ((WebSocketImpl) connection).outQueue) {
+                        total += buffer.remaining();
+                    }
+                    return total;
+                }
+                return 0;
+            }
+        }, taskScheduler.threadFactory(TaskScheduler.Lane.NETWORK, "WebSocketSender"));
 
-        // Gesture processing: 2 threads (image processing can be CPU intensive)
-        gestureProcessingExecutor = Executors.newFixedThreadPool(2, gestureThreadFactory);
+        // TTS playback: one urgent-audio thread feeding a reusable streaming AudioTrack
+        ttsAudioPlayer = new TtsAudioPlayer(taskScheduler.threadFactory(TaskScheduler.Lane.URGENT_AUDIO, "TtsPlayback"));
 
-        // WebSocket sending: 1 thread (ensures thread-safe sequential sending)
-        webSocketSendExecutor = Executors.newSingleThreadExecutor(webSocketThreadFactory);
+        // Server messages: decoded in order on one thread, only view updates reach the UI thread
+        messageDispatcher = new ServerMessageDispatcher(new ServerEventHandler(), ttsAudioPool,
+                taskScheduler.threadFactory(TaskScheduler.Lane.NETWORK, "WebSocketDispatcher"));
 
         android.util.Log.i(TAG, "Executor services initialized for parallel processing");
     }
@@ -2856,42 +3254,27 @@ public class MainActivity extends AppCompatActivity {
     private void shutdownExecutorServices() {
         android.util.Log.i(TAG, "Shutting down executor services...");
 
-        if (audioProcessingExecutor != null) {
-            audioProcessingExecutor.shutdown();
-            try {
-                if (!audioProcessingExecutor.awaitTermination(2, java.util.concurrent.TimeUnit.SECONDS)) {
-                    audioProcessingExecutor.shutdownNow();
-                }
-            } catch (InterruptedException e) {
-                audioProcessingExecutor.shutdownNow();
-            }
-            audioProcessingExecutor = null;
+        if (messageDispatcher != null) {
+            messageDispatcher.shutdown();
+            messageDispatcher = null;
         }
 
-        if (gestureProcessingExecutor != null) {
-            gestureProcessingExecutor.shutdown();
-            try {
-                if (!gestureProcessingExecutor.awaitTermination(2, java.util.concurrent.TimeUnit.SECONDS)) {
-                    gestureProcessingExecutor.shutdownNow();
-                }
-            } catch (InterruptedException e) {
-                gestureProcessingExecutor.shutdownNow();
-            }
-            gestureProcessingExecutor = null;
+        if (ttsAudioPlayer != null) {
+            android.util.Log.i(TAG, "TTS playback at shutdown: " + ttsAudioPlayer.metricsSummary());
+            ttsAudioPlayer.release();
+            ttsAudioPlayer = null;
         }
 
-        if (webSocketSendExecutor != null) {
-            webSocketSendExecutor.shutdown();
-            try {
-                if (!webSocketSendExecutor.awaitTermination(2, java.util.concurrent.TimeUnit.SECONDS)) {
-                    webSocketSendExecutor.shutdownNow();
-                }
-            } catch (InterruptedException e) {
-                webSocketSendExecutor.shutdownNow();
-            }
-            webSocketSendExecutor = null;
+        if (sendScheduler != null) {
+            android.util.Log.i(TAG, "Send queues at shutdown: " + sendScheduler.metricsSummary());
+            sendScheduler.shutdown();
+            sendScheduler = null;
         }
 
+        // Encode, vision and background lanes - lets queued chunks finish for up to 2 s
+        taskScheduler.shutdown(2000);
+        android.util.Log.i(TAG, "Task lanes at shutdown: " + taskScheduler.metricsSummary());
+
         android.util.Log.i(TAG, "Executor services shut down");
     }
 
@@ -2909,8 +3292,12 @@ public class MainActivity extends AppCompatActivity {
                         android.util.Log.e(TAG, "TTS Language not supported, using default");
                         textToSpeech.setLanguage(Locale.ENGLISH);
                     }
+                    android.speech.tts.Voice voice = textToSpeech.getVoice();
+                    ttsVoiceKey = voice != null ? voice.getName() + "/" + voice.getLocale() : Locale.getDefault().toString();
+                    textToSpeech.setOnUtteranceProgressListener(new SynthesisProgressListener());
                     ttsInitialized = true;
-                    android.util.Log.i(TAG, "Text-to-Speech initialized successfully");
+                    android.util.Log.i(TAG, "Text-to-Speech initialized successfully (" + ttsVoiceKey + ")");
+                    warmTtsCache();
                 } else {
                     android.util.Log.e(TAG, "Text-to-Speech initialization failed");
                     ttsInitialized = false;
@@ -2953,8 +3340,8 @@ public class MainActivity extends AppCompatActivity {
         // Synthesize TTS to audio file and send to glasses
         synthesizeAndSendToGlasses(gestureText);
 
-        // Also play locally as fallback
-        textToSpeech.speak(gestureText, TextToSpeech.QUEUE_FLUSH, null, null);
+        // Also play locally as fallback - queued behind the synthesis, a flush would cancel it
+        textToSpeech.speak(gestureText, TextToSpeech.QUEUE_ADD, null, null);
         android.util.Log.i(TAG, "Speaking gesture: " + gestureText);
     }
 
@@ -2964,226 +3351,263 @@ public class MainActivity extends AppCompatActivity {
             return;
         }
 
-        // Use audio processing executor to avoid blocking UI
-        if (audioProcessingExecutor != null && !audioProcessingExecutor.isShutdown()) {
-            audioProcessingExecutor.execute(() -> {
-                try {
-                    // Create temporary file for TTS synthesis
-                    File tempFile = new File(getCacheDir(), "tts_gesture_" + System.currentTimeMillis() + ".wav");
-
-                    // Synthesize TTS to file
-                    int result = textToSpeech.synthesizeToFile(
-                            text,
-                            null,
-                            tempFile,
-                            "tts_gesture_" + System.currentTimeMillis()
-                    );
-
-                    if (result == TextToSpeech.SUCCESS) {
-                        android.util.Log.i(TAG, "TTS synthesized successfully to: " + tempFile.getAbsolutePath());
-
-                        // Wait a bit to ensure file is fully written
-                        try {
-                            Thread.sleep(100);
-                        } catch (InterruptedException e) {
-                            Thread.currentThread().interrupt();
-                            android.util.Log.w(TAG, "Interrupted while waiting for TTS file");
-                        }
+        // Spoken before - send the cached clip right away, no synthesis and no file I/O
+        TtsAudioCache.Clip cached = ttsAudioCache.get(TtsAudioCache.key(text, ttsVoiceKey));
+        if (cached != null) {
+            android.util.Log.i(TAG, "TTS cache hit for '" + text + "' (" + ttsAudioCache.metricsSummary() + ")");
+            sendTTSAudioToGlasses(cached.base64, cached.wav.length, text);
+            return;
+        }
 
-                        // Check if file exists and has content
-                        if (!tempFile.exists() || tempFile.length() == 0) {
-                            android.util.Log.e(TAG, "TTS file is empty or doesn't exist");
-                            return;
-                        }
+        // Sent from onDone as soon as the file is complete
+        requestSynthesis(text, true);
+    }
 
-                        android.util.Log.i(TAG, "TTS file size: " + tempFile.length() + " bytes");
+    // Queues the known gesture labels with the engine so their first announcement is a cache hit
+    private void warmTtsCache() {
+        for (String label : GESTURE_TTS_WARM_LABELS) {
+            if (!ttsAudioCache.contains(TtsAudioCache.key(label, ttsVoiceKey))) {
+                requestSynthesis(label, false);
+            }
+        }
+    }
 
-                        // Read audio file as bytes
-                        FileInputStream fis = new FileInputStream(tempFile);
-                        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-                        byte[] buffer = new byte[8192];
-                        int bytesRead;
-                        while ((bytesRead = fis.read(buffer)) != -1) {
-                            baos.write(buffer, 0, bytesRead);
-                        }
-                        fis.close();
+    private static final class PendingSynthesis {
+        final String text;
+        final String voiceKey;
+        final File file;
+        final boolean sendWhenDone;
+        final long requestedAt;
 
-                        byte[] audioBytes = baos.toByteArray();
-                        baos.close();
+        PendingSynthesis(String text, String voiceKey, File file, boolean sendWhenDone) {
+            this.text = text;
+            this.voiceKey = voiceKey;
+            this.file = file;
+            this.sendWhenDone = sendWhenDone;
+            this.requestedAt = System.currentTimeMillis();
+        }
+    }
 
-                        android.util.Log.i(TAG, "Read " + audioBytes.length + " bytes from TTS file");
+    // Non-blocking - the engine synthesizes in its own process and reports back per utterance id
+    private void requestSynthesis(String text, boolean sendWhenDone) {
+        TextToSpeech tts = textToSpeech;
+        if (tts == null || !ttsInitialized) {
+            return;
+        }
+        String utteranceId = "tts_gesture_" + ttsUtteranceCounter.incrementAndGet();
+        PendingSynthesis pending = new PendingSynthesis(text, ttsVoiceKey, new File(getCacheDir(), utteranceId + ".wav"), sendWhenDone);
+        pendingSyntheses.put(utteranceId, pending);
+        int result = tts.synthesizeToFile(text, null, pending.file, utteranceId);
+        if (result != TextToSpeech.SUCCESS) {
+            pendingSyntheses.remove(utteranceId);
+            android.util.Log.e(TAG, "TTS synthesis failed with result code: " + result);
+        }
+    }
 
-                        // Convert to base64
-                        String base64Audio = Base64.encodeToString(audioBytes, Base64.NO_WRAP);
-                        android.util.Log.i(TAG, "Base64 encoded length: " + base64Audio.length());
+    // Callbacks arrive on a TTS binder thread - file reading and Base64 move to the background lane
+    private class SynthesisProgressListener extends android.speech.tts.UtteranceProgressListener {
+        @Override
+        public void onStart(String utteranceId) {
+        }
 
-                        // Send to glasses via WebSocket
-                        sendTTSAudioToGlasses(base64Audio, audioBytes.length);
+        @Override
+        public void onDone(String utteranceId) {
+            PendingSynthesis pending = utteranceId != null ? pendingSyntheses.remove(utteranceId) : null;
+            if (pending == null) {
+                return; // Local speak() - not ours
+            }
+            if (!taskScheduler.execute(TaskScheduler.Lane.BACKGROUND, () -> finishSynthesis(pending))) {
+                pending.file.delete();
+            }
+        }
 
-                        // Clean up temp file
-                        tempFile.delete();
+        @Override
+        public void onError(String utteranceId) {
+            failSynthesis(utteranceId, "error");
+        }
 
-                        android.util.Log.i(TAG, "TTS audio sent to glasses: " + audioBytes.length + " bytes");
-                    } else {
-                        android.util.Log.e(TAG, "TTS synthesis failed with result code: " + result);
-                    }
-                } catch (Exception e) {
-                    android.util.Log.e(TAG, "Error synthesizing and sending TTS to glasses: " + e.getMessage(), e);
+        @Override
+        public void onError(String utteranceId, int errorCode) {
+            failSynthesis(utteranceId, "error " + errorCode);
+        }
+
+        @Override
+        public void onStop(String utteranceId, boolean interrupted) {
+            failSynthesis(utteranceId, "stopped");
+        }
+    }
+
+    private void failSynthesis(String utteranceId, String reason) {
+        PendingSynthesis pending = utteranceId != null ? pendingSyntheses.remove(utteranceId) : null;
+        if (pending != null) {
+            pending.file.delete();
+            android.util.Log.e(TAG, "TTS synthesis of '" + pending.text + "' failed: " + reason);
+        }
+    }
+
+    // The engine has closed the file - read it once, cache it, and send it if someone is waiting
+    private void finishSynthesis(PendingSynthesis pending) {
+        try {
+            long length = pending.file.length();
+            if (length == 0) {
+                android.util.Log.e(TAG, "TTS file is empty or doesn't exist");
+                return;
+            }
+            byte[] audioBytes = new byte[(int) length];
+            try (FileInputStream fis = new FileInputStream(pending.file)) {
+                int offset = 0;
+                int bytesRead;
+                while (offset < audioBytes.length && (bytesRead = fis.read(audioBytes, offset, audioBytes.length - offset)) != -1) {
+                    offset += bytesRead;
                 }
-            });
-        } else {
-            android.util.Log.e(TAG, "Audio processing executor not available for TTS");
+            }
+
+            // Convert to base64 once - cached with the WAV
+            TtsAudioCache.Clip clip = new TtsAudioCache.Clip(audioBytes, Base64.encodeToString(audioBytes, Base64.NO_WRAP));
+            ttsAudioCache.put(TtsAudioCache.key(pending.text, pending.voiceKey), clip);
+            android.util.Log.i(TAG, "TTS synthesized '" + pending.text + "': " + audioBytes.length + " bytes in "
+                    + (System.currentTimeMillis() - pending.requestedAt) + "ms");
+
+            if (pending.sendWhenDone) {
+                // Send to glasses via WebSocket
+                sendTTSAudioToGlasses(clip.base64, clip.wav.length, pending.text);
+            }
+        } catch (Exception e) {
+            android.util.Log.e(TAG, "Error reading synthesized TTS for '" + pending.text + "': " + e.getMessage(), e);
+        } finally {
+            // Clean up temp file
+            pending.file.delete();
         }
     }
 
-    private void sendTTSAudioToGlasses(String base64Audio, int audioSizeBytes) {
+    private void sendTTSAudioToGlasses(String base64Audio, int audioSizeBytes, String text) {
         if (webSocketClient == null || !webSocketClient.isOpen()) {
             android.util.Log.w(TAG, "WebSocket not connected, cannot send TTS audio");
             return;
         }
 
-        // Use WebSocket send executor for thread-safe sending
-        if (webSocketSendExecutor != null && !webSocketSendExecutor.isShutdown()) {
-            webSocketSendExecutor.execute(() -> {
-                try {
-                    JSONObject message = new JSONObject();
-                    message.put("type", "audio_to_glasses");
-                    message.put("audio_data", base64Audio);
-                    message.put("format", "wav");
-                    message.put("sample_rate", 22050); // TTS typically uses 22050 Hz
-                    message.put("timestamp", System.currentTimeMillis());
-                    message.put("is_tts", true);
-                    message.put("text", lastSpokenGesture); // Include the text for reference
-
-                    webSocketClient.send(message.toString());
-                    android.util.Log.i(TAG, "TTS audio message sent to glasses via WebSocket");
-                } catch (JSONException e) {
-                    android.util.Log.e(TAG, "Error creating TTS audio message: " + e.getMessage(), e);
-                } catch (Exception e) {
-                    android.util.Log.e(TAG, "Error sending TTS audio to glasses: " + e.getMessage(), e);
-                }
-            });
-        } else {
-            android.util.Log.e(TAG, "WebSocket send executor not available for TTS audio");
+        if (sendScheduler == null) {
+            android.util.Log.e(TAG, "WebSocket sender not available for TTS audio");
+            return;
+        }
+
+        // TTS lane is small and drops the oldest clip - stale announcements are worse than none
+        boolean queued = sendScheduler.enqueue(WebSocketSendScheduler.Lane.TTS, base64Audio.length(), new WebSocketSendScheduler.Message() {
+            @Override
+            public Object build() throws JSONException {
+                JSONObject message = new JSONObject();
+                message.put("type", "audio_to_glasses");
+                message.put("audio_data", base64Audio);
+                message.put("format", "wav");
+                message.put("sample_rate", 22050); // TTS typically uses 22050 Hz
+                message.put("timestamp", System.currentTimeMillis());
+                message.put("is_tts", true);
+                message.put("text", text);
+                return message.toString();
+            }
+
+            @Override
+            public void onSent() {
+                android.util.Log.i(TAG, "TTS audio message sent to glasses via WebSocket");
+            }
+
+            @Override
+            public void onFailed(Exception e) {
+                android.util.Log.e(TAG, "Error sending TTS audio to glasses: " + e.getMessage(), e);
+            }
+
+            @Override
+            public void onDropped() {
+                android.util.Log.w(TAG, "TTS audio for '" + text + "' dropped - newer clips queued");
+            }
+        });
+        if (!queued) {
+            android.util.Log.w(TAG, "TTS audio for '" + text + "' not queued - sender stopped");
         }
     }
 
-    private void playTTSAudioOnGlasses(String base64Audio, String format) {
-        android.util.Log.i(TAG, "playTTSAudioOnGlasses called - base64 length: " + (base64Audio != null ? base64Audio.length() : 0));
+    // audio was decoded by the message dispatcher; its array goes back to ttsAudioPool once played or written out
+    private void playTTSAudioOnGlasses(JsonPullScanner.Bytes audio, String format) {
+        android.util.Log.i(TAG, "playTTSAudioOnGlasses called - " + audio.length + " bytes");
 
-        if (audioProcessingExecutor != null && !audioProcessingExecutor.isShutdown()) {
-            audioProcessingExecutor.execute(() -> {
-                android.media.MediaPlayer mediaPlayer = null;
-                // Use final reference for lambda expressions
-                final File[] tempFileRef = new File[1];
-                try {
-                    // Decode base64 audio
-                    byte[] audioBytes = Base64.decode(base64Audio, Base64.NO_WRAP);
-                    android.util.Log.i(TAG, "Decoded audio bytes: " + audioBytes.length + " bytes");
-
-                    // Create temporary file for playback
-                    tempFileRef[0] = new File(getCacheDir(), "tts_playback_" + System.currentTimeMillis() + ".wav");
-                    FileOutputStream fos = new FileOutputStream(tempFileRef[0]);
-                    fos.write(audioBytes);
-                    fos.close();
-                    android.util.Log.i(TAG, "Created temp audio file: " + tempFileRef[0].getAbsolutePath() + ", size: " + tempFileRef[0].length());
-
-                    // Play using MediaPlayer with STREAM_MUSIC for glasses audio output
-                    mediaPlayer = new android.media.MediaPlayer();
-                    mediaPlayer.setAudioStreamType(android.media.AudioManager.STREAM_MUSIC);
-                    mediaPlayer.setDataSource(tempFileRef[0].getAbsolutePath());
-                    mediaPlayer.prepare();
-
-                    android.util.Log.i(TAG, "MediaPlayer prepared, starting playback...");
-
-                    mediaPlayer.setOnCompletionListener(mp -> {
-                        android.util.Log.i(TAG, "TTS audio playback completed");
-                        mp.release();
-                        // Clean up temp file after playback
-                        if (tempFileRef[0] != null && tempFileRef[0].exists()) {
-                            tempFileRef[0].delete();
-                            android.util.Log.i(TAG, "Temp audio file deleted");
-                        }
-                    });
+        // PCM WAV (what TTS engines produce) streams straight from memory into the AudioTrack
+        WavPcm pcm = "wav".equalsIgnoreCase(format) ? WavPcm.parse(audio.data, audio.length) : null;
+        TtsAudioPlayer player = ttsAudioPlayer;
+        if (pcm != null && player != null) {
+            player.enqueue(audio.data, pcm, () -> ttsAudioPool.release(audio.data));
+            return;
+        }
 
-                    mediaPlayer.setOnErrorListener((mp, what, extra) -> {
-                        android.util.Log.e(TAG, "MediaPlayer error: what=" + what + ", extra=" + extra);
-                        mp.release();
-                        if (tempFileRef[0] != null && tempFileRef[0].exists()) {
-                            tempFileRef[0].delete();
-                        }
-                        return true;
-                    });
+        // Compressed formats still need a decoder - fall back to MediaPlayer via a temp file
+        android.util.Log.i(TAG, "TTS audio is not PCM WAV (" + format + ") - playing with MediaPlayer");
+        boolean queued = taskScheduler.execute(TaskScheduler.Lane.BACKGROUND, () -> {
+            android.media.MediaPlayer mediaPlayer = null;
+            // Use final reference for lambda expressions
+            final File[] tempFileRef = new File[1];
+            try {
+                // Create temporary file for playback
+                tempFileRef[0] = new File(getCacheDir(), "tts_playback_" + System.currentTimeMillis() + "." + format);
+                try (FileOutputStream fos = new FileOutputStream(tempFileRef[0])) {
+                    fos.write(audio.data, 0, audio.length);
+                } finally {
+                    ttsAudioPool.release(audio.data);
+                }
+                android.util.Log.i(TAG, "Created temp audio file: " + tempFileRef[0].getAbsolutePath() + ", size: " + tempFileRef[0].length());
 
-                    mediaPlayer.setOnPreparedListener(mp -> {
-                        android.util.Log.i(TAG, "MediaPlayer prepared, starting playback now");
-                        mp.start();
-                    });
+                // Play using MediaPlayer with STREAM_MUSIC for glasses audio output
+                mediaPlayer = new android.media.MediaPlayer();
+                mediaPlayer.setAudioStreamType(android.media.AudioManager.STREAM_MUSIC);
+                mediaPlayer.setDataSource(tempFileRef[0].getAbsolutePath());
+                mediaPlayer.prepare();
 
-                    // Start playback
-                    mediaPlayer.start();
-                    android.util.Log.i(TAG, "MediaPlayer.start() called - audio should be playing now");
+                android.util.Log.i(TAG, "MediaPlayer prepared, starting playback...");
 
-                } catch (Exception e) {
-                    android.util.Log.e(TAG, "Error playing TTS audio on glasses: " + e.getMessage(), e);
-                    e.printStackTrace();
-                    if (mediaPlayer != null) {
-                        try {
-                            mediaPlayer.release();
-                        } catch (Exception ex) {
-                            android.util.Log.e(TAG, "Error releasing MediaPlayer: " + ex.getMessage());
-                        }
-                    }
+                mediaPlayer.setOnCompletionListener(mp -> {
+                    android.util.Log.i(TAG, "TTS audio playback completed");
+                    mp.release();
+                    // Clean up temp file after playback
                     if (tempFileRef[0] != null && tempFileRef[0].exists()) {
                         tempFileRef[0].delete();
+                        android.util.Log.i(TAG, "Temp audio file deleted");
                     }
-                }
-            });
-        } else {
-            android.util.Log.e(TAG, "Audio processing executor not available for TTS playback");
-        }
-    }
+                });
 
-    // =============== END TEXT-TO-SPEECH METHODS ===============
+                mediaPlayer.setOnErrorListener((mp, what, extra) -> {
+                    android.util.Log.e(TAG, "MediaPlayer error: what=" + what + ", extra=" + extra);
+                    mp.release();
+                    if (tempFileRef[0] != null && tempFileRef[0].exists()) {
+                        tempFileRef[0].delete();
+                    }
+                    return true;
+                });
 
-    // Helper method to get different colors for different speakers (00, 01, 02, etc.)
-    private int getSpeakerColor(String speakerNumber) {
-        // Array of distinct colors for different speakers
-        int[] speakerColors = {
-                getResources().getColor(android.R.color.holo_blue_light),      // Speaker 00 - Blue
-                getResources().getColor(android.R.color.holo_orange_light),   // Speaker 01 - Orange
-                getResources().getColor(android.R.color.holo_purple),          // Speaker 02 - Purple
-                getResources().getColor(android.R.color.holo_red_light),       // Speaker 03 - Red
-                getResources().getColor(android.R.color.holo_blue_dark),       // Speaker 04 - Dark Blue
-                getResources().getColor(android.R.color.holo_orange_dark),     // Speaker 05 - Dark Orange
-                getResources().getColor(android.R.color.darker_gray),          // Speaker 06 - Gray
-                0xFF9C27B0,  // Speaker 07 - Deep Purple (custom color)
-                0xFF00BCD4,  // Speaker 08 - Cyan (custom color)
-                0xFFFF9800,  // Speaker 09 - Deep Orange (custom color)
-                0xFF4CAF50,  // Speaker 10 - Green (custom color)
-                0xFFE91E63,  // Speaker 11 - Pink (custom color)
-                0xFF3F51B5,  // Speaker 12 - Indigo (custom color)
-                0xFFFF5722,  // Speaker 13 - Deep Orange (custom color)
-                0xFF009688,  // Speaker 14 - Teal (custom color)
-                0xFF795548   // Speaker 15 - Brown (custom color)
-        };
+                // prepare() above was synchronous - start once
+                mediaPlayer.start();
+                android.util.Log.i(TAG, "MediaPlayer.start() called - audio should be playing now");
 
-        try {
-            if (speakerNumber != null && !speakerNumber.isEmpty()) {
-                // Try to parse the speaker number (handle "00", "01", "0", "1", etc.)
-                int speakerIndex = Integer.parseInt(speakerNumber);
-                if (speakerIndex >= 0 && speakerIndex < speakerColors.length) {
-                    return speakerColors[speakerIndex];
+            } catch (Exception e) {
+                android.util.Log.e(TAG, "Error playing TTS audio on glasses: " + e.getMessage(), e);
+                e.printStackTrace();
+                if (mediaPlayer != null) {
+                    try {
+                        mediaPlayer.release();
+                    } catch (Exception ex) {
+                        android.util.Log.e(TAG, "Error releasing MediaPlayer: " + ex.getMessage());
+                    }
+                }
+                if (tempFileRef[0] != null && tempFileRef[0].exists()) {
+                    tempFileRef[0].delete();
                 }
             }
-        } catch (NumberFormatException e) {
-            // If parsing fails, use default color
+        });
+        if (!queued) {
+            ttsAudioPool.release(audio.data);
+            android.util.Log.e(TAG, "Background lane not available for TTS playback");
         }
-
-        // Default color if speaker number is invalid or out of range
-        return getResources().getColor(android.R.color.holo_blue_light);
     }
 
+    // =============== END TEXT-TO-SPEECH METHODS ===============
+
     private void setupCrashHandler() {
         // Get the existing default handler
         final Thread.UncaughtExceptionHandler defaultHandler = Thread.getDefaultUncaughtExceptionHandler();
@@ -3233,6 +3657,7 @@ public class MainActivity extends AppCompatActivity {
             if (gestureHandler != null && gestureCaptureRunnable != null) {
                 gestureHandler.removeCallbacks(gestureCaptureRunnable);
             }
+            latencyOverlayHandler.removeCallbacks(latencyOverlayUpdater);
 
             // Interrupt audio buffer processor thread
             if (audioBufferProcessorThread != null && audioBufferProcessorThread.isAlive()) {
@@ -3270,8 +3695,10 @@ public class MainActivity extends AppCompatActivity {
             }
 
             // Clear buffers
-            audioBuffer.clear();
-            audioChunks.clear();
+            if (sessionAudio != null) {
+                sessionAudio.close();
+                sessionAudio = null;
+            }
 
             // Shutdown Text-to-Speech
             if (textToSpeech != null) {
@@ -3314,13 +3741,24 @@ public class MainActivity extends AppCompatActivity {
             // Leave conversation
             leaveConversation();
 
+            // No reconnects for a closing activity
+            shouldReconnect = false;
+            reconnectScheduler.cancel();
+            unregisterNetworkCallback();
+
             // Stop ping handler
             stopClientPing();
 
+            if (transcriptScroller != null) {
+                Log.i(TAG, "Transcript auto-scroll: " + transcriptScroller.metricsSummary());
+                transcriptScroller.release();
+            }
+
             // Stop gesture handler
             if (gestureHandler != null && gestureCaptureRunnable != null) {
                 gestureHandler.removeCallbacks(gestureCaptureRunnable);
             }
+            latencyOverlayHandler.removeCallbacks(latencyOverlayUpdater);
 
             // Interrupt audio buffer processor thread
             if (audioBufferProcessorThread != null && audioBufferProcessorThread.isAlive()) {
@@ -3336,8 +3774,10 @@ public class MainActivity extends AppCompatActivity {
             closeWebSocket();
 
             // Clear buffers
-            audioBuffer.clear();
-            audioChunks.clear();
+            if (sessionAudio != null) {
+                sessionAudio.close();
+                sessionAudio = null;
+            }
 
             // Shutdown Text-to-Speech
             if (textToSpeech != null) {
@@ -3350,6 +3790,8 @@ public class MainActivity extends AppCompatActivity {
                 textToSpeech = null;
                 ttsInitialized = false;
             }
+            android.util.Log.i(TAG, "TTS cache at shutdown: " + ttsAudioCache.metricsSummary());
+            ttsAudioCache.clear();
 
             // Shutdown executor services
             shutdownExecutorServices();
@@ -0,0 +1,142 @@
+package com.example.fyp_serverbasedapp;
+
+import android.media.AudioFormat;
+import android.media.MediaCodec;
+import android.media.MediaCodecList;
+import android.media.MediaFormat;
+import android.os.Build;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Opus uplink encoder on top of the platform MediaCodec (Android 10+).
+ * Output is a sequence of [u16 big-endian length][Opus packet] - one 20ms packet after another,
+ * without an Ogg container. Not thread-safe: owned by the capture ring's consumer thread.
+ */
+final class OpusUplinkEncoder {
+
+    static final String CODEC_NAME = "opus";
+
+    private static final long TIMEOUT_US = 10_000;
+    private static final long END_OF_UNIT_TIMEOUT_MS = 200;
+    private static final long STALL_TIMEOUT_MS = 1000;
+
+    private final MediaCodec codec;
+    private final int sampleRate;
+    private final MediaCodec.BufferInfo info = new MediaCodec.BufferInfo();
+    private final ByteArrayOutputStream packets = new ByteArrayOutputStream(8 * 1024);
+    private byte[] packetScratch = new byte[512];
+    private long presentationUs = 0;
+
+    OpusUplinkEncoder(int sampleRate, int bitrate) throws IOException {
+        this.sampleRate = sampleRate;
+        MediaFormat format = MediaFormat.createAudioFormat(MediaFormat.MIMETYPE_AUDIO_OPUS, sampleRate, 1);
+        format.setInteger(MediaFormat.KEY_BIT_RATE, bitrate);
+        format.setInteger(MediaFormat.KEY_PCM_ENCODING, AudioFormat.ENCODING_PCM_16BIT);
+        codec = MediaCodec.createEncoderByType(MediaFormat.MIMETYPE_AUDIO_OPUS);
+        try {
+            codec.configure(format, null, null, MediaCodec.CONFIGURE_FLAG_ENCODE);
+            codec.start();
+        } catch (RuntimeException e) {
+            codec.release();
+            throw new IOException("Opus encoder rejected format: " + e.getMessage(), e);
+        }
+    }
+
+    /** True if this device has an Opus encoder that takes 16-bit mono PCM at sampleRate. */
+    static boolean isSupported(int sampleRate) {
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.Q) {
+            return false;
+        }
+        try {
+            MediaFormat format = MediaFormat.createAudioFormat(MediaFormat.MIMETYPE_AUDIO_OPUS, sampleRate, 1);
+            return new MediaCodecList(MediaCodecList.REGULAR_CODECS).findEncoderForFormat(format) != null;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Encodes the ring view [position, position + length). With endOfUnit the encoder is drained
+     * and reset, so the returned packets decode on their own (a chunk, or the end of a stream);
+     * without it the encoder keeps its state for the next frame of the same stream.
+     */
+    byte[] encode(PcmRingBuffer ring, long position, int length, boolean endOfUnit) {
+        packets.reset();
+        long end = position + (length & ~1);
+        boolean endQueued = false;
+        long giveUpAt = System.currentTimeMillis() + STALL_TIMEOUT_MS;
+
+        while (position < end || (endOfUnit && !endQueued)) {
+            int inIndex = codec.dequeueInputBuffer(TIMEOUT_US);
+            if (inIndex >= 0) {
+                ByteBuffer input = codec.getInputBuffer(inIndex);
+                input.clear();
+                int n = (int) Math.min(end - position, input.remaining()) & ~1;
+                // The view may wrap around the end of the ring
+                int offset = ring.offsetOf(position);
+                int firstPart = Math.min(n, ring.capacity() - offset);
+                input.put(ring.array(), offset, firstPart);
+                input.put(ring.array(), 0, n - firstPart);
+
+                boolean last = endOfUnit && position + n == end;
+                codec.queueInputBuffer(inIndex, 0, n, presentationUs, last ? MediaCodec.BUFFER_FLAG_END_OF_STREAM : 0);
+                presentationUs += (n / 2) * 1_000_000L / sampleRate;
+                position += n;
+                endQueued = last;
+            } else if (System.currentTimeMillis() > giveUpAt) {
+                throw new IllegalStateException("Opus encoder stopped accepting input");
+            }
+            drain(false);
+        }
+
+        if (endOfUnit) {
+            drain(true);
+            // Back to a clean state - the next unit starts a fresh Opus stream
+            codec.flush();
+            presentationUs = 0;
+        }
+        return packets.toByteArray();
+    }
+
+    void release() {
+        try {
+            codec.stop();
+        } catch (RuntimeException e) {
+            // Already stopped or in an error state - release anyway
+        }
+        codec.release();
+    }
+
+    private void drain(boolean untilEndOfStream) {
+        long deadline = System.currentTimeMillis() + END_OF_UNIT_TIMEOUT_MS;
+        while (true) {
+            int outIndex = codec.dequeueOutputBuffer(info, untilEndOfStream ? TIMEOUT_US : 0);
+            if (outIndex >= 0) {
+                // Codec config (OpusHead) is skipped - the server knows rate and channels from the session
+                if ((info.flags & MediaCodec.BUFFER_FLAG_CODEC_CONFIG) == 0 && info.size > 0) {
+                    ByteBuffer output = codec.getOutputBuffer(outIndex);
+                    if (packetScratch.length < info.size) {
+                        packetScratch = new byte[info.size];
+                    }
+                    output.position(info.offset);
+                    output.get(packetScratch, 0, info.size);
+                    packets.write(info.size >> 8);
+                    packets.write(info.size & 0xff);
+                    packets.write(packetScratch, 0, info.size);
+                }
+                codec.releaseOutputBuffer(outIndex, false);
+                if ((info.flags & MediaCodec.BUFFER_FLAG_END_OF_STREAM) != 0) {
+                    return;
+                }
+            } else if (outIndex == MediaCodec.INFO_TRY_AGAIN_LATER) {
+                if (!untilEndOfStream || System.currentTimeMillis() > deadline) {
+                    return;
+                }
+            }
+            // INFO_OUTPUT_FORMAT_CHANGED - nothing to do, keep draining
+        }
+    }
+}
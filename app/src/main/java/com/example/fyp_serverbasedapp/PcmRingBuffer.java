@@ -0,0 +1,101 @@
+package com.example.fyp_serverbasedapp;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Preallocated single-producer/single-consumer ring of PCM bytes.
+ * The capture thread reads AudioRecord straight into array() and publishes with commitWrite();
+ * the processing thread works on views of the same array and releases what it no longer needs.
+ * Positions are absolute byte counts since creation, so they never wrap.
+ */
+final class PcmRingBuffer {
+
+    private final byte[] data;
+    private final int mask;
+
+    private volatile long writePosition = 0; // Written by the producer only
+    private volatile long releasePosition = 0; // Written by the consumer only - bytes before this may be overwritten
+    private volatile Thread consumer;
+
+    PcmRingBuffer(int capacity) {
+        if (capacity <= 0 || (capacity & (capacity - 1)) != 0) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        }
+        this.data = new byte[capacity];
+        this.mask = capacity - 1;
+    }
+
+    byte[] array() {
+        return data;
+    }
+
+    int capacity() {
+        return data.length;
+    }
+
+    int offsetOf(long position) {
+        return (int) (position & mask);
+    }
+
+    // =============== PRODUCER ===============
+
+    int writeOffset() {
+        return offsetOf(writePosition);
+    }
+
+    /** Bytes that can be written at writeOffset() without wrapping or overwriting unreleased data. */
+    int writableContiguous() {
+        long free = data.length - (writePosition - releasePosition);
+        return (int) Math.min(free, data.length - writeOffset());
+    }
+
+    void commitWrite(int length) {
+        writePosition = writePosition + length; // Single writer - plain read-modify-write is safe
+        wakeConsumer();
+    }
+
+    void wakeConsumer() {
+        Thread waiting = consumer;
+        if (waiting != null) {
+            LockSupport.unpark(waiting);
+        }
+    }
+
+    // =============== CONSUMER ===============
+
+    long writePosition() {
+        return writePosition;
+    }
+
+    long releasePosition() {
+        return releasePosition;
+    }
+
+    /** Length of the contiguous view starting at position, bounded by end. */
+    int contiguousFrom(long position, long end) {
+        return (int) Math.min(end - position, data.length - offsetOf(position));
+    }
+
+    /** Lets the producer reuse everything before position. Never moves backwards. */
+    void release(long position) {
+        if (position > releasePosition) {
+            releasePosition = Math.min(position, writePosition);
+        }
+    }
+
+    /** Copies [position, position + length) into dest, handling the wrap. */
+    void copyOut(long position, byte[] dest, int destOffset, int length) {
+        int offset = offsetOf(position);
+        int firstPart = Math.min(length, data.length - offset);
+        System.arraycopy(data, offset, dest, destOffset, firstPart);
+        System.arraycopy(data, 0, dest, destOffset + firstPart, length - firstPart);
+    }
+
+    /** Parks the calling (consumer) thread until data beyond position is published or the timeout passes. */
+    void awaitData(long position, long timeoutNanos) {
+        consumer = Thread.currentThread();
+        if (writePosition <= position) {
+            LockSupport.parkNanos(this, timeoutNanos);
+        }
+    }
+}
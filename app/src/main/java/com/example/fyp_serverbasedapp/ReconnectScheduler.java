@@ -0,0 +1,175 @@
+package com.example.fyp_serverbasedapp;
+
+import android.os.Handler;
+
+import java.util.Random;
+
+/**
+ * Decides when to retry a dropped WebSocket: exponential backoff with jitter up to a cap, so
+ * many devices losing the same server do not all come back at the same moment. Attempts are
+ * held while the device has no network and one is made right away when the network returns;
+ * that attempt still counts, so a flapping network cannot retry forever. Only a successful
+ * connection restores the full attempt budget.
+ * Callbacks run on the handler's thread; the other methods may be called from any thread.
+ */
+final class ReconnectScheduler {
+
+    interface Listener {
+        void onReconnect(int attempt);
+
+        void onGiveUp(int attempts);
+    }
+
+    private static final long NETWORK_RETURN_JITTER_MS = 500; // Spread devices sharing one access point
+
+    private final Handler handler;
+    private final long baseDelayMs;
+    private final long maxDelayMs;
+    private final int maxAttempts;
+    private final Listener listener;
+    private final Random random = new Random();
+    private final Runnable attemptRunnable = this::runAttempt;
+
+    private boolean reconnecting = false;
+    private boolean attemptPending = false;
+    private boolean networkAvailable = true;
+    private int attempts = 0;
+    private long disconnectedAt = 0;
+
+    // Time-to-reconnect metrics
+    private long reconnectCount = 0;
+    private long lastReconnectMs = -1;
+    private long totalReconnectMs = 0;
+    private long maxReconnectMs = 0;
+    private long giveUps = 0;
+
+    ReconnectScheduler(Handler handler, long baseDelayMs, long maxDelayMs, int maxAttempts, Listener listener) {
+        this.handler = handler;
+        this.baseDelayMs = baseDelayMs;
+        this.maxDelayMs = maxDelayMs;
+        this.maxAttempts = maxAttempts;
+        this.listener = listener;
+    }
+
+    /** The connection dropped, or a reconnect attempt failed - schedule the next attempt. */
+    synchronized void onDisconnected() {
+        if (!reconnecting) {
+            reconnecting = true;
+            attempts = 0;
+            disconnectedAt = System.currentTimeMillis();
+        }
+        if (attemptPending) {
+            return;
+        }
+        if (attempts >= maxAttempts) {
+            reconnecting = false;
+            giveUps++;
+            int made = attempts;
+            handler.post(() -> listener.onGiveUp(made));
+            return;
+        }
+        if (networkAvailable) {
+            schedule(nextDelayMs());
+        }
+        // Offline: nothing to schedule - onNetworkAvailable() starts the next attempt
+    }
+
+    /** Connected again. Returns the time since the drop in ms, or -1 if this was not a reconnect. */
+    synchronized long onConnected() {
+        cancelPending();
+        if (!reconnecting) {
+            return -1;
+        }
+        reconnecting = false;
+        attempts = 0;
+        long elapsed = System.currentTimeMillis() - disconnectedAt;
+        reconnectCount++;
+        lastReconnectMs = elapsed;
+        totalReconnectMs += elapsed;
+        maxReconnectMs = Math.max(maxReconnectMs, elapsed);
+        return elapsed;
+    }
+
+    synchronized void onNetworkAvailable() {
+        networkAvailable = true;
+        if (reconnecting) {
+            // The link is back - no point waiting out the backoff
+            cancelPending();
+            schedule(random.nextInt((int) NETWORK_RETURN_JITTER_MS));
+        }
+    }
+
+    synchronized void onNetworkLost() {
+        networkAvailable = false;
+        // Attempts would only fail and use up the budget
+        cancelPending();
+    }
+
+    /** Stops retrying, e.g. after a manual disconnect. */
+    synchronized void cancel() {
+        cancelPending();
+        reconnecting = false;
+        attempts = 0;
+    }
+
+    synchronized boolean isReconnecting() {
+        return reconnecting;
+    }
+
+    synchronized int attempts() {
+        return attempts;
+    }
+
+    /** One-line reconnect metrics, e.g. for a periodic log. */
+    synchronized String metricsSummary() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("reconnects=").append(reconnectCount);
+        if (reconnectCount > 0) {
+            sb.append(" last=").append(lastReconnectMs).append("ms")
+                    .append(" avg=").append(totalReconnectMs / reconnectCount).append("ms")
+                    .append(" max=").append(maxReconnectMs).append("ms");
+        }
+        if (giveUps > 0) {
+            sb.append(" gave_up=").append(giveUps);
+        }
+        if (reconnecting) {
+            sb.append(" (reconnecting, attempt ").append(attempts).append(networkAvailable ? ")" : ", offline)");
+        }
+        return sb.toString();
+    }
+
+    private long nextDelayMs() {
+        return backoffDelayMs(baseDelayMs, maxDelayMs, attempts, random.nextDouble());
+    }
+
+    // Equal jitter: half the backoff is fixed, the other half random (uniform in [0, 1))
+    static long backoffDelayMs(long baseDelayMs, long maxDelayMs, int attempts, double uniform) {
+        long backoff = Math.min(maxDelayMs, baseDelayMs << Math.min(Math.max(attempts, 0), 20));
+        long half = backoff / 2;
+        return half + (long) (uniform * (backoff - half));
+    }
+
+    private void schedule(long delayMs) {
+        attemptPending = true;
+        handler.postDelayed(attemptRunnable, delayMs);
+    }
+
+    private void cancelPending() {
+        if (attemptPending) {
+            handler.removeCallbacks(attemptRunnable);
+            attemptPending = false;
+        }
+    }
+
+    private void runAttempt() {
+        int attempt;
+        synchronized (this) {
+            attemptPending = false;
+            if (!reconnecting || !networkAvailable) {
+                return;
+            }
+            attempt = ++attempts;
+        }
+        listener.onReconnect(attempt);
+    }
+}
@@ -0,0 +1,422 @@
+package com.example.fyp_serverbasedapp;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Decodes server messages into typed events on its own thread, in arrival order.
+ * All JSON work (parsing, array walks, display strings) happens here, so the listener
+ * only has to post the finished values to the UI - or nothing at all for keep-alives.
+ * The two large message types are read with JsonPullScanner instead of a JSONObject.
+ */
+final class ServerMessageDispatcher {
+
+    interface Listener {
+        void onConversationJoined(Joined joined);
+
+        void onPong(int statusCode);
+
+        void onKeepAlive();
+
+        void onProcessingStatus();
+
+        void onProcessingStopped();
+
+        void onSegment(Segment segment);
+
+        void onSegments(List<Segment> segments);
+
+        // sequence is -1 if the server only sent the chunk id
+        void onAudioReceived(int sequence, String chunkId);
+
+        void onAudioProcessed();
+
+        void onSpeakersList();
+
+        void onVoiceRegistered(String voiceId, int numSamples, boolean multiSample);
+
+        // error is null if the server did not say what went wrong
+        void onProcessingError(String error, String chunkId);
+
+        void onError(String error);
+
+        void onGestureResult(GestureResult result);
+
+        // audio is null if the message had none; otherwise its array goes back to the pool when done
+        void onTtsAudio(JsonPullScanner.Bytes audio, String format, String text);
+
+        // type is "" if the message was not JSON at all
+        void onMalformed(String type, Exception e);
+    }
+
+    static final class Joined {
+        final boolean binaryAudio;
+        final boolean streamingAudio;
+        final String audioCodec;
+        final String sessionToken; // null = session cannot be resumed
+        final boolean resumed;
+        final int nextSequence; // Sequence the server expects next on a resume, -1 if not sent
+
+        Joined(boolean binaryAudio, boolean streamingAudio, String audioCodec, String sessionToken, boolean resumed,
+               int nextSequence) {
+            this.binaryAudio = binaryAudio;
+            this.streamingAudio = streamingAudio;
+            this.audioCodec = audioCodec;
+            this.sessionToken = sessionToken;
+            this.resumed = resumed;
+            this.nextSequence = nextSequence;
+        }
+    }
+
+    static final class Segment {
+        final String speakerName; // "YOU" for the wearer, "Speaker NN" for diarized speakers
+        final boolean isWearer;
+        final String text;
+        final String chunkId; // "" if the server did not say which chunk it came from
+        final double start; // Seconds into the chunk, -1 if unknown
+        final boolean partial; // Streaming hypothesis - later results for the chunk replace it
+
+        Segment(String speakerName, boolean isWearer, String text, String chunkId, double start, boolean partial) {
+            this.speakerName = speakerName;
+            this.isWearer = isWearer;
+            this.text = text;
+            this.chunkId = chunkId;
+            this.start = start;
+            this.partial = partial;
+        }
+    }
+
+    static final class GestureResult {
+        final boolean success;
+        final String displayText; // "Thumbs_Up (92%), ..." - null if nothing was detected
+        final String spokenText; // "Thumbs_Up and ..." for TTS
+        final String error;
+
+        GestureResult(boolean success, String displayText, String spokenText, String error) {
+            this.success = success;
+            this.displayText = displayText;
+            this.spokenText = spokenText;
+            this.error = error;
+        }
+    }
+
+    private final Listener listener;
+    private final ByteArrayPool audioPool;
+    private final ExecutorService executor;
+
+    ServerMessageDispatcher(Listener listener, ByteArrayPool audioPool, ThreadFactory threadFactory) {
+        this.listener = listener;
+        this.audioPool = audioPool;
+        this.executor = Executors.newSingleThreadExecutor(threadFactory);
+    }
+
+    /** Called on the socket's read thread - returns right away. */
+    void dispatch(String message) {
+        try {
+            executor.execute(() -> decode(message));
+        } catch (RejectedExecutionException e) {
+            // Shut down - late messages are dropped
+        }
+    }
+
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void decode(String message) {
+        // Large payloads never go through a JSONObject - it would copy the Base64 text first
+        String streamedType = JsonPullScanner.messageType(message);
+        if ("tts_audio".equals(streamedType)) {
+            decodeTtsAudio(message);
+            return;
+        }
+        if ("processing_result".equals(streamedType)) {
+            decodeProcessingResult(message);
+            return;
+        }
+
+        JSONObject response;
+        try {
+            response = new JSONObject(message);
+        } catch (JSONException e) {
+            listener.onMalformed("", e);
+            return;
+        }
+        String type = response.optString("type", "");
+        try {
+            switch (type) {
+                case "conversation_joined":
+                    String token = response.optString("session_token", "");
+                    listener.onConversationJoined(new Joined(
+                            response.optBoolean("binary_audio", false),
+                            response.optBoolean("streaming_audio", false),
+                            response.optString("audio_codec", "pcm"),
+                            token.isEmpty() ? null : token,
+                            response.optBoolean("resumed", false),
+                            response.optInt("next_sequence", -1)));
+                    break;
+
+                case "pong":
+                    listener.onPong(response.optInt("status_code", 0));
+                    break;
+
+                case "keep_alive":
+                    listener.onKeepAlive();
+                    break;
+
+                case "processing_status":
+                    listener.onProcessingStatus();
+                    break;
+
+                case "processing_stopped":
+                    listener.onProcessingStopped();
+                    break;
+
+                case "segment_result":
+                    listener.onSegment(toSegment(response.getJSONObject("segment"),
+                            response.optString("chunk_id", ""), response.optBoolean("is_partial", false)));
+                    break;
+
+                case "audio_received":
+                    listener.onAudioReceived(response.has("sequence") ? response.optInt("sequence") : -1,
+                            response.optString("chunk_id", ""));
+                    break;
+
+                case "audio_processed":
+                    listener.onAudioProcessed();
+                    break;
+
+                case "speakers_list":
+                    listener.onSpeakersList();
+                    break;
+
+                case "voice_registered":
+                    String voiceId = response.optString("voice_id", null);
+                    if (voiceId != null) {
+                        listener.onVoiceRegistered(voiceId, response.optInt("num_samples", 1),
+                                "multi-sample".equals(response.optString("registration_method", "single")));
+                    }
+                    break;
+
+                case "processing_error":
+                    listener.onProcessingError(response.has("error") ? response.optString("error") : null,
+                            response.optString("chunk_id", ""));
+                    break;
+
+                case "error":
+                    listener.onError(response.has("error") ? response.optString("error") : null);
+                    break;
+
+                case "gesture_result":
+                    listener.onGestureResult(toGestureResult(response));
+                    break;
+
+                default:
+                    // processing_started, no_speech and unknown types need no handling
+                    // (tts_audio and processing_result are streamed above)
+                    break;
+            }
+        } catch (JSONException e) {
+            listener.onMalformed(type, e);
+        }
+    }
+
+    // Base64 is decoded straight into a pooled array while scanning - no JSONObject, no Base64 string
+    private void decodeTtsAudio(String message) {
+        JsonPullScanner scanner = new JsonPullScanner(message);
+        JsonPullScanner.Bytes audio = null;
+        String format = "wav";
+        String text = "";
+        try {
+            scanner.beginObject();
+            while (scanner.nextField()) {
+                switch (scanner.fieldName()) {
+                    case "audio_data":
+                        if (audio != null) {
+                            audioPool.release(audio.data);
+                        }
+                        audio = scanner.readBase64(audioPool);
+                        break;
+                    case "format":
+                        format = readString(scanner, format);
+                        break;
+                    case "text":
+                        text = readString(scanner, text);
+                        break;
+                    default:
+                        scanner.skipValue();
+                        break;
+                }
+            }
+        } catch (RuntimeException e) {
+            if (audio != null) {
+                audioPool.release(audio.data);
+            }
+            listener.onMalformed("tts_audio", e);
+            return;
+        }
+        listener.onTtsAudio(audio, format, text);
+    }
+
+    // Server sent the full array of segments in one message
+    private void decodeProcessingResult(String message) {
+        JsonPullScanner scanner = new JsonPullScanner(message);
+        List<Segment> segments = new ArrayList<>();
+        String chunkId = "";
+        boolean partial = false;
+        try {
+            scanner.beginObject();
+            while (scanner.nextField()) {
+                switch (scanner.fieldName()) {
+                    case "chunk_id":
+                        chunkId = readString(scanner, chunkId);
+                        break;
+                    case "is_partial":
+                        partial = scanner.readBoolean(false);
+                        break;
+                    case "segments":
+                        if (scanner.peek() != JsonPullScanner.ARRAY) {
+                            scanner.skipValue();
+                            break;
+                        }
+                        scanner.beginArray();
+                        while (scanner.nextElement()) {
+                            if (scanner.peek() == JsonPullScanner.OBJECT) {
+                                segments.add(readSegment(scanner));
+                            } else {
+                                scanner.skipValue();
+                            }
+                        }
+                        break;
+                    default:
+                        scanner.skipValue();
+                        break;
+                }
+            }
+        } catch (RuntimeException e) {
+            listener.onMalformed("processing_result", e);
+            return;
+        }
+        // chunk_id and is_partial may come after the array - fill them in now
+        for (int i = 0; i < segments.size(); i++) {
+            Segment s = segments.get(i);
+            if (s.chunkId.isEmpty() || partial) {
+                segments.set(i, new Segment(s.speakerName, s.isWearer, s.text,
+                        s.chunkId.isEmpty() ? chunkId : s.chunkId, s.start, s.partial || partial));
+            }
+        }
+        listener.onSegments(segments);
+    }
+
+    private static Segment readSegment(JsonPullScanner scanner) {
+        String speakerId = null;
+        String speaker = null;
+        String text = null;
+        String transcription = null;
+        boolean isWearer = false;
+        String chunkId = "";
+        double start = -1;
+        boolean partial = false;
+        scanner.beginObject();
+        while (scanner.nextField()) {
+            switch (scanner.fieldName()) {
+                case "speaker_id":
+                    speakerId = readString(scanner, null);
+                    break;
+                case "speaker":
+                    speaker = readString(scanner, null);
+                    break;
+                case "text":
+                    text = readString(scanner, null);
+                    break;
+                case "transcription":
+                    transcription = readString(scanner, null);
+                    break;
+                case "is_wearer":
+                    isWearer = scanner.readBoolean(false);
+                    break;
+                case "chunk_id":
+                    chunkId = readString(scanner, chunkId);
+                    break;
+                case "start":
+                    start = scanner.readDouble(-1);
+                    break;
+                case "is_partial":
+                    partial = scanner.readBoolean(false);
+                    break;
+                default:
+                    scanner.skipValue();
+                    break;
+            }
+        }
+        return toSegment(speakerId != null ? speakerId : speaker != null ? speaker : "UNKNOWN",
+                text != null ? text : transcription != null ? transcription : "", isWearer, chunkId, start, partial);
+    }
+
+    private static String readString(JsonPullScanner scanner, String fallback) {
+        if (scanner.peek() == JsonPullScanner.STRING) {
+            return scanner.readString();
+        }
+        scanner.skipValue();
+        return fallback;
+    }
+
+    private static Segment toSegment(JSONObject segment, String chunkId, boolean partial) {
+        // Support both 'speaker_id' (new) and 'speaker' (legacy), 'text' (new) and 'transcription' (legacy)
+        return toSegment(segment.optString("speaker_id", segment.optString("speaker", "UNKNOWN")),
+                segment.optString("text", segment.optString("transcription", "")),
+                segment.optBoolean("is_wearer", false),
+                segment.optString("chunk_id", chunkId),
+                segment.optDouble("start", -1),
+                segment.optBoolean("is_partial", partial));
+    }
+
+    private static Segment toSegment(String speaker, String text, boolean isWearer,
+                                     String chunkId, double start, boolean partial) {
+        String speakerName;
+        if (isWearer) {
+            speakerName = "YOU"; // Display as "YOU" for the wearer
+        } else if (speaker.startsWith("SPEAKER_")) {
+            speakerName = "Speaker " + speaker.substring(8); // Remove "SPEAKER_" prefix
+        } else {
+            speakerName = speaker;
+        }
+        return new Segment(speakerName, isWearer, text, chunkId, start, partial);
+    }
+
+    private static GestureResult toGestureResult(JSONObject response) throws JSONException {
+        if (response.optInt("status_code", 0) != 200) {
+            return new GestureResult(false, null, null, response.optString("error", "Unknown error"));
+        }
+        JSONArray gestures = response.optJSONArray("gestures");
+        if (gestures == null || gestures.length() == 0) {
+            return new GestureResult(true, null, null, null);
+        }
+
+        StringBuilder displayText = new StringBuilder();
+        StringBuilder spokenText = new StringBuilder();
+        for (int i = 0; i < gestures.length(); i++) {
+            JSONObject gesture = gestures.getJSONObject(i);
+            String categoryName = gesture.optString("category_name", "Unknown");
+            double score = gesture.optDouble("score", 0.0);
+
+            // Display text with confidence, clean names for TTS
+            if (i > 0) {
+                displayText.append(", ");
+                spokenText.append(" and ");
+            }
+            displayText.append(categoryName).append(" (").append(String.format(Locale.US, "%.0f%%", score * 100)).append(")");
+            spokenText.append(categoryName);
+        }
+        return new GestureResult(true, displayText.toString(), spokenText.toString(), null);
+    }
+}
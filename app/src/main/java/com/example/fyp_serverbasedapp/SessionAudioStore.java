@@ -0,0 +1,109 @@
+package com.example.fyp_serverbasedapp;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Rolling window of the session's PCM, kept in a memory-mapped file instead of on the heap.
+ * Once the window is full the oldest audio is overwritten, so memory use is fixed no matter
+ * how long the conversation runs. Readers copy out blocks, never the whole window at once.
+ * Positions are absolute byte counts since the store was opened, so a reader that captured a
+ * range keeps pointing at the same audio while appends continue, and can tell when it is gone.
+ */
+final class SessionAudioStore {
+
+    private final File file;
+    private final RandomAccessFile raf;
+    private final MappedByteBuffer window;
+    private final int capacity;
+
+    private long totalBytes = 0; // Everything ever appended - the position of the next byte
+    private long clearedPosition = 0; // Audio before this was discarded by clear()
+
+    SessionAudioStore(File file, int capacityBytes) throws IOException {
+        this.file = file;
+        this.capacity = capacityBytes;
+        this.raf = new RandomAccessFile(file, "rw");
+        raf.setLength(capacityBytes);
+        this.window = raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, capacityBytes);
+    }
+
+    synchronized void append(byte[] pcm, int offset, int length) {
+        // Only the newest 'capacity' bytes can survive
+        if (length > capacity) {
+            offset += length - capacity;
+            totalBytes += length - capacity;
+            length = capacity;
+        }
+        int writePos = (int) (totalBytes % capacity);
+        int firstPart = Math.min(length, capacity - writePos);
+        window.position(writePos);
+        window.put(pcm, offset, firstPart);
+        if (firstPart < length) {
+            window.position(0);
+            window.put(pcm, offset + firstPart, length - firstPart);
+        }
+        totalBytes += length;
+    }
+
+    /** Position of the oldest retained byte. */
+    synchronized long oldestPosition() {
+        return Math.max(clearedPosition, totalBytes - capacity);
+    }
+
+    /** Position just after the newest byte. */
+    synchronized long endPosition() {
+        return totalBytes;
+    }
+
+    /** Bytes currently retained (at most the window size). */
+    synchronized int size() {
+        return (int) (totalBytes - oldestPosition());
+    }
+
+    /** Bytes that fell out of the window since the last clear(). */
+    synchronized long droppedBytes() {
+        return Math.max(0, totalBytes - clearedPosition - capacity);
+    }
+
+    /**
+     * Copies audio starting at the absolute 'position'. Returns the number of bytes copied,
+     * 0 at the end, or -1 if that audio has been overwritten or cleared since it was stored.
+     */
+    synchronized int read(long position, byte[] dest, int destOffset, int length) {
+        if (position < oldestPosition()) {
+            return -1;
+        }
+        if (position >= totalBytes) {
+            return 0;
+        }
+        length = (int) Math.min(length, totalBytes - position);
+        int readPos = (int) (position % capacity);
+        int firstPart = Math.min(length, capacity - readPos);
+        window.position(readPos);
+        window.get(dest, destOffset, firstPart);
+        if (firstPart < length) {
+            window.position(0);
+            window.get(dest, destOffset + firstPart, length - firstPart);
+        }
+        return length;
+    }
+
+    synchronized void clear() {
+        clearedPosition = totalBytes;
+    }
+
+    /** Closes the file and deletes it. The mapping itself goes away when it is garbage collected. */
+    synchronized void close() {
+        clearedPosition = totalBytes;
+        try {
+            raf.close();
+        } catch (IOException e) {
+            // Nothing useful to do - the file is deleted below anyway
+        }
+        file.delete();
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.fyp_serverbasedapp;
+
+/**
+ * Cuts 16-bit mono PCM into chunks at low-energy pauses instead of on a wall-clock timer.
+ * A chunk closes at the first pause after minChunkMs, or at the quietest point seen once
+ * maxChunkMs is reached. The last overlapMs of a cut chunk is carried into the next one.
+ * The chunker only analyses audio and reports absolute stream positions; the caller keeps
+ * the bytes (see PcmRingBuffer) from chunkStart() onwards until the chunk is emitted.
+ */
+final class SpeechChunker {
+
+    interface Listener {
+        // [position, position + length) in the caller's stream - copy it out before returning
+        void onChunk(long position, int length, int overlapBytes, boolean hasSpeech);
+    }
+
+    private static final int ANALYSIS_FRAME_MS = 20;
+    private static final double PAUSE_DROP_DB = 10.0; // Frame this far below the speech level is a pause
+    private static final double ABSOLUTE_QUIET_DB = -50.0; // Always a pause below this
+    private static final double LEVEL_SMOOTHING = 0.05;
+
+    private final int frameBytes;
+    private final int minChunkBytes;
+    private final int maxChunkBytes;
+    private final int overlapBytes;
+    private final Listener listener;
+
+    // Chunk being built: [chunkStart, chunkStart + carriedOverlap) is overlap from the previous chunk
+    private long chunkStart = -1; // -1 = nothing pending
+    private long analysedEnd = 0;
+    private int carriedOverlap = 0;
+    private boolean chunkHasSpeech = false;
+    private boolean lastWriteHasSpeech = false;
+
+    // Per-frame energy analysis
+    private long frameEnergy = 0;
+    private int frameSamples = 0;
+    private double speechLevelDb = -30.0;
+    private boolean previousFrameQuiet = false;
+
+    // Best cut point seen since minChunkBytes
+    private long quietestPos = -1;
+    private double quietestDb = Double.MAX_VALUE;
+
+    SpeechChunker(int sampleRate, int minChunkMs, int maxChunkMs, int overlapMs, Listener listener) {
+        int bytesPerMs = sampleRate * 2 / 1000;
+        this.frameBytes = ANALYSIS_FRAME_MS * bytesPerMs;
+        this.minChunkBytes = minChunkMs * bytesPerMs;
+        this.maxChunkBytes = maxChunkMs * bytesPerMs;
+        this.overlapBytes = Math.min(overlapMs * bytesPerMs, minChunkBytes);
+        this.listener = listener;
+    }
+
+    /**
+     * Analyses pcm[offset, offset + length), which sits at stream position 'position'.
+     * May emit zero or more chunks synchronously.
+     */
+    void write(byte[] pcm, int offset, int length, long position, boolean hasSpeech) {
+        length &= ~1;
+        if (length == 0) {
+            return;
+        }
+        if (chunkStart < 0 || position != analysedEnd) {
+            // First audio, or a gap after dropped silence - start a fresh chunk here
+            reset();
+            chunkStart = position;
+            analysedEnd = position;
+        }
+        lastWriteHasSpeech = hasSpeech;
+        chunkHasSpeech |= hasSpeech;
+
+        int samplesPerFrame = frameBytes / 2;
+        int end = offset + length;
+        for (int i = offset; i < end; i += 2) {
+            int sample = (short) ((pcm[i] & 0xff) | (pcm[i + 1] << 8));
+            frameEnergy += (long) sample * sample;
+            analysedEnd += 2;
+            if (++frameSamples == samplesPerFrame) {
+                endAnalysisFrame();
+            }
+        }
+    }
+
+    /**
+     * Speech ended - a natural boundary. Emits everything pending (no overlap is carried across
+     * the silence) if at least minFlushBytes of new audio is pending; shorter remainders are
+     * mostly hangover silence and are dropped.
+     */
+    void endOfSpeech(int minFlushBytes) {
+        if (chunkStart >= 0 && pendingBytes() >= Math.max(minFlushBytes, 2)) {
+            listener.onChunk(chunkStart, (int) (analysedEnd - chunkStart), carriedOverlap, chunkHasSpeech);
+        }
+        reset();
+    }
+
+    /** Oldest stream position still needed, or -1 if nothing is pending. */
+    long chunkStart() {
+        return chunkStart;
+    }
+
+    int pendingBytes() {
+        return chunkStart < 0 ? 0 : (int) (analysedEnd - chunkStart) - carriedOverlap;
+    }
+
+    void reset() {
+        chunkStart = -1;
+        carriedOverlap = 0;
+        chunkHasSpeech = false;
+        lastWriteHasSpeech = false;
+        frameEnergy = 0;
+        frameSamples = 0;
+        previousFrameQuiet = false;
+        quietestPos = -1;
+        quietestDb = Double.MAX_VALUE;
+    }
+
+    private void endAnalysisFrame() {
+        double meanSquare = (double) frameEnergy / frameSamples;
+        double frameDb = 10.0 * Math.log10(meanSquare / (32768.0 * 32768.0) + 1e-12);
+        frameEnergy = 0;
+        frameSamples = 0;
+
+        boolean quiet = frameDb < ABSOLUTE_QUIET_DB || frameDb < speechLevelDb - PAUSE_DROP_DB;
+        if (!quiet) {
+            speechLevelDb += LEVEL_SMOOTHING * (frameDb - speechLevelDb);
+        }
+
+        int newBytes = pendingBytes();
+        if (newBytes >= minChunkBytes) {
+            if (frameDb < quietestDb) {
+                quietestDb = frameDb;
+                quietestPos = analysedEnd - frameBytes / 2; // Middle of the quietest frame
+            }
+            if (quiet && previousFrameQuiet) {
+                // Two quiet frames in a row - cut between them, inside the pause
+                cut(analysedEnd - frameBytes);
+                return;
+            }
+            if (newBytes >= maxChunkBytes) {
+                // No clear pause - cut at the quietest point we saw
+                cut(quietestPos);
+                return;
+            }
+        }
+        previousFrameQuiet = quiet;
+    }
+
+    private void cut(long position) {
+        position &= ~1L;
+        listener.onChunk(chunkStart, (int) (position - chunkStart), carriedOverlap, chunkHasSpeech);
+
+        // Keep the tail of the emitted chunk as overlap for the next one
+        long keepFrom = Math.max(chunkStart, position - overlapBytes);
+        carriedOverlap = (int) (position - keepFrom);
+        chunkStart = keepFrom;
+        chunkHasSpeech = lastWriteHasSpeech;
+
+        previousFrameQuiet = false;
+        quietestPos = -1;
+        quietestDb = Double.MAX_VALUE;
+    }
+}
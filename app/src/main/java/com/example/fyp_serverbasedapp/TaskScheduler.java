@@ -0,0 +1,196 @@
+package com.example.fyp_serverbasedapp;
+
+import android.os.HandlerThread;
+import android.os.Process;
+import android.util.Log;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Every background thread in the app belongs to one of these lanes. Each lane fixes a Linux
+ * thread priority (so capture always wins the CPU over camera or TTS work), a pool size and a
+ * bounded queue, and keeps its own counters. Short tasks go through execute(); long-running
+ * loops (capture, playback, socket I/O) get a dedicated thread from newThread() or
+ * threadFactory(), and framework callbacks (camera) a looper from newHandlerThread(), so
+ * they never occupy a pool slot.
+ */
+final class TaskScheduler {
+
+    private static final String TAG = "TaskScheduler";
+
+    enum Lane {
+        // Microphone capture and speaker playback - never waits for anything else
+        URGENT_AUDIO(Process.THREAD_PRIORITY_URGENT_AUDIO, 0, 0),
+        // VAD/chunking and chunk encoding (WAV/Opus, Base64, JSON) - the real-time uplink
+        ENCODE(Process.THREAD_PRIORITY_AUDIO, 2, 32),
+        // WebSocket send and receive threads
+        NETWORK(Process.THREAD_PRIORITY_DEFAULT + Process.THREAD_PRIORITY_MORE_FAVORABLE, 0, 0),
+        // Gesture frames - the camera callback keeps at most one in flight - and the camera handler thread
+        VISION(Process.THREAD_PRIORITY_DEFAULT, 1, 1),
+        // TTS synthesis results, compressed TTS playback setup, voice registration
+        BACKGROUND(Process.THREAD_PRIORITY_BACKGROUND, 1, 16);
+
+        final int priority;
+        final int threads; // 0 = dedicated threads only
+        final int queueCapacity; // Full queue: the new task is refused, never run on the caller
+
+        Lane(int priority, int threads, int queueCapacity) {
+            this.priority = priority;
+            this.threads = threads;
+            this.queueCapacity = queueCapacity;
+        }
+    }
+
+    private static final class LaneState {
+        final Lane lane;
+        final ThreadPoolExecutor pool; // null for dedicated-thread lanes
+        final AtomicLong submitted = new AtomicLong();
+        final AtomicLong completed = new AtomicLong();
+        final AtomicLong rejected = new AtomicLong();
+        final AtomicLong waitNanos = new AtomicLong();
+        final AtomicLong runNanos = new AtomicLong();
+        final AtomicInteger maxQueued = new AtomicInteger();
+        final AtomicInteger dedicatedThreads = new AtomicInteger();
+
+        LaneState(Lane lane, ThreadFactory factory) {
+            this.lane = lane;
+            if (lane.threads == 0) {
+                pool = null;
+                return;
+            }
+            pool = new ThreadPoolExecutor(lane.threads, lane.threads, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(lane.queueCapacity), factory, (task, executor) -> {
+                throw new RejectedExecutionException(lane + (executor.isShutdown() ? " lane shut down" : " lane full"));
+            });
+        }
+    }
+
+    private final LaneState[] lanes = new LaneState[Lane.values().length];
+
+    TaskScheduler() {
+        for (Lane lane : Lane.values()) {
+            lanes[lane.ordinal()] = new LaneState(lane, threadFactory(lane, lane.name().toLowerCase(java.util.Locale.US)));
+        }
+    }
+
+    /** Runs a short task on the lane's pool. Returns false if the lane is full or shut down. */
+    boolean execute(Lane lane, Runnable task) {
+        LaneState state = lanes[lane.ordinal()];
+        if (state.pool == null) {
+            throw new IllegalArgumentException(lane + " has no pool - use newThread()");
+        }
+        long queuedAt = System.nanoTime();
+        try {
+            state.pool.execute(() -> {
+                long started = System.nanoTime();
+                state.waitNanos.addAndGet(started - queuedAt);
+                try {
+                    task.run();
+                } finally {
+                    state.runNanos.addAndGet(System.nanoTime() - started);
+                    state.completed.incrementAndGet();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            state.rejected.incrementAndGet();
+            if (!state.pool.isShutdown()) {
+                Log.w(TAG, e.getMessage() + " - task refused");
+            }
+            return false;
+        }
+        state.submitted.incrementAndGet();
+        int queued = state.pool.getQueue().size();
+        int max;
+        while (queued > (max = state.maxQueued.get()) && !state.maxQueued.compareAndSet(max, queued)) {
+            // Retry until the high-water mark is at least this depth
+        }
+        return true;
+    }
+
+    /** An unstarted daemon thread at the lane's priority, for a long-running loop. */
+    Thread newThread(Lane lane, String name, Runnable loop) {
+        lanes[lane.ordinal()].dedicatedThreads.incrementAndGet();
+        Thread thread = new Thread(() -> {
+            Process.setThreadPriority(lane.priority);
+            loop.run();
+        }, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    /** An unstarted HandlerThread at the lane's priority, for framework callbacks that need a Looper. */
+    HandlerThread newHandlerThread(Lane lane, String name) {
+        lanes[lane.ordinal()].dedicatedThreads.incrementAndGet();
+        return new HandlerThread(name, lane.priority);
+    }
+
+    /** For executors owned by other classes (e.g. a single-threaded dispatcher) that belong to a lane. */
+    ThreadFactory threadFactory(Lane lane, String name) {
+        AtomicInteger threadNumber = new AtomicInteger(1);
+        return r -> {
+            LaneState state = lanes[lane.ordinal()];
+            if (state != null && state.pool == null) {
+                state.dedicatedThreads.incrementAndGet();
+            }
+            Thread thread = new Thread(() -> {
+                Process.setThreadPriority(lane.priority);
+                r.run();
+            }, name + "-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /** Stops accepting work and waits up to timeoutMs for running tasks. Dedicated threads stop on their own. */
+    void shutdown(long timeoutMs) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        for (LaneState state : lanes) {
+            if (state.pool != null) {
+                state.pool.shutdown();
+            }
+        }
+        for (LaneState state : lanes) {
+            if (state.pool == null) {
+                continue;
+            }
+            try {
+                if (!state.pool.awaitTermination(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                    state.pool.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                state.pool.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    String metricsSummary() {
+        StringBuilder sb = new StringBuilder();
+        for (LaneState state : lanes) {
+            if (sb.length() > 0) {
+                sb.append(" | ");
+            }
+            sb.append(state.lane);
+            if (state.pool == null) {
+                sb.append(" threads=").append(state.dedicatedThreads.get());
+                continue;
+            }
+            long done = state.completed.get();
+            sb.append(" submitted=").append(state.submitted.get())
+                    .append(" done=").append(done)
+                    .append(" rejected=").append(state.rejected.get())
+                    .append(" maxQueued=").append(state.maxQueued.get());
+            if (done > 0) {
+                sb.append(" avgWait=").append(state.waitNanos.get() / done / 1000).append("us")
+                        .append(" avgRun=").append(state.runNanos.get() / done / 1000).append("us");
+            }
+        }
+        return sb.toString();
+    }
+}
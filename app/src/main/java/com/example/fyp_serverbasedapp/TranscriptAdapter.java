@@ -0,0 +1,345 @@
+package com.example.fyp_serverbasedapp;
+
+import android.content.Context;
+import android.content.res.Resources;
+import android.graphics.drawable.Drawable;
+import android.graphics.drawable.GradientDrawable;
+import android.util.SparseArray;
+import android.view.Gravity;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.LinearLayout;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Live conversation transcript for a RecyclerView. Bubbles are recycled view holders and
+ * bubble backgrounds are built once per speaker colour, so appending a segment inflates
+ * nothing once the screen is full. Bubbles come from TranscriptModel and keep its ids, so a
+ * merged or refined segment rebinds its existing row instead of adding one. Each change is
+ * notified for its own row - no list copy or diff. The newest rows are live objects found by
+ * id; older rows, which the model can no longer change, are packed into a TranscriptArchive
+ * so the whole conversation stays scrollable.
+ */
+final class TranscriptAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
+
+    private static final int LIVE_ITEMS = 128; // Rows kept as objects - older ones are packed in batches
+    private static final int VIEW_TYPE_MESSAGE = 0;
+    private static final int VIEW_TYPE_NOTICE = 1;
+    private static final int WEARER_TEXT_BG = 0xFF2D5016; // Dark green background for the wearer
+    private static final float PARTIAL_TEXT_ALPHA = 0.6f; // Dimmed until the final text arrives
+
+    static final class Item {
+        final long id;
+        final boolean notice;
+        final String speakerName; // As displayed: "YOU", "Speaker 01", ...
+        final String text;
+        final boolean isWearer;
+        final int color; // Speaker colour, or the text colour of a notice
+        final boolean partial;
+
+        Item(long id, boolean notice, String speakerName, String text, boolean isWearer, int color, boolean partial) {
+            this.id = id;
+            this.notice = notice;
+            this.speakerName = speakerName;
+            this.text = text;
+            this.isWearer = isWearer;
+            this.color = color;
+            this.partial = partial;
+        }
+    }
+
+    private final Resources resources;
+    private final int[] speakerPalette;
+    private final int defaultSpeakerColor;
+    private final int wearerColor;
+    private final int nameBackgroundColor;
+    private final int maxBubbleWidth;
+    private final SparseArray<Drawable.ConstantState> nameBackgrounds = new SparseArray<>();
+    private final Drawable.ConstantState wearerTextBackground;
+    private final Drawable.ConstantState otherTextBackground;
+
+    private final TranscriptArchive archive = new TranscriptArchive(); // Rows [0, archive.size())
+    private final ArrayList<Item> live = new ArrayList<>(); // The rows after the archive
+    private final HashMap<Long, Integer> liveIndex = new HashMap<>(); // Id -> index in live
+    private int liveMessages = 0; // Non-notice rows in live
+    private long nextNoticeId = -1; // Negative - message ids are the model's, counting up from 1
+    private Runnable commitCallback;
+
+    TranscriptAdapter(Context context) {
+        resources = context.getResources();
+        // Distinct colours for Speaker 00, 01, 02, ...
+        speakerPalette = new int[]{
+                resources.getColor(android.R.color.holo_blue_light),
+                resources.getColor(android.R.color.holo_orange_light),
+                resources.getColor(android.R.color.holo_purple),
+                resources.getColor(android.R.color.holo_red_light),
+                resources.getColor(android.R.color.holo_blue_dark),
+                resources.getColor(android.R.color.holo_orange_dark),
+                resources.getColor(android.R.color.darker_gray),
+                0xFF9C27B0, // Deep Purple
+                0xFF00BCD4, // Cyan
+                0xFFFF9800, // Deep Orange
+                0xFF4CAF50, // Green
+                0xFFE91E63, // Pink
+                0xFF3F51B5, // Indigo
+                0xFFFF5722, // Deep Orange
+                0xFF009688, // Teal
+                0xFF795548  // Brown
+        };
+        defaultSpeakerColor = resources.getColor(android.R.color.holo_blue_light);
+        wearerColor = resources.getColor(android.R.color.holo_green_light);
+        nameBackgroundColor = resources.getColor(R.color.speaker_name_bg);
+        // 85% of the screen width, measured once instead of per message
+        maxBubbleWidth = (int) (resources.getDisplayMetrics().widthPixels * 0.85f);
+        wearerTextBackground = roundedBackground(WEARER_TEXT_BG, 0, 0).getConstantState();
+        otherTextBackground = roundedBackground(resources.getColor(R.color.speaker_text_bg), 0, 0).getConstantState();
+        setHasStableIds(true);
+    }
+
+    /** Shows the given model bubbles, replacing rows that are already on screen. UI thread only. */
+    void upsertMessages(List<TranscriptModel.Bubble> bubbles) {
+        if (bubbles.isEmpty()) {
+            return;
+        }
+        for (TranscriptModel.Bubble bubble : bubbles) {
+            Item item = newMessage(bubble.id, bubble.speakerName, bubble.text(), bubble.isPartial());
+            Integer index = liveIndex.get(bubble.id);
+            if (index != null) {
+                live.set(index, item);
+                notifyItemChanged(archive.size() + index);
+            } else {
+                add(item);
+            }
+        }
+        compact();
+        committed();
+    }
+
+    /** Appends a status line. UI thread only. */
+    void addNotice(String text, int color) {
+        add(new Item(nextNoticeId--, true, "", text, false, color, false));
+        compact();
+        committed();
+    }
+
+    /** Drops the whole transcript and shows a single status line instead. UI thread only. */
+    void reset(String notice, int color) {
+        archive.clear();
+        live.clear();
+        liveIndex.clear();
+        liveMessages = 0;
+        Item item = new Item(nextNoticeId--, true, "", notice, false, color, false);
+        liveIndex.put(item.id, 0);
+        live.add(item);
+        notifyDataSetChanged();
+        committed();
+    }
+
+    /** Runs on the UI thread each time a change has been applied (e.g. to scroll to the end). */
+    void setCommitCallback(Runnable commitCallback) {
+        this.commitCallback = commitCallback;
+    }
+
+    @Override
+    public int getItemCount() {
+        return archive.size() + live.size();
+    }
+
+    @Override
+    public long getItemId(int position) {
+        int archived = archive.size();
+        return position < archived ? archive.id(position) : live.get(position - archived).id;
+    }
+
+    @Override
+    public int getItemViewType(int position) {
+        int archived = archive.size();
+        boolean notice = position < archived ? archive.isNotice(position) : live.get(position - archived).notice;
+        return notice ? VIEW_TYPE_NOTICE : VIEW_TYPE_MESSAGE;
+    }
+
+    @NonNull
+    @Override
+    public RecyclerView.ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        LayoutInflater inflater = LayoutInflater.from(parent.getContext());
+        if (viewType == VIEW_TYPE_NOTICE) {
+            return new NoticeHolder(inflater.inflate(R.layout.item_transcript_notice, parent, false));
+        }
+        MessageHolder holder = new MessageHolder(inflater.inflate(R.layout.item_transcript_message, parent, false));
+        holder.speechText.setMaxWidth(maxBubbleWidth);
+        return holder;
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull RecyclerView.ViewHolder holder, int position) {
+        Item item = getItem(position);
+        if (holder instanceof NoticeHolder) {
+            NoticeHolder notice = (NoticeHolder) holder;
+            notice.text.setText(item.text);
+            notice.text.setTextColor(item.color);
+            return;
+        }
+        MessageHolder message = (MessageHolder) holder;
+        // Right-aligned for the wearer, left for everyone else
+        message.row.setGravity(item.isWearer ? Gravity.END : Gravity.START);
+        message.speakerName.setText(item.speakerName);
+        message.speakerName.setTextColor(item.color);
+        message.speechText.setText(item.text);
+        message.speechText.setAlpha(item.partial ? PARTIAL_TEXT_ALPHA : 1f);
+
+        // Backgrounds only change when a recycled holder moves to a different speaker
+        if (message.boundColor == null || message.boundColor != item.color) {
+            message.speakerName.setBackground(nameBackground(item.color));
+            message.boundColor = item.color;
+        }
+        if (message.boundWearer == null || message.boundWearer != item.isWearer) {
+            message.speechText.setBackground((item.isWearer ? wearerTextBackground : otherTextBackground).newDrawable(resources));
+            message.boundWearer = item.isWearer;
+        }
+    }
+
+    private Item getItem(int position) {
+        int archived = archive.size();
+        if (position >= archived) {
+            return live.get(position - archived);
+        }
+        // Scrolled back into the history - decode the packed row
+        return new Item(archive.id(position), archive.isNotice(position), archive.speakerName(position),
+                archive.text(position), archive.isWearer(position), archive.color(position), false);
+    }
+
+    private void add(Item item) {
+        // The "Conversation started" line goes once real speech arrives
+        if (!item.notice && archive.size() == 0 && live.size() == 1 && live.get(0).notice) {
+            live.clear();
+            liveIndex.clear();
+            liveMessages = 0;
+            notifyItemRemoved(0);
+        }
+        liveIndex.put(item.id, live.size());
+        live.add(item);
+        if (!item.notice) {
+            liveMessages++;
+        }
+        notifyItemInserted(archive.size() + live.size() - 1);
+    }
+
+    private void compact() {
+        if (live.size() <= LIVE_ITEMS) {
+            return;
+        }
+        // Pack the oldest rows, keeping every bubble the model may still update live.
+        // Row positions do not change, so nothing needs to be notified.
+        int packed = 0;
+        while (live.size() - packed > LIVE_ITEMS / 2) {
+            Item item = live.get(packed);
+            if (!item.notice) {
+                if (item.partial || liveMessages <= TranscriptModel.RECENT_BUBBLES) {
+                    break;
+                }
+                liveMessages--;
+            }
+            archive.add(item.id, item.notice, item.speakerName, item.text, item.isWearer, item.color);
+            packed++;
+        }
+        if (packed == 0) {
+            return;
+        }
+        live.subList(0, packed).clear();
+        liveIndex.clear();
+        for (int i = 0; i < live.size(); i++) {
+            liveIndex.put(live.get(i).id, i);
+        }
+    }
+
+    private void committed() {
+        if (commitCallback != null) {
+            commitCallback.run();
+        }
+    }
+
+    private Item newMessage(long id, String speakerId, String text, boolean partial) {
+        if (text == null || text.trim().isEmpty()) {
+            text = "[No speech detected]";
+        }
+        if (speakerId.equals("YOU") || speakerId.equals("USER")) {
+            // USER is the legacy name for the wearer
+            return new Item(id, false, "YOU", text, true, wearerColor, partial);
+        }
+        String speakerNumber = null;
+        String displayName = speakerId;
+        if (speakerId.startsWith("SPEAKER_")) {
+            speakerNumber = speakerId.substring(8);
+            displayName = "Speaker " + speakerNumber;
+        } else if (speakerId.startsWith("Speaker ")) {
+            speakerNumber = speakerId.substring(8);
+        }
+        return new Item(id, false, displayName, text, false, speakerColor(speakerNumber), partial);
+    }
+
+    private int speakerColor(String speakerNumber) {
+        if (speakerNumber != null && !speakerNumber.isEmpty()) {
+            try {
+                // Handles "00", "01", "0", "1", ...
+                int index = Integer.parseInt(speakerNumber.trim());
+                if (index >= 0 && index < speakerPalette.length) {
+                    return speakerPalette[index];
+                }
+            } catch (NumberFormatException e) {
+                // Not a number - default colour
+            }
+        }
+        return defaultSpeakerColor;
+    }
+
+    private Drawable nameBackground(int color) {
+        Drawable.ConstantState state = nameBackgrounds.get(color);
+        if (state == null) {
+            state = roundedBackground(nameBackgroundColor, 2, color).getConstantState();
+            nameBackgrounds.put(color, state);
+        }
+        return state.newDrawable(resources);
+    }
+
+    private static GradientDrawable roundedBackground(int fill, int strokeWidth, int strokeColor) {
+        GradientDrawable drawable = new GradientDrawable();
+        drawable.setColor(fill);
+        if (strokeWidth > 0) {
+            drawable.setStroke(strokeWidth, strokeColor);
+        }
+        drawable.setCornerRadius(8f);
+        return drawable;
+    }
+
+    static final class MessageHolder extends RecyclerView.ViewHolder {
+        final LinearLayout row;
+        final TextView speakerName;
+        final TextView speechText;
+        Integer boundColor;
+        Boolean boundWearer;
+
+        MessageHolder(View itemView) {
+            super(itemView);
+            row = (LinearLayout) itemView;
+            speakerName = itemView.findViewById(R.id.speakerName);
+            speechText = itemView.findViewById(R.id.speechText);
+        }
+    }
+
+    static final class NoticeHolder extends RecyclerView.ViewHolder {
+        final TextView text;
+
+        NoticeHolder(View itemView) {
+            super(itemView);
+            text = (TextView) itemView;
+        }
+    }
+}
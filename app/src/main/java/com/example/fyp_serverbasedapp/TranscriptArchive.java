@@ -0,0 +1,113 @@
+package com.example.fyp_serverbasedapp;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Older transcript rows that can no longer change, packed into flat arrays instead of one
+ * object and two strings per row. Text is kept as UTF-8 in a single growing buffer and
+ * speaker names are stored once, so the whole history stays scrollable at roughly the size
+ * of its text. Rows are decoded on demand when they are bound. UI thread only.
+ */
+final class TranscriptArchive {
+
+    private static final int FLAG_NOTICE = 0x01;
+    private static final int FLAG_WEARER = 0x02;
+
+    private long[] ids = new long[64];
+    private int[] textEnds = new int[64]; // Row i's text is [textEnds[i - 1], textEnds[i]) of text
+    private int[] colors = new int[64];
+    private short[] speakers = new short[64]; // Index into speakerNames
+    private byte[] flags = new byte[64];
+    private byte[] text = new byte[4096];
+    private int textLength = 0;
+    private int size = 0;
+
+    private final ArrayList<String> speakerNames = new ArrayList<>();
+    private final HashMap<String, Integer> speakerIndex = new HashMap<>();
+
+    void add(long id, boolean notice, String speakerName, String rowText, boolean isWearer, int color) {
+        if (size == ids.length) {
+            int capacity = size * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            textEnds = Arrays.copyOf(textEnds, capacity);
+            colors = Arrays.copyOf(colors, capacity);
+            speakers = Arrays.copyOf(speakers, capacity);
+            flags = Arrays.copyOf(flags, capacity);
+        }
+        byte[] utf8 = rowText.getBytes(StandardCharsets.UTF_8);
+        if (textLength + utf8.length > text.length) {
+            text = Arrays.copyOf(text, Math.max(text.length * 2, textLength + utf8.length));
+        }
+        System.arraycopy(utf8, 0, text, textLength, utf8.length);
+        textLength += utf8.length;
+
+        ids[size] = id;
+        textEnds[size] = textLength;
+        colors[size] = color;
+        speakers[size] = (short) speakerOf(speakerName);
+        flags[size] = (byte) ((notice ? FLAG_NOTICE : 0) | (isWearer ? FLAG_WEARER : 0));
+        size++;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long id(int row) {
+        return ids[check(row)];
+    }
+
+    boolean isNotice(int row) {
+        return (flags[check(row)] & FLAG_NOTICE) != 0;
+    }
+
+    boolean isWearer(int row) {
+        return (flags[check(row)] & FLAG_WEARER) != 0;
+    }
+
+    int color(int row) {
+        return colors[check(row)];
+    }
+
+    String speakerName(int row) {
+        return speakerNames.get(speakers[check(row)]);
+    }
+
+    String text(int row) {
+        int start = check(row) == 0 ? 0 : textEnds[row - 1];
+        return new String(text, start, textEnds[row] - start, StandardCharsets.UTF_8);
+    }
+
+    /** Bytes of text held - the archive's memory is about this plus 19 bytes per row. */
+    int textBytes() {
+        return textLength;
+    }
+
+    void clear() {
+        size = 0;
+        textLength = 0;
+        speakerNames.clear();
+        speakerIndex.clear();
+    }
+
+    private int speakerOf(String speakerName) {
+        Integer index = speakerIndex.get(speakerName);
+        if (index == null) {
+            // Speaker names come from a short list ("YOU", "Speaker 00", ...) - never near the short range
+            index = speakerNames.size();
+            speakerNames.add(speakerName);
+            speakerIndex.put(speakerName, index);
+        }
+        return index;
+    }
+
+    private int check(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("row " + row + " of " + size);
+        }
+        return row;
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.fyp_serverbasedapp;
+
+import android.view.Choreographer;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+/**
+ * Keeps the transcript pinned to its newest line. Scroll requests are coalesced into at most
+ * one scrollToPosition per display frame, so a burst of segments costs one layout pass.
+ * Following stops while the user has scrolled up to read, and resumes once they scroll
+ * back to the bottom. UI thread only.
+ */
+final class TranscriptAutoScroller extends RecyclerView.OnScrollListener implements Choreographer.FrameCallback {
+
+    private final RecyclerView list;
+    private boolean sticky = true; // Follow new lines - false while the user reads older ones
+    private boolean framePending = false;
+    private long coalescedRequests = 0;
+    private long scrolls = 0;
+    private long skippedRequests = 0;
+
+    TranscriptAutoScroller(RecyclerView list) {
+        this.list = list;
+        list.addOnScrollListener(this);
+    }
+
+    /** Asks for a scroll to the newest line on the next frame - a no-op while the user has scrolled away. */
+    void requestScroll() {
+        if (!sticky) {
+            skippedRequests++;
+            return;
+        }
+        coalescedRequests++;
+        if (!framePending) {
+            framePending = true;
+            Choreographer.getInstance().postFrameCallback(this);
+        }
+    }
+
+    /** Follows new lines again (e.g. when a new conversation starts) and scrolls now. */
+    void stick() {
+        sticky = true;
+        requestScroll();
+    }
+
+    void release() {
+        list.removeOnScrollListener(this);
+        if (framePending) {
+            Choreographer.getInstance().removeFrameCallback(this);
+            framePending = false;
+        }
+    }
+
+    String metricsSummary() {
+        return "requests=" + coalescedRequests + " scrolls=" + scrolls
+                + " skipped(user scrolled)=" + skippedRequests + (sticky ? "" : " (following paused)");
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        framePending = false;
+        if (!sticky) {
+            return;
+        }
+        RecyclerView.Adapter<?> adapter = list.getAdapter();
+        int count = adapter == null ? 0 : adapter.getItemCount();
+        if (count > 0) {
+            // The layout manager already knows every row's size - no measure pass of its own
+            list.scrollToPosition(count - 1);
+            scrolls++;
+        }
+    }
+
+    @Override
+    public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+        // Only user drags and flings change the mode - our own scrollToPosition arrives while idle
+        if (recyclerView.getScrollState() != RecyclerView.SCROLL_STATE_IDLE) {
+            sticky = !recyclerView.canScrollVertically(1);
+        }
+    }
+
+    @Override
+    public void onScrollStateChanged(@NonNull RecyclerView recyclerView, int newState) {
+        if (newState == RecyclerView.SCROLL_STATE_IDLE && !sticky && !recyclerView.canScrollVertically(1)) {
+            sticky = true; // Fling ended at the bottom
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.fyp_serverbasedapp;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Turns the stream of segment results into transcript bubbles. Segments are keyed by chunk id,
+ * start time and speaker: a partial hypothesis is replaced in place by later partials and by
+ * its final text, a re-sent segment is dropped, and consecutive segments from one speaker are
+ * merged into one bubble. Only the last few bubbles can still change, so only those are kept.
+ */
+final class TranscriptModel {
+
+    static final int RECENT_BUBBLES = 32; // Older bubbles are final - the adapter packs their text away
+    private static final int MAX_MERGED_CHARS = 600; // Start a new bubble for very long monologues
+    private static final int DUPLICATE_WINDOW = 6; // Recent segments checked for repeated text
+    private static final double START_TOLERANCE_S = 0.05; // Re-sent segments repeat their start up to rounding
+
+    static final class Bubble {
+        final long id;
+        final String speakerName;
+        final boolean isWearer;
+        private final List<Part> parts = new ArrayList<>();
+
+        Bubble(long id, String speakerName, boolean isWearer) {
+            this.id = id;
+            this.speakerName = speakerName;
+            this.isWearer = isWearer;
+        }
+
+        String text() {
+            StringBuilder sb = new StringBuilder();
+            for (Part part : parts) {
+                if (sb.length() > 0) {
+                    sb.append(' ');
+                }
+                sb.append(part.text);
+            }
+            return sb.toString();
+        }
+
+        /** True while the last segment is still a partial hypothesis. */
+        boolean isPartial() {
+            return !parts.isEmpty() && parts.get(parts.size() - 1).partial;
+        }
+    }
+
+    private static final class Part {
+        final String chunkId;
+        final double start; // Seconds, -1 if the server did not say
+        String text;
+        boolean partial;
+
+        Part(String chunkId, double start, String text, boolean partial) {
+            this.chunkId = chunkId;
+            this.start = start;
+            this.text = text;
+            this.partial = partial;
+        }
+    }
+
+    private final ArrayDeque<Bubble> recent = new ArrayDeque<>();
+    private long nextId = 1; // Positive ids - the adapter uses negative ones for notices
+
+    /**
+     * Applies one segment. Returns the bubble that changed (new, merged into, or updated in
+     * place), or null if the segment added nothing new.
+     */
+    Bubble apply(String speakerName, boolean isWearer, String text, String chunkId, double start, boolean partial) {
+        text = text.trim();
+        if (text.isEmpty()) {
+            return null;
+        }
+        if (chunkId == null) {
+            chunkId = "";
+        }
+
+        // 1. Same segment again: a newer hypothesis, its final text, or a re-processed chunk
+        for (Iterator<Bubble> it = recent.descendingIterator(); it.hasNext(); ) {
+            Bubble bubble = it.next();
+            for (int i = bubble.parts.size() - 1; i >= 0; i--) {
+                Part part = bubble.parts.get(i);
+                if (isSameSegment(bubble, part, speakerName, chunkId, start)) {
+                    if (part.text.equals(text) && part.partial == partial) {
+                        return null;
+                    }
+                    if (!part.partial && partial) {
+                        return null; // A late partial never replaces final text
+                    }
+                    part.text = text;
+                    part.partial = partial;
+                    return bubble;
+                }
+            }
+        }
+
+        // 2. Identical text from the same speaker moments ago - overlapping audio sent twice
+        if (!partial && isRecentDuplicate(speakerName, text)) {
+            return null;
+        }
+
+        // 3. Same speaker keeps talking - extend the last bubble
+        Bubble last = recent.peekLast();
+        Part part = new Part(chunkId, start, text, partial);
+        if (last != null && last.speakerName.equals(speakerName) && last.isWearer == isWearer
+                && !last.isPartial() && last.text().length() + text.length() < MAX_MERGED_CHARS) {
+            last.parts.add(part);
+            return last;
+        }
+
+        // 4. New speaker turn
+        Bubble bubble = new Bubble(nextId++, speakerName, isWearer);
+        bubble.parts.add(part);
+        recent.addLast(bubble);
+        if (recent.size() > RECENT_BUBBLES) {
+            recent.removeFirst();
+        }
+        return bubble;
+    }
+
+    void clear() {
+        recent.clear();
+    }
+
+    private static boolean isSameSegment(Bubble bubble, Part part, String speakerName, String chunkId, double start) {
+        if (chunkId.isEmpty() || !part.chunkId.equals(chunkId)) {
+            return false;
+        }
+        if (start < 0 || part.start < 0) {
+            // No start time to tell segments apart - only the chunk's open partial can be refined
+            return part.partial;
+        }
+        // Stream frames share one chunk id, so speaker and start separate its segments
+        return bubble.speakerName.equals(speakerName) && Math.abs(part.start - start) < START_TOLERANCE_S;
+    }
+
+    private boolean isRecentDuplicate(String speakerName, String text) {
+        int checked = 0;
+        for (Iterator<Bubble> it = recent.descendingIterator(); it.hasNext() && checked < DUPLICATE_WINDOW; ) {
+            Bubble bubble = it.next();
+            for (int i = bubble.parts.size() - 1; i >= 0 && checked < DUPLICATE_WINDOW; i--, checked++) {
+                Part part = bubble.parts.get(i);
+                if (!part.partial && bubble.speakerName.equals(speakerName) && part.text.equalsIgnoreCase(text)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
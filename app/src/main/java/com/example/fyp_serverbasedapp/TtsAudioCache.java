@@ -0,0 +1,85 @@
+package com.example.fyp_serverbasedapp;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * LRU cache of synthesized speech, keyed by text, voice and locale. The gesture vocabulary is
+ * a few dozen labels, so after warm-up a repeated announcement is served from memory: no
+ * synthesis, no temp file and no Base64 pass (the encoded form is cached alongside the WAV).
+ * Bounded by entry count and total bytes; the least recently spoken clip goes first.
+ */
+final class TtsAudioCache {
+
+    static final class Clip {
+        final byte[] wav;
+        final String base64; // wav, Base64 NO_WRAP - ready for audio_to_glasses
+
+        Clip(byte[] wav, String base64) {
+            this.wav = wav;
+            this.base64 = base64;
+        }
+
+        long sizeBytes() {
+            return wav.length + 2L * base64.length(); // Java strings are UTF-16
+        }
+    }
+
+    private final int maxEntries;
+    private final long maxBytes;
+    private final LinkedHashMap<String, Clip> clips = new LinkedHashMap<>(16, 0.75f, true); // Access order
+    private long bytes = 0;
+    private long hits = 0;
+    private long misses = 0;
+
+    TtsAudioCache(int maxEntries, long maxBytes) {
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+    }
+
+    static String key(String text, String voiceKey) {
+        return voiceKey + '\n' + text;
+    }
+
+    /** Returns the cached clip (and marks it recently used), or null. */
+    synchronized Clip get(String key) {
+        Clip clip = clips.get(key);
+        if (clip == null) {
+            misses++;
+        } else {
+            hits++;
+        }
+        return clip;
+    }
+
+    synchronized boolean contains(String key) {
+        return clips.containsKey(key);
+    }
+
+    synchronized void put(String key, Clip clip) {
+        if (clip.sizeBytes() > maxBytes) {
+            return; // Would evict everything else
+        }
+        Clip previous = clips.put(key, clip);
+        if (previous != null) {
+            bytes -= previous.sizeBytes();
+        }
+        bytes += clip.sizeBytes();
+        Iterator<Map.Entry<String, Clip>> eldest = clips.entrySet().iterator();
+        while ((clips.size() > maxEntries || bytes > maxBytes) && eldest.hasNext()) {
+            Map.Entry<String, Clip> entry = eldest.next();
+            bytes -= entry.getValue().sizeBytes();
+            eldest.remove();
+        }
+    }
+
+    synchronized void clear() {
+        clips.clear();
+        bytes = 0;
+    }
+
+    synchronized String metricsSummary() {
+        return "entries=" + clips.size() + " bytes=" + bytes + " hits=" + hits + " misses=" + misses;
+    }
+}
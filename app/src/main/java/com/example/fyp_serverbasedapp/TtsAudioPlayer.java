@@ -0,0 +1,178 @@
+package com.example.fyp_serverbasedapp;
+
+import android.media.AudioAttributes;
+import android.media.AudioFormat;
+import android.media.AudioTrack;
+import android.os.Build;
+import android.util.Log;
+
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Plays tts_audio PCM through one long-lived streaming AudioTrack on its own thread (the
+ * factory sets its priority). Utterances are queued and written back to back, so the second
+ * starts the moment the first ends; the track is only rebuilt when the sample format changes.
+ * No files, no MediaPlayer prepare. Each utterance's buffer is handed back through its
+ * release callback.
+ */
+final class TtsAudioPlayer {
+
+    private static final String TAG = "TtsAudioPlayer";
+    private static final int MAX_QUEUED = 8; // Older announcements are dropped beyond this
+    private static final long IDLE_STOP_MS = 250; // Stop the track after this long with nothing queued
+    private static final int WRITE_BLOCK_BYTES = 8 * 1024;
+
+    private static final class Utterance {
+        final byte[] data;
+        final WavPcm pcm;
+        final Runnable release;
+        final long queuedAt = System.nanoTime();
+
+        Utterance(byte[] data, WavPcm pcm, Runnable release) {
+            this.data = data;
+            this.pcm = pcm;
+            this.release = release;
+        }
+    }
+
+    private final LinkedBlockingDeque<Utterance> queue = new LinkedBlockingDeque<>();
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    // Playback thread only
+    private AudioTrack track;
+    private int trackSampleRate = -1;
+    private int trackChannels = -1;
+
+    private volatile long played = 0;
+    private volatile long dropped = 0;
+    private volatile long totalStartNanos = 0;
+
+    TtsAudioPlayer(ThreadFactory threadFactory) {
+        thread = threadFactory.newThread(this::run);
+        thread.start();
+    }
+
+    /** Queues PCM for playback. release runs once the samples are written (or dropped). Any thread. */
+    void enqueue(byte[] data, WavPcm pcm, Runnable release) {
+        if (!running) {
+            release.run();
+            return;
+        }
+        queue.offer(new Utterance(data, pcm, release));
+        Utterance oldest;
+        while (queue.size() > MAX_QUEUED && (oldest = queue.pollFirst()) != null) {
+            dropped++;
+            oldest.release.run();
+        }
+    }
+
+    void release() {
+        running = false;
+        thread.interrupt();
+        try {
+            thread.join(500);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        Utterance pending;
+        while ((pending = queue.poll()) != null) {
+            pending.release.run();
+        }
+    }
+
+    String metricsSummary() {
+        long count = played;
+        return "played=" + count + " dropped=" + dropped
+                + (count > 0 ? " avgTimeToFirstWrite=" + (totalStartNanos / count / 1_000_000) + "ms" : "");
+    }
+
+    private void run() {
+        try {
+            while (running) {
+                Utterance next = queue.poll(IDLE_STOP_MS, TimeUnit.MILLISECONDS);
+                if (next == null) {
+                    // Nothing queued - let the tail play out and stop until the next utterance
+                    if (track != null && track.getPlayState() == AudioTrack.PLAYSTATE_PLAYING) {
+                        track.stop();
+                    }
+                    continue;
+                }
+                try {
+                    play(next);
+                } catch (RuntimeException e) {
+                    Log.e(TAG, "Error playing TTS audio: " + e.getMessage(), e);
+                    releaseTrack();
+                } finally {
+                    next.release.run();
+                }
+            }
+        } catch (InterruptedException e) {
+            // Released
+        } finally {
+            releaseTrack();
+        }
+    }
+
+    private void play(Utterance utterance) {
+        WavPcm pcm = utterance.pcm;
+        if (track == null || trackSampleRate != pcm.sampleRate || trackChannels != pcm.channels) {
+            releaseTrack();
+            track = createTrack(pcm.sampleRate, pcm.channels);
+            trackSampleRate = pcm.sampleRate;
+            trackChannels = pcm.channels;
+        }
+        if (track.getPlayState() != AudioTrack.PLAYSTATE_PLAYING) {
+            track.play();
+        }
+        totalStartNanos += System.nanoTime() - utterance.queuedAt;
+        played++;
+
+        int pos = pcm.offset;
+        int end = pcm.offset + pcm.length;
+        while (pos < end && running) {
+            int written = track.write(utterance.data, pos, Math.min(WRITE_BLOCK_BYTES, end - pos));
+            if (written < 0) {
+                throw new IllegalStateException("AudioTrack.write returned " + written);
+            }
+            pos += written;
+        }
+    }
+
+    private static AudioTrack createTrack(int sampleRate, int channels) {
+        int channelMask = channels == 2 ? AudioFormat.CHANNEL_OUT_STEREO : AudioFormat.CHANNEL_OUT_MONO;
+        int minBuffer = AudioTrack.getMinBufferSize(sampleRate, channelMask, AudioFormat.ENCODING_PCM_16BIT);
+        AudioTrack.Builder builder = new AudioTrack.Builder()
+                .setAudioAttributes(new AudioAttributes.Builder()
+                        .setUsage(AudioAttributes.USAGE_MEDIA) // Same output as the old STREAM_MUSIC MediaPlayer
+                        .setContentType(AudioAttributes.CONTENT_TYPE_SPEECH)
+                        .build())
+                .setAudioFormat(new AudioFormat.Builder()
+                        .setSampleRate(sampleRate)
+                        .setChannelMask(channelMask)
+                        .setEncoding(AudioFormat.ENCODING_PCM_16BIT)
+                        .build())
+                .setTransferMode(AudioTrack.MODE_STREAM)
+                .setBufferSizeInBytes(Math.max(minBuffer * 2, WRITE_BLOCK_BYTES));
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+            builder.setPerformanceMode(AudioTrack.PERFORMANCE_MODE_LOW_LATENCY);
+        }
+        Log.i(TAG, "Created AudioTrack: " + sampleRate + "Hz, " + channels + " channel(s)");
+        return builder.build();
+    }
+
+    private void releaseTrack() {
+        if (track != null) {
+            try {
+                track.release();
+            } catch (RuntimeException e) {
+                // Already released
+            }
+            track = null;
+            trackSampleRate = -1;
+            trackChannels = -1;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.fyp_serverbasedapp;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Audio messages that were sent but not yet confirmed by audio_received, kept in send order
+ * so they can be replayed into a resumed session after a reconnect. Payloads are the exact
+ * frames that went out (JSON String or binary byte[]), so replays carry the original ids.
+ */
+final class UnackedAudioBuffer {
+
+    private static final class Entry {
+        final String chunkId;
+        final Object payload;
+        final int size;
+
+        Entry(String chunkId, Object payload, int size) {
+            this.chunkId = chunkId;
+            this.payload = payload;
+            this.size = size;
+        }
+    }
+
+    private final LinkedHashMap<Integer, Entry> entries = new LinkedHashMap<>();
+    private final long maxBytes;
+    private long bytes = 0;
+    private long evicted = 0;
+
+    UnackedAudioBuffer(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    synchronized void retain(int sequence, String chunkId, Object payload) {
+        int size = payload instanceof byte[] ? ((byte[]) payload).length : ((String) payload).length();
+        Entry previous = entries.put(sequence, new Entry(chunkId, payload, size));
+        if (previous != null) {
+            bytes -= previous.size; // A replay of the same message
+        }
+        bytes += size;
+
+        // Oldest audio goes first - a very long outage only loses its beginning
+        Iterator<Entry> it = entries.values().iterator();
+        while (bytes > maxBytes && it.hasNext()) {
+            bytes -= it.next().size;
+            it.remove();
+            evicted++;
+        }
+    }
+
+    /** Confirms one message by its sequence number. */
+    synchronized void ack(int sequence) {
+        Entry entry = entries.remove(sequence);
+        if (entry != null) {
+            bytes -= entry.size;
+        }
+    }
+
+    /** Confirms every message with this chunk id (all frames of a stream share one). */
+    synchronized void ackChunk(String chunkId) {
+        Iterator<Entry> it = entries.values().iterator();
+        while (it.hasNext()) {
+            Entry entry = it.next();
+            if (entry.chunkId.equals(chunkId)) {
+                bytes -= entry.size;
+                it.remove();
+            }
+        }
+    }
+
+    /** Payloads still unconfirmed, oldest first. They stay retained until acked. */
+    synchronized List<Object> snapshot() {
+        List<Object> payloads = new ArrayList<>(entries.size());
+        for (Map.Entry<Integer, Entry> e : entries.entrySet()) {
+            payloads.add(e.getValue().payload);
+        }
+        return payloads;
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    synchronized long bytes() {
+        return bytes;
+    }
+
+    synchronized long evictedCount() {
+        return evicted;
+    }
+
+    synchronized void clear() {
+        entries.clear();
+        bytes = 0;
+    }
+}
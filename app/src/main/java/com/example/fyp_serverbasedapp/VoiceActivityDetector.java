@@ -0,0 +1,145 @@
+package com.example.fyp_serverbasedapp;
+
+/**
+ * Energy + zero-crossing voice activity detector for 16-bit little-endian mono PCM.
+ * Allocation-free: works directly on views of the capture ring. Pre-roll before an onset is
+ * kept by the caller, which simply holds the audio in the ring a little longer.
+ * The noise floor also tracks the quietest frame of the last one to two seconds, speech or
+ * not, so steady background noise (a fan, traffic) stops counting as speech within that time.
+ */
+final class VoiceActivityDetector {
+
+    private static final int ANALYSIS_FRAME_MS = 20; // Decision granularity
+    private static final double ABSOLUTE_MIN_DB = -55.0; // Anything quieter is never speech
+    private static final double SPEECH_SNR_DB = 9.0; // Voiced speech: this far above the noise floor...
+    private static final double MAX_VOICED_ZCR = 0.35; // ...with a low zero-crossing rate
+    private static final double LOUD_SNR_DB = 15.0; // Loud enough to count regardless of ZCR (fricatives)
+    private static final int ONSET_FRAMES = 2; // Consecutive speech frames before speech starts (40ms)
+    private static final double INITIAL_NOISE_DB = -60.0;
+    private static final int MIN_WINDOW_FRAMES = 50; // Minimum-statistics block (1s) - the floor uses the last two
+
+    private final int samplesPerFrame;
+    private final int hangoverFrames;
+
+    // Partial analysis frame carried across reads
+    private long frameEnergy = 0;
+    private int frameZeroCrossings = 0;
+    private int frameSamples = 0;
+    private int lastSample = 0;
+
+    // Decision state
+    private double noiseFloorDb = INITIAL_NOISE_DB;
+    private double windowMinDb = Double.MAX_VALUE; // Quietest frame of the current block
+    private double previousWindowMinDb = Double.MAX_VALUE; // ...and of the block before it
+    private int windowFrames = 0;
+    private int consecutiveSpeechFrames = 0;
+    private int hangoverRemaining = 0;
+    private boolean inSpeech = false;
+    private boolean speechStarted = false;
+
+    VoiceActivityDetector(int sampleRate, int hangoverMs) {
+        this.samplesPerFrame = sampleRate * ANALYSIS_FRAME_MS / 1000;
+        this.hangoverFrames = Math.max(1, hangoverMs / ANALYSIS_FRAME_MS);
+    }
+
+    /**
+     * Feeds one read buffer. Returns true if the buffer should be treated as speech (including
+     * hangover).
+     */
+    boolean process(byte[] pcm, int offset, int length) {
+        boolean wasInSpeech = inSpeech;
+        boolean bufferHasSpeech = inSpeech;
+        int end = offset + (length & ~1);
+
+        for (int i = offset; i < end; i += 2) {
+            int sample = (short) ((pcm[i] & 0xff) | (pcm[i + 1] << 8));
+            frameEnergy += (long) sample * sample;
+            if ((sample >= 0) != (lastSample >= 0)) {
+                frameZeroCrossings++;
+            }
+            lastSample = sample;
+
+            if (++frameSamples == samplesPerFrame) {
+                endAnalysisFrame();
+                bufferHasSpeech |= inSpeech;
+            }
+        }
+
+        speechStarted = !wasInSpeech && bufferHasSpeech;
+        return bufferHasSpeech;
+    }
+
+    /** True if the last processed buffer was the first one of a speech segment. */
+    boolean speechStarted() {
+        return speechStarted;
+    }
+
+    boolean isInSpeech() {
+        return inSpeech;
+    }
+
+    void reset() {
+        frameEnergy = 0;
+        frameZeroCrossings = 0;
+        frameSamples = 0;
+        lastSample = 0;
+        noiseFloorDb = INITIAL_NOISE_DB;
+        windowMinDb = Double.MAX_VALUE;
+        previousWindowMinDb = Double.MAX_VALUE;
+        windowFrames = 0;
+        consecutiveSpeechFrames = 0;
+        hangoverRemaining = 0;
+        inSpeech = false;
+        speechStarted = false;
+    }
+
+    private void endAnalysisFrame() {
+        double meanSquare = (double) frameEnergy / frameSamples;
+        // dBFS relative to a full-scale 16-bit sample
+        double energyDb = 10.0 * Math.log10(meanSquare / (32768.0 * 32768.0) + 1e-12);
+        double zcr = (double) frameZeroCrossings / frameSamples;
+        trackMinimum(energyDb);
+        double snrDb = energyDb - noiseFloorDb;
+
+        boolean speechFrame = energyDb > ABSOLUTE_MIN_DB
+                && ((snrDb > SPEECH_SNR_DB && zcr < MAX_VOICED_ZCR) || snrDb > LOUD_SNR_DB);
+
+        if (speechFrame) {
+            consecutiveSpeechFrames++;
+            if (consecutiveSpeechFrames >= ONSET_FRAMES) {
+                inSpeech = true;
+                hangoverRemaining = hangoverFrames;
+            }
+        } else {
+            consecutiveSpeechFrames = 0;
+            // Noise floor follows quiet frames quickly downwards and slowly upwards
+            if (energyDb < noiseFloorDb) {
+                noiseFloorDb = 0.5 * noiseFloorDb + 0.5 * energyDb;
+            } else {
+                noiseFloorDb = 0.95 * noiseFloorDb + 0.05 * energyDb;
+            }
+            if (inSpeech && --hangoverRemaining <= 0) {
+                inSpeech = false;
+            }
+        }
+
+        frameEnergy = 0;
+        frameZeroCrossings = 0;
+        frameSamples = 0;
+    }
+
+    // Speech always has gaps quieter than itself; noise that never drops is the floor
+    private void trackMinimum(double energyDb) {
+        windowMinDb = Math.min(windowMinDb, energyDb);
+        if (++windowFrames < MIN_WINDOW_FRAMES) {
+            return;
+        }
+        double minimumDb = Math.min(windowMinDb, previousWindowMinDb);
+        if (minimumDb > noiseFloorDb) {
+            noiseFloorDb = minimumDb;
+        }
+        previousWindowMinDb = windowMinDb;
+        windowMinDb = Double.MAX_VALUE;
+        windowFrames = 0;
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.fyp_serverbasedapp;
+
+/**
+ * Finds the PCM samples inside an in-memory WAV file, so tts_audio can be streamed to an
+ * AudioTrack without writing it to disk for MediaPlayer. Only 16-bit integer PCM is accepted;
+ * anything else returns null and is left to a decoder.
+ */
+final class WavPcm {
+
+    final int sampleRate;
+    final int channels;
+    final int offset; // First sample byte in the array
+    final int length; // Sample bytes (whole frames)
+
+    private WavPcm(int sampleRate, int channels, int offset, int length) {
+        this.sampleRate = sampleRate;
+        this.channels = channels;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    /** Parses the RIFF chunks of data[0, length). Returns null if this is not 16-bit PCM WAV. */
+    static WavPcm parse(byte[] data, int length) {
+        if (length < 12 || !tagAt(data, 0, "RIFF") || !tagAt(data, 8, "WAVE")) {
+            return null;
+        }
+        int sampleRate = -1;
+        int channels = -1;
+        int pos = 12;
+        while (pos + 8 <= length) {
+            int chunkSize = intAt(data, pos + 4);
+            int body = pos + 8;
+            if (tagAt(data, pos, "fmt ")) {
+                if (chunkSize < 16 || body + 16 > length) {
+                    return null;
+                }
+                int audioFormat = shortAt(data, body);
+                int bitsPerSample = shortAt(data, body + 14);
+                // 1 = integer PCM, 0xFFFE = WAVE_FORMAT_EXTENSIBLE (TTS engines use both for plain PCM)
+                if ((audioFormat != 1 && audioFormat != 0xFFFE) || bitsPerSample != 16) {
+                    return null;
+                }
+                channels = shortAt(data, body + 2);
+                sampleRate = intAt(data, body + 4);
+            } else if (tagAt(data, pos, "data")) {
+                if (sampleRate <= 0 || channels < 1 || channels > 2) {
+                    return null; // data before fmt, or a layout AudioTrack can't take as-is
+                }
+                // Streaming writers leave the size as 0 or 0xFFFFFFFF - take what is there
+                int available = length - body;
+                int size = chunkSize <= 0 || chunkSize > available ? available : chunkSize;
+                int frameBytes = 2 * channels;
+                return new WavPcm(sampleRate, channels, body, size - size % frameBytes);
+            }
+            if (chunkSize < 0 || chunkSize > length - body) {
+                return null;
+            }
+            pos = body + chunkSize + (chunkSize & 1); // Chunks are word-aligned
+        }
+        return null;
+    }
+
+    private static boolean tagAt(byte[] data, int pos, String tag) {
+        for (int i = 0; i < 4; i++) {
+            if (data[pos + i] != tag.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // WAV is little-endian throughout
+    private static int intAt(byte[] data, int pos) {
+        return (data[pos] & 0xFF) | (data[pos + 1] & 0xFF) << 8 | (data[pos + 2] & 0xFF) << 16 | (data[pos + 3] & 0xFF) << 24;
+    }
+
+    private static int shortAt(byte[] data, int pos) {
+        return (data[pos] & 0xFF) | (data[pos + 1] & 0xFF) << 8;
+    }
+}
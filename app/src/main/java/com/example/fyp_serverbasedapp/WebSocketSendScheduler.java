@@ -0,0 +1,388 @@
+package com.example.fyp_serverbasedapp;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Single sender thread for the WebSocket with one bounded queue per message type.
+ * Lanes are served in priority order (control, audio, gesture, TTS) and only control
+ * messages are written while the socket's own outgoing buffer is above the high watermark,
+ * so a stalled link builds up fresh data here instead of a burst of stale frames.
+ * Nothing is written while the socket is closed: a message that finds it closed goes back to
+ * the head of its lane, already built, and waits for the socket to open or the lane to be cleared.
+ */
+final class WebSocketSendScheduler {
+
+    enum Lane {
+        CONTROL, // join/reset/stop/registration - pings are coalesced by key
+        AUDIO, // Never dropped (up to the byte ceiling, i.e. a dead link)
+        GESTURE, // Latest frame wins
+        TTS // Oldest dropped beyond capacity
+    }
+
+    interface Transport {
+        boolean isOpen();
+
+        void sendText(String text);
+
+        void sendBinary(byte[] data);
+
+        /** Bytes accepted by the socket but not yet written to the network. */
+        long bufferedBytes();
+    }
+
+    interface Message {
+        /** Builds the payload on the sender thread right before it is written: String or byte[]; null skips it. */
+        Object build() throws Exception;
+
+        default void onSent() {
+        }
+
+        default void onFailed(Exception e) {
+        }
+
+        default void onDropped() {
+        }
+    }
+
+    private static final int GESTURE_CAPACITY = 1;
+    private static final int TTS_CAPACITY = 2;
+    private static final long AUDIO_MAX_QUEUED_BYTES = 8L * 1024 * 1024; // ~4 min of PCM - only reached when the link is dead
+    private static final long HIGH_WATERMARK_BYTES = 256 * 1024; // Socket backlog that pauses non-control lanes
+    private static final long LOW_WATERMARK_BYTES = 64 * 1024; // ...until it drains below this
+    private static final long POLL_MS = 20; // Socket backed up or closed - recheck at this interval
+
+    private static final class Item {
+        final Lane lane;
+        final String coalesceKey;
+        final int sizeHint;
+        final Message message;
+        boolean built = false; // build() has run - a requeued item is sent as built
+        Object payload;
+
+        Item(Lane lane, String coalesceKey, int sizeHint, Message message) {
+            this.lane = lane;
+            this.coalesceKey = coalesceKey;
+            this.sizeHint = sizeHint;
+            this.message = message;
+        }
+    }
+
+    private static final class LaneState {
+        final ArrayDeque<Item> queue = new ArrayDeque<>();
+        long queuedBytes = 0;
+        int maxDepth = 0;
+        long sent = 0;
+        long dropped = 0;
+        long coalesced = 0;
+        long failed = 0;
+        long requeued = 0;
+        boolean paused = false;
+    }
+
+    private final Transport transport;
+    private final LaneState[] lanes = new LaneState[Lane.values().length];
+    private final Object lock = new Object();
+    private final Thread thread;
+    private volatile boolean running = true;
+    private boolean congested = false;
+    private boolean disconnected = false;
+    private long lastBufferedBytes = 0;
+
+    WebSocketSendScheduler(Transport transport, ThreadFactory threadFactory) {
+        this.transport = transport;
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = new LaneState();
+        }
+        thread = threadFactory.newThread(this::runLoop);
+        thread.start();
+    }
+
+    /** Queues a message. Returns false if it was refused (lane full for audio, or scheduler stopped). */
+    boolean enqueue(Lane lane, int sizeHint, Message message) {
+        return enqueue(lane, null, sizeHint, message);
+    }
+
+    /** Like enqueue, but replaces a still-queued message with the same key (e.g. "ping"). */
+    boolean enqueue(Lane lane, String coalesceKey, int sizeHint, Message message) {
+        Item item = new Item(lane, coalesceKey, sizeHint, message);
+        Item dropped = null;
+        synchronized (lock) {
+            if (!running) {
+                return false;
+            }
+            LaneState state = lanes[lane.ordinal()];
+
+            if (coalesceKey != null) {
+                for (Iterator<Item> it = state.queue.iterator(); it.hasNext(); ) {
+                    Item queued = it.next();
+                    if (coalesceKey.equals(queued.coalesceKey)) {
+                        it.remove();
+                        state.queuedBytes -= queued.sizeHint;
+                        state.coalesced++;
+                        break;
+                    }
+                }
+            }
+
+            switch (lane) {
+                case GESTURE:
+                    // A newer frame makes the queued one worthless
+                    if (state.queue.size() >= GESTURE_CAPACITY) {
+                        dropped = removeOldest(state);
+                    }
+                    break;
+                case TTS:
+                    if (state.queue.size() >= TTS_CAPACITY) {
+                        dropped = removeOldest(state);
+                    }
+                    break;
+                case AUDIO:
+                    if (state.queuedBytes + sizeHint > AUDIO_MAX_QUEUED_BYTES) {
+                        state.dropped++;
+                        return false;
+                    }
+                    break;
+                default:
+                    break;
+            }
+
+            state.queue.addLast(item);
+            state.queuedBytes += sizeHint;
+            state.maxDepth = Math.max(state.maxDepth, state.queue.size());
+            lock.notifyAll();
+        }
+        if (dropped != null) {
+            dropped.message.onDropped();
+        }
+        return true;
+    }
+
+    /**
+     * Queues a message ahead of everything already waiting in its lane, ignoring the lane limits.
+     * Used to replay messages that must go out before newer ones (e.g. after a session resume).
+     */
+    boolean enqueueFirst(Lane lane, int sizeHint, Message message) {
+        synchronized (lock) {
+            if (!running) {
+                return false;
+            }
+            LaneState state = lanes[lane.ordinal()];
+            state.queue.addFirst(new Item(lane, null, sizeHint, message));
+            state.queuedBytes += sizeHint;
+            state.maxDepth = Math.max(state.maxDepth, state.queue.size());
+            lock.notifyAll();
+        }
+        return true;
+    }
+
+    /** A paused lane keeps accepting messages but sends none of them. */
+    void setPaused(Lane lane, boolean paused) {
+        synchronized (lock) {
+            lanes[lane.ordinal()].paused = paused;
+            lock.notifyAll();
+        }
+    }
+
+    /** Drops everything queued (e.g. the socket closed). */
+    void clear() {
+        for (Lane lane : Lane.values()) {
+            clear(lane);
+        }
+    }
+
+    /** Drops everything queued in one lane. */
+    void clear(Lane lane) {
+        ArrayDeque<Item> dropped;
+        synchronized (lock) {
+            LaneState state = lanes[lane.ordinal()];
+            state.dropped += state.queue.size();
+            dropped = new ArrayDeque<>(state.queue);
+            state.queue.clear();
+            state.queuedBytes = 0;
+        }
+        for (Item item : dropped) {
+            item.message.onDropped();
+        }
+    }
+
+    void shutdown() {
+        synchronized (lock) {
+            running = false;
+            lock.notifyAll();
+        }
+        clear();
+        try {
+            thread.join(2000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    int queueDepth(Lane lane) {
+        synchronized (lock) {
+            return lanes[lane.ordinal()].queue.size();
+        }
+    }
+
+    long droppedCount(Lane lane) {
+        synchronized (lock) {
+            return lanes[lane.ordinal()].dropped;
+        }
+    }
+
+    /** One-line queue metrics, e.g. for a periodic log. */
+    String metricsSummary() {
+        StringBuilder sb = new StringBuilder();
+        synchronized (lock) {
+            for (Lane lane : Lane.values()) {
+                LaneState state = lanes[lane.ordinal()];
+                sb.append(lane.name().toLowerCase())
+                        .append(" q=").append(state.queue.size())
+                        .append('/').append(state.queuedBytes / 1024).append("KB")
+                        .append(" max=").append(state.maxDepth)
+                        .append(" sent=").append(state.sent);
+                if (state.dropped > 0) {
+                    sb.append(" dropped=").append(state.dropped);
+                }
+                if (state.coalesced > 0) {
+                    sb.append(" merged=").append(state.coalesced);
+                }
+                if (state.failed > 0) {
+                    sb.append(" failed=").append(state.failed);
+                }
+                if (state.requeued > 0) {
+                    sb.append(" requeued=").append(state.requeued);
+                }
+                if (state.paused) {
+                    sb.append(" (paused)");
+                }
+                sb.append(" | ");
+            }
+            sb.append("socket backlog=").append(lastBufferedBytes / 1024).append("KB");
+            if (congested) {
+                sb.append(" (congested)");
+            }
+            if (disconnected) {
+                sb.append(" (closed)");
+            }
+        }
+        return sb.toString();
+    }
+
+    private Item removeOldest(LaneState state) {
+        Item oldest = state.queue.pollFirst();
+        if (oldest != null) {
+            state.queuedBytes -= oldest.sizeHint;
+            state.dropped++;
+        }
+        return oldest;
+    }
+
+    // Next item in priority order; only CONTROL while the socket is backed up, nothing while it is closed
+    private Item pollNext() {
+        disconnected = !transport.isOpen();
+        if (disconnected) {
+            return null;
+        }
+        lastBufferedBytes = transport.bufferedBytes();
+        if (congested && lastBufferedBytes < LOW_WATERMARK_BYTES) {
+            congested = false;
+        } else if (!congested && lastBufferedBytes > HIGH_WATERMARK_BYTES) {
+            congested = true;
+        }
+        for (Lane lane : Lane.values()) {
+            if (congested && lane != Lane.CONTROL) {
+                break;
+            }
+            LaneState state = lanes[lane.ordinal()];
+            if (state.paused) {
+                continue;
+            }
+            Item item = state.queue.pollFirst();
+            if (item != null) {
+                state.queuedBytes -= item.sizeHint;
+                return item;
+            }
+        }
+        return null;
+    }
+
+    // The socket closed while this item was on its way out - put it back where it was
+    private void requeue(Item item) {
+        synchronized (lock) {
+            LaneState state = lanes[item.lane.ordinal()];
+            state.queue.addFirst(item);
+            state.queuedBytes += item.sizeHint;
+            state.requeued++;
+            disconnected = true;
+        }
+    }
+
+    private void runLoop() {
+        while (running) {
+            Item item;
+            synchronized (lock) {
+                item = pollNext();
+                if (item == null) {
+                    try {
+                        // Backed up or closed: poll the socket; idle: sleep until something is queued
+                        lock.wait(congested || disconnected ? POLL_MS : 0);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    continue;
+                }
+            }
+            send(item);
+        }
+    }
+
+    private void send(Item item) {
+        Exception failure = null;
+        try {
+            if (!transport.isOpen()) {
+                requeue(item);
+                return;
+            }
+            // Built once - build() assigns sequence numbers and retains the payload for replay
+            if (!item.built) {
+                item.payload = item.message.build();
+                item.built = true;
+            }
+            Object payload = item.payload;
+            if (payload instanceof String) {
+                transport.sendText((String) payload);
+            } else if (payload instanceof byte[]) {
+                transport.sendBinary((byte[]) payload);
+            } else if (payload == null) {
+                return;
+            } else {
+                // Nothing was written - report it rather than count it as sent
+                failure = new IllegalArgumentException("Unsupported payload: " + payload.getClass().getName());
+            }
+        } catch (Exception e) {
+            if (item.built && !transport.isOpen()) {
+                // Closed between the check and the write (e.g. WebsocketNotConnectedException)
+                requeue(item);
+                return;
+            }
+            failure = e;
+        }
+
+        synchronized (lock) {
+            LaneState state = lanes[item.lane.ordinal()];
+            if (failure == null) {
+                state.sent++;
+            } else {
+                state.failed++;
+            }
+        }
+        if (failure == null) {
+            item.message.onSent();
+        } else {
+            item.message.onFailed(failure);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.fyp_serverbasedapp;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * Pins the binary audio frame header to the layout documented in AudioFrameCodec and the README.
+ */
+public class AudioFrameCodecTest {
+
+    private static final long CHUNK_ID = 1_700_000_000_123L;
+    private static final int SEQUENCE = 42;
+    private static final long TIMESTAMP = 1_700_000_000_456L;
+
+    @Test
+    public void header_matchesDocumentedLayout() {
+        byte[] frame = AudioFrameCodec.encode(CHUNK_ID, SEQUENCE, TIMESTAMP, 16000, AudioFrameCodec.FLAG_IS_CHUNK,
+                new byte[]{1, 2, 3, 4}, 0, 4);
+
+        ByteBuffer header = ByteBuffer.wrap(frame).order(ByteOrder.BIG_ENDIAN);
+        assertEquals(AudioFrameCodec.HEADER_SIZE + 4, frame.length);
+        assertEquals(AudioFrameCodec.MAGIC_0, header.get(0));
+        assertEquals(AudioFrameCodec.MAGIC_1, header.get(1));
+        assertEquals(AudioFrameCodec.VERSION, header.get(2));
+        assertEquals(AudioFrameCodec.FLAG_IS_CHUNK, header.get(3));
+        assertEquals(CHUNK_ID, header.getLong(4));
+        assertEquals(SEQUENCE, header.getInt(12));
+        assertEquals(TIMESTAMP, header.getLong(16));
+        assertEquals(16000, header.getInt(24));
+        assertEquals(4, header.getInt(28));
+    }
+
+    @Test
+    public void roundTrip_payloadSliceFollowsTheHeader() {
+        byte[] pcm = {9, 9, 10, 11, 12, 13, 9, 9};
+        byte[] frame = AudioFrameCodec.encode(CHUNK_ID, SEQUENCE, TIMESTAMP, 16000, 0, pcm, 2, 4);
+
+        ByteBuffer header = ByteBuffer.wrap(frame).order(ByteOrder.BIG_ENDIAN);
+        assertEquals(0, header.get(3));
+        assertEquals(4, header.getInt(28));
+        assertArrayEquals(new byte[]{10, 11, 12, 13}, Arrays.copyOfRange(frame, AudioFrameCodec.HEADER_SIZE, frame.length));
+    }
+
+    @Test
+    public void emptyPayload_isHeaderOnly() {
+        byte[] frame = AudioFrameCodec.encode(CHUNK_ID, SEQUENCE, TIMESTAMP, 16000, 0, new byte[0], 0, 0);
+
+        assertEquals(AudioFrameCodec.HEADER_SIZE, frame.length);
+        assertEquals(0, ByteBuffer.wrap(frame).getInt(28));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void encode_rejectsLengthBeyondSource() {
+        AudioFrameCodec.encode(CHUNK_ID, SEQUENCE, TIMESTAMP, 16000, 0, new byte[4], 2, 4);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void encode_rejectsOffsetBeyondSource() {
+        AudioFrameCodec.encode(CHUNK_ID, SEQUENCE, TIMESTAMP, 16000, 0, new byte[4], 5, 0);
+    }
+
+    @Test
+    public void endOfStream_isAnEmptyStreamFrame() {
+        byte[] frame = AudioFrameCodec.encode(CHUNK_ID, -1, TIMESTAMP, 16000,
+                AudioFrameCodec.FLAG_STREAM | AudioFrameCodec.FLAG_END_OF_STREAM, new byte[0], 0, 0);
+
+        ByteBuffer header = ByteBuffer.wrap(frame).order(ByteOrder.BIG_ENDIAN);
+        assertEquals(AudioFrameCodec.HEADER_SIZE, frame.length);
+        assertEquals(AudioFrameCodec.FLAG_STREAM | AudioFrameCodec.FLAG_END_OF_STREAM, header.get(3));
+        assertEquals(-1, header.getInt(12));
+        assertEquals(0, header.getInt(28));
+    }
+
+    @Test
+    public void roundTrip_fromRingAcrossTheWrap() {
+        PcmRingBuffer ring = new PcmRingBuffer(16);
+        // Move the ring to position 12 so the next 8 bytes wrap after 4
+        ring.commitWrite(12);
+        ring.release(12);
+        for (int i = 0; i < 4; i++) {
+            ring.array()[12 + i] = (byte) (i + 1);
+            ring.array()[i] = (byte) (i + 5);
+        }
+        ring.commitWrite(8);
+
+        byte[] frame = AudioFrameCodec.encode(CHUNK_ID, SEQUENCE, TIMESTAMP, 16000, 0, ring, 12, 8);
+
+        assertArrayEquals(new byte[]{1, 2, 3, 4, 5, 6, 7, 8},
+                Arrays.copyOfRange(frame, AudioFrameCodec.HEADER_SIZE, frame.length));
+    }
+
+    @Test
+    public void opusFlag_isCarriedInTheFlagsByte() {
+        int flags = AudioFrameCodec.FLAG_IS_CHUNK | AudioFrameCodec.FLAG_OPUS;
+        byte[] frame = AudioFrameCodec.encode(CHUNK_ID, SEQUENCE, TIMESTAMP, 16000, flags, new byte[]{0, 2, 7, 7}, 0, 4);
+
+        assertEquals(flags, frame[3]);
+        assertEquals(4, ByteBuffer.wrap(frame).getInt(28));
+    }
+
+    @Test
+    public void chunkIdAndSequence_readBackFromTheHeader() {
+        byte[] frame = AudioFrameCodec.encode(CHUNK_ID, SEQUENCE, TIMESTAMP, 16000, AudioFrameCodec.FLAG_STREAM,
+                new byte[]{1, 2}, 0, 2);
+
+        assertEquals(CHUNK_ID, AudioFrameCodec.chunkIdOf(frame));
+        assertEquals(SEQUENCE, AudioFrameCodec.sequenceOf(frame));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void chunkIdOf_rejectsTruncatedHeader() {
+        AudioFrameCodec.chunkIdOf(new byte[8]);
+    }
+}
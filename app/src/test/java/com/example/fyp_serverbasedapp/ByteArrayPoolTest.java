@@ -0,0 +1,68 @@
+package com.example.fyp_serverbasedapp;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ByteArrayPoolTest {
+
+    private final ByteArrayPool pool = new ByteArrayPool(2, 4096);
+
+    @Test
+    public void acquire_roundsUpToAPowerOfTwo() {
+        assertEquals(1024, pool.acquire(1000).length);
+        assertEquals(1024, pool.acquire(1024).length);
+        assertEquals(2048, pool.acquire(1025).length);
+        assertTrue(pool.acquire(0).length >= 0);
+        assertTrue(pool.acquire(1).length >= 1);
+    }
+
+    @Test
+    public void releasedArray_isReusedForAnySmallerRequest() {
+        byte[] array = pool.acquire(1000);
+        pool.release(array);
+
+        assertSame(array, pool.acquire(500));
+        // Taken - the next request gets a new array
+        assertNotSame(array, pool.acquire(500));
+    }
+
+    @Test
+    public void tooSmallReleasedArray_isNotHandedOut() {
+        byte[] small = pool.acquire(100);
+        pool.release(small);
+
+        byte[] big = pool.acquire(1000);
+        assertNotSame(small, big);
+        assertTrue(big.length >= 1000);
+    }
+
+    @Test
+    public void arraysAboveTheLimit_areNotKept() {
+        byte[] huge = pool.acquire(5000);
+        pool.release(huge);
+
+        assertNotSame(huge, pool.acquire(5000));
+    }
+
+    @Test
+    public void fullPool_keepsTheLargerArrays() {
+        byte[] small = new byte[100];
+        byte[] medium = new byte[1000];
+        byte[] large = new byte[2000];
+        pool.release(small);
+        pool.release(medium);
+        pool.release(large);
+
+        // small was evicted for large
+        assertSame(medium, pool.acquire(50));
+        assertSame(large, pool.acquire(50));
+        assertNotSame(small, pool.acquire(50));
+    }
+
+    @Test
+    public void releaseNull_isIgnored() {
+        pool.release(null);
+        assertNotNull(pool.acquire(10));
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.fyp_serverbasedapp;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class CaptureSessionTest {
+
+    private static final int SAMPLE_RATE = 16000;
+    private static final int BYTES_PER_MS = SAMPLE_RATE * 2 / 1000;
+    private static final int FRAME_BYTES = 100 * BYTES_PER_MS;
+    private static final int READ_BYTES = 20 * BYTES_PER_MS;
+
+    private final PcmRingBuffer ring = new PcmRingBuffer(1 << 16);
+    private final List<long[]> frames = new ArrayList<>(); // {position, length, endOfStream}
+
+    @Test
+    public void consumption_stopsAtTheCaptureEndPosition() {
+        CaptureSession session = streamingSession(false);
+        writeSilence(250 * BYTES_PER_MS);
+        long end = ring.writePosition();
+        session.markCaptureEnded(end);
+        // The next recording is already writing into the ring
+        writeSilence(200 * BYTES_PER_MS);
+
+        drain(session);
+
+        assertTrue(session.isFinished());
+        assertEquals(end, session.consumedPosition());
+        long[] last = frames.get(frames.size() - 1);
+        assertEquals(1, last[2]);
+        assertEquals(end, last[0] + last[1]);
+        for (long[] frame : frames) {
+            assertTrue("frame past the end: " + frame[0] + "+" + frame[1], frame[0] + frame[1] <= end);
+        }
+    }
+
+    @Test
+    public void readLimit_isTheWriterUntilCaptureEnds() {
+        CaptureSession session = streamingSession(false);
+        writeSilence(READ_BYTES);
+        assertFalse(session.isCaptureEnded());
+        assertEquals(READ_BYTES, session.readLimit(ring.writePosition()));
+        assertFalse(session.isDrained());
+
+        session.markCaptureEnded(ring.writePosition());
+        assertEquals(READ_BYTES, session.readLimit(READ_BYTES * 5));
+        assertFalse(session.isDrained());
+        session.consume(0, READ_BYTES);
+        assertTrue(session.isDrained());
+    }
+
+    @Test
+    public void awaitFinished_returnsOnceTheConsumerHasDrained() throws Exception {
+        CaptureSession session = streamingSession(false);
+        writeSilence(250 * BYTES_PER_MS);
+        session.markCaptureEnded(ring.writePosition());
+        assertFalse(session.awaitFinished(1));
+
+        Thread consumer = new Thread(() -> drain(session));
+        consumer.start();
+
+        assertTrue(session.awaitFinished(5000));
+        assertEquals(ring.writePosition(), session.consumedPosition());
+        consumer.join();
+    }
+
+    @Test
+    public void emptyCapture_isDrainedImmediately() {
+        CaptureSession session = streamingSession(false);
+        session.markCaptureEnded(ring.writePosition());
+        assertTrue(session.isDrained());
+        session.finish();
+        assertEquals(1, frames.size());
+        assertEquals(0, frames.get(0)[1]);
+    }
+
+    @Test
+    public void preRoll_doesNotResendAudioAlreadyChunked() {
+        List<long[]> chunks = new ArrayList<>(); // {position, length, overlapBytes}
+        SpeechChunker chunker = new SpeechChunker(SAMPLE_RATE, 1500, 4000, 500,
+                (position, length, overlapBytes, hasSpeech) -> chunks.add(new long[]{position, length, overlapBytes}));
+        CaptureSession session = session(chunker, true);
+        writeTone(600);
+        // Longer than the hangover but shorter than hangover plus pre-roll
+        writeSilence(400 * BYTES_PER_MS);
+        writeTone(600);
+        writeSilence(500 * BYTES_PER_MS);
+        session.markCaptureEnded(ring.writePosition());
+
+        drain(session);
+
+        assertEquals(2, chunks.size());
+        long firstEnd = chunks.get(0)[0] + chunks.get(0)[1];
+        long secondNew = chunks.get(1)[0] + chunks.get(1)[2];
+        assertTrue("second chunk repeats audio: starts " + secondNew + " before " + firstEnd, secondNew >= firstEnd);
+    }
+
+    @Test
+    public void preRoll_isSentBeforeAnOnsetAfterLongSilence() {
+        CaptureSession session = streamingSession(true);
+        writeSilence(1000 * BYTES_PER_MS);
+        writeTone(300);
+        session.markCaptureEnded(ring.writePosition());
+
+        drain(session);
+
+        // The first frame reaches back into the silence before the onset
+        assertTrue(frames.get(0)[0] < 1000 * BYTES_PER_MS);
+        assertTrue(frames.get(0)[0] >= 800 * BYTES_PER_MS);
+    }
+
+    // =============== HELPERS ===============
+
+    private CaptureSession streamingSession(boolean dropSilence) {
+        return session(null, dropSilence);
+    }
+
+    private CaptureSession session(SpeechChunker chunker, boolean dropSilence) {
+        return new CaptureSession(ring, new VoiceActivityDetector(SAMPLE_RATE, 300), chunker, FRAME_BYTES,
+                200 * BYTES_PER_MS, 300 * BYTES_PER_MS, dropSilence, new CaptureSession.Listener() {
+                    @Override
+                    public void onSpeech() {
+                    }
+
+                    @Override
+                    public void onStreamFrame(long position, int length, boolean endOfStream, boolean hasSpeech) {
+                        frames.add(new long[]{position, length, endOfStream ? 1 : 0});
+                    }
+                });
+    }
+
+    private void writeSilence(int bytes) {
+        for (int i = 0; i < bytes; i++) {
+            ring.array()[ring.offsetOf(ring.writePosition() + i)] = 0;
+        }
+        ring.commitWrite(bytes);
+    }
+
+    private void writeTone(int millis) {
+        double peak = 32768 * 0.25;
+        int bytes = millis * BYTES_PER_MS;
+        for (int i = 0; i < bytes; i += 2) {
+            int sample = (int) Math.round(peak * Math.sin(2 * Math.PI * 180 * (i / 2) / SAMPLE_RATE));
+            int offset = ring.offsetOf(ring.writePosition() + i);
+            ring.array()[offset] = (byte) sample;
+            ring.array()[offset + 1] = (byte) (sample >> 8);
+        }
+        ring.commitWrite(bytes);
+    }
+
+    // Same loop as MainActivity's AudioBufferProcessor
+    private void drain(CaptureSession session) {
+        while (!session.isFinished()) {
+            long position = session.consumedPosition();
+            long available = session.readLimit(ring.writePosition());
+            if (position < available) {
+                session.consume(position, Math.min(READ_BYTES, ring.contiguousFrom(position, available)));
+            } else if (session.isDrained()) {
+                session.finish();
+            } else {
+                fail("stalled at " + position);
+            }
+        }
+    }
+}
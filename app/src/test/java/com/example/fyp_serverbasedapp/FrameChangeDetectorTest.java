@@ -0,0 +1,96 @@
+package com.example.fyp_serverbasedapp;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.*;
+
+public class FrameChangeDetectorTest {
+
+    private static final int WIDTH = 64;
+    private static final int HEIGHT = 48;
+    private static final long KEYFRAME_MS = 1000;
+
+    private final FrameChangeDetector detector = new FrameChangeDetector(16, 12, 6.0, KEYFRAME_MS);
+
+    @Test
+    public void firstFrame_isAlwaysSent() {
+        assertTrue(send(scene(10, 10, 0), 0));
+    }
+
+    @Test
+    public void unchangedFrame_isSkippedUntilTheKeyframeInterval() {
+        send(scene(10, 10, 0), 0);
+        assertFalse(send(scene(10, 10, 0), 100));
+        assertFalse(send(scene(10, 10, 0), KEYFRAME_MS - 1));
+        assertTrue(send(scene(10, 10, 0), KEYFRAME_MS));
+        // The keyframe is the new reference - the interval starts again
+        assertFalse(send(scene(10, 10, 0), KEYFRAME_MS + 100));
+    }
+
+    @Test
+    public void exposureShift_isNotChange() {
+        send(scene(10, 10, 0), 0);
+        assertFalse(send(scene(10, 10, 30), 100));
+    }
+
+    @Test
+    public void movedObject_isChange() {
+        send(scene(10, 10, 0), 0);
+        assertTrue(send(scene(40, 20, 0), 100));
+    }
+
+    @Test
+    public void reset_sendsTheNextFrame() {
+        send(scene(10, 10, 0), 0);
+        detector.reset();
+        assertTrue(send(scene(10, 10, 0), 100));
+    }
+
+    @Test
+    public void paddedRowsAndPixelStride_areHonoured() {
+        byte[] plain = scene(10, 10, 0);
+        int pixelStride = 2;
+        int rowStride = WIDTH * pixelStride + 16;
+        byte[] padded = new byte[rowStride * HEIGHT];
+        for (int row = 0; row < HEIGHT; row++) {
+            for (int col = 0; col < WIDTH; col++) {
+                padded[row * rowStride + col * pixelStride] = plain[row * WIDTH + col];
+            }
+        }
+        // Same picture through a different memory layout is not change
+        assertTrue(send(plain, 0));
+        assertFalse(detector.shouldSend(ByteBuffer.wrap(padded), rowStride, pixelStride, WIDTH, HEIGHT, 100));
+    }
+
+    @Test
+    public void frameSmallerThanTheGrid_staysInBounds() {
+        byte[] tiny = new byte[4 * 4];
+        assertTrue(detector.shouldSend(ByteBuffer.wrap(tiny), 4, 1, 4, 4, 0));
+        assertFalse(detector.shouldSend(ByteBuffer.wrap(tiny), 4, 1, 4, 4, 10));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void planeShorterThanItsDimensions_isRejected() {
+        detector.shouldSend(ByteBuffer.wrap(new byte[WIDTH]), WIDTH, 1, WIDTH, HEIGHT, 0);
+    }
+
+    // =============== HELPERS ===============
+
+    private boolean send(byte[] luma, long nowMs) {
+        return detector.shouldSend(ByteBuffer.wrap(luma), WIDTH, 1, WIDTH, HEIGHT, nowMs);
+    }
+
+    // Grey background with a bright 16x16 square at (x, y), everything shifted by brightness
+    private static byte[] scene(int x, int y, int brightness) {
+        byte[] luma = new byte[WIDTH * HEIGHT];
+        for (int row = 0; row < HEIGHT; row++) {
+            for (int col = 0; col < WIDTH; col++) {
+                boolean inSquare = col >= x && col < x + 16 && row >= y && row < y + 16;
+                luma[row * WIDTH + col] = (byte) ((inSquare ? 200 : 80) + brightness);
+            }
+        }
+        return luma;
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.fyp_serverbasedapp;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.*;
+
+public class HandPresenceDetectorTest {
+
+    private static final int GRID_WIDTH = 16;
+    private static final int GRID_HEIGHT = 12;
+    private static final int CELL = 4; // Pixels per grid cell
+    private static final int WIDTH = GRID_WIDTH * CELL;
+    private static final int HEIGHT = GRID_HEIGHT * CELL;
+    private static final int MIN_BLOB = 6;
+
+    private final HandPresenceDetector detector = new HandPresenceDetector(GRID_WIDTH, GRID_HEIGHT, MIN_BLOB);
+    private final byte[] y = new byte[WIDTH * HEIGHT];
+    private final byte[] u = new byte[WIDTH * HEIGHT / 4];
+    private final byte[] v = new byte[WIDTH * HEIGHT / 4];
+
+    @Test
+    public void emptyScene_hasNoHand() {
+        fill(100, 128, 128);
+        assertFalse(check());
+    }
+
+    @Test
+    public void connectedSkinBlob_isAHand() {
+        fill(100, 128, 128);
+        paintSkin(5, 3, 3, 3);
+        assertTrue(check());
+    }
+
+    @Test
+    public void blobBelowTheMinimum_isNotAHand() {
+        fill(100, 128, 128);
+        paintSkin(5, 3, 5, 1);
+        assertFalse(check());
+    }
+
+    @Test
+    public void scatteredSkinCells_areNotAHand() {
+        fill(100, 128, 128);
+        // Plenty of skin cells, but none touching (diagonals do not connect)
+        for (int gy = 0; gy < GRID_HEIGHT; gy += 2) {
+            for (int gx = gy % 4 == 0 ? 0 : 1; gx < GRID_WIDTH; gx += 2) {
+                paintSkin(gx, gy, 1, 1);
+            }
+        }
+        assertFalse(check());
+    }
+
+    @Test
+    public void cellsAcrossARowEnd_doNotConnect() {
+        fill(100, 128, 128);
+        // Three cells at the end of one row and three at the start of the next
+        paintSkin(GRID_WIDTH - 3, 4, 3, 1);
+        paintSkin(0, 5, 3, 1);
+        assertFalse(check());
+    }
+
+    @Test
+    public void skinColouredScene_isLetThrough() {
+        fill(150, 100, 150);
+        assertTrue(check());
+        assertTrue(detector.metricsSummary().contains("uninformative=1"));
+    }
+
+    @Test
+    public void tooDarkForChroma_isNotSkin() {
+        fill(100, 128, 128);
+        paintSkin(5, 3, 3, 3);
+        paint(5, 3, 3, 3, 20, 100, 150);
+        assertFalse(check());
+    }
+
+    @Test
+    public void metrics_countEveryOutcome() {
+        fill(100, 128, 128);
+        check();
+        paintSkin(5, 3, 3, 3);
+        check();
+        assertEquals("checked=2 hand=1 uninformative=0 rejected=1", detector.metricsSummary());
+    }
+
+    // =============== HELPERS ===============
+
+    private boolean check() {
+        return detector.isHandLikely(ByteBuffer.wrap(y), WIDTH, 1, ByteBuffer.wrap(u), ByteBuffer.wrap(v),
+                WIDTH / 2, 1, WIDTH, HEIGHT);
+    }
+
+    private void fill(int luma, int cb, int cr) {
+        paint(0, 0, GRID_WIDTH, GRID_HEIGHT, luma, cb, cr);
+    }
+
+    private void paintSkin(int gx, int gy, int cellsWide, int cellsHigh) {
+        paint(gx, gy, cellsWide, cellsHigh, 150, 100, 150);
+    }
+
+    private void paint(int gx, int gy, int cellsWide, int cellsHigh, int luma, int cb, int cr) {
+        for (int row = gy * CELL; row < (gy + cellsHigh) * CELL; row++) {
+            for (int col = gx * CELL; col < (gx + cellsWide) * CELL; col++) {
+                y[row * WIDTH + col] = (byte) luma;
+                int chroma = (row / 2) * (WIDTH / 2) + col / 2;
+                u[chroma] = (byte) cb;
+                v[chroma] = (byte) cr;
+            }
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.fyp_serverbasedapp;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class JsonPullScannerTest {
+
+    private final ByteArrayPool pool = new ByteArrayPool(2, 1 << 20);
+
+    @Test
+    public void messageType_findsTopLevelTypeOnly() {
+        assertEquals("tts_audio", JsonPullScanner.messageType(
+                "{\"meta\":{\"type\":\"nested\"},\"list\":[1,{\"type\":\"x\"}],\"type\":\"tts_audio\"}"));
+        assertEquals("", JsonPullScanner.messageType("{\"kind\":\"x\"}"));
+        assertEquals("", JsonPullScanner.messageType("{\"type\":42}"));
+    }
+
+    @Test
+    public void messageType_ofMalformedMessageIsEmpty() {
+        assertEquals("", JsonPullScanner.messageType("[\"type\",\"x\"]"));
+        assertEquals("", JsonPullScanner.messageType("{\"type\""));
+        assertEquals("", JsonPullScanner.messageType(""));
+    }
+
+    @Test
+    public void fields_readTheirValues() {
+        JsonPullScanner scanner = new JsonPullScanner(
+                " { \"text\" : \"a\\\"b\\\\c\\n\\u00e9\", \"n\": -12.5, \"i\": 7, \"ok\": true, \"no\": false,"
+                        + " \"missing\": null, \"skip\": {\"a\": [1, \"]\", {}]} } ");
+        scanner.beginObject();
+        assertTrue(scanner.nextField());
+        assertEquals("text", scanner.fieldName());
+        assertEquals("a\"b\\c\n\u00e9", scanner.readString());
+        assertTrue(scanner.nextField());
+        assertEquals(-12.5, scanner.readDouble(0), 0);
+        assertTrue(scanner.nextField());
+        assertEquals(7, scanner.readInt(0));
+        assertTrue(scanner.nextField());
+        assertTrue(scanner.readBoolean(false));
+        assertTrue(scanner.nextField());
+        assertFalse(scanner.readBoolean(true));
+        assertTrue(scanner.nextField());
+        assertEquals(-1, scanner.readInt(-1));
+        assertTrue(scanner.nextField());
+        assertEquals(JsonPullScanner.OBJECT, scanner.peek());
+        scanner.skipValue();
+        assertFalse(scanner.nextField());
+    }
+
+    @Test
+    public void wrongValueKinds_giveTheFallback() {
+        JsonPullScanner scanner = new JsonPullScanner("{\"a\":\"yes\",\"b\":[1,2],\"c\":null}");
+        scanner.beginObject();
+        scanner.nextField();
+        assertTrue(scanner.readBoolean(true));
+        scanner.nextField();
+        assertEquals(3.0, scanner.readDouble(3.0), 0);
+        scanner.nextField();
+        assertFalse(scanner.readBoolean(false));
+        assertFalse(scanner.nextField());
+    }
+
+    @Test
+    public void arrays_iterateTheirElements() {
+        JsonPullScanner scanner = new JsonPullScanner("[ \"a\" , 2 , [3] ]");
+        scanner.beginArray();
+        assertTrue(scanner.nextElement());
+        assertEquals("a", scanner.readString());
+        assertTrue(scanner.nextElement());
+        assertEquals(2, scanner.readInt(0));
+        assertTrue(scanner.nextElement());
+        scanner.skipValue();
+        assertFalse(scanner.nextElement());
+    }
+
+    @Test
+    public void base64_roundTripsIntoAPooledBuffer() {
+        for (int length : new int[]{0, 1, 2, 3, 4, 1000, 4097}) {
+            byte[] audio = new byte[length];
+            new Random(length).nextBytes(audio);
+            JsonPullScanner scanner = new JsonPullScanner(
+                    "{\"audio_data\":\"" + Base64.getEncoder().encodeToString(audio) + "\",\"after\":1}");
+            scanner.beginObject();
+            scanner.nextField();
+
+            JsonPullScanner.Bytes decoded = scanner.readBase64(pool);
+
+            assertEquals(length, decoded.length);
+            assertArrayEquals(audio, Arrays.copyOf(decoded.data, decoded.length));
+            assertTrue(scanner.nextField());
+            assertEquals("after", scanner.fieldName());
+            pool.release(decoded.data);
+        }
+    }
+
+    @Test
+    public void base64_toleratesEscapedSlashesLineBreaksAndUrlSafeText() {
+        byte[] audio = new byte[300];
+        new Random(7).nextBytes(audio);
+        String mime = Base64.getMimeEncoder().encodeToString(audio).replace("\r\n", "\\r\\n").replace("/", "\\/");
+        String urlSafe = Base64.getUrlEncoder().withoutPadding().encodeToString(audio);
+
+        for (String text : new String[]{mime, urlSafe}) {
+            JsonPullScanner scanner = new JsonPullScanner("{\"a\":\"" + text + "\"}");
+            scanner.beginObject();
+            scanner.nextField();
+            JsonPullScanner.Bytes decoded = scanner.readBase64(pool);
+            assertArrayEquals(audio, Arrays.copyOf(decoded.data, decoded.length));
+        }
+    }
+
+    @Test
+    public void base64_ofNonStringIsSkipped() {
+        JsonPullScanner scanner = new JsonPullScanner("{\"a\":null,\"b\":1}");
+        scanner.beginObject();
+        scanner.nextField();
+        assertNull(scanner.readBase64(pool));
+        assertTrue(scanner.nextField());
+        assertEquals("b", scanner.fieldName());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unterminatedString_isRejected() {
+        JsonPullScanner scanner = new JsonPullScanner("{\"a\":\"abc");
+        scanner.beginObject();
+        scanner.nextField();
+        scanner.readString();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unterminatedBase64_isRejected() {
+        JsonPullScanner scanner = new JsonPullScanner("{\"a\":\"QUJD");
+        scanner.beginObject();
+        scanner.nextField();
+        scanner.readBase64(pool);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void missingColon_isRejected() {
+        JsonPullScanner scanner = new JsonPullScanner("{\"a\" 1}");
+        scanner.beginObject();
+        scanner.nextField();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void truncatedUnicodeEscape_isRejected() {
+        JsonPullScanner scanner = new JsonPullScanner("\"\\u00");
+        scanner.readString();
+    }
+}
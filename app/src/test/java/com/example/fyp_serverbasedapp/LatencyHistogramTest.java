@@ -0,0 +1,80 @@
+package com.example.fyp_serverbasedapp;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class LatencyHistogramTest {
+
+    private final LatencyHistogram histogram = new LatencyHistogram();
+
+    @Test
+    public void empty_reportsZero() {
+        assertEquals(0, histogram.count());
+        assertEquals(0, histogram.percentile(50));
+        assertEquals(0, histogram.mean());
+        assertEquals(0, histogram.max());
+    }
+
+    @Test
+    public void smallValues_areExact() {
+        for (int value = 0; value < 32; value++) {
+            histogram.record(value);
+        }
+        assertEquals(15, histogram.percentile(50));
+        assertEquals(0, histogram.percentile(0));
+        assertEquals(31, histogram.percentile(100));
+        assertEquals(15, histogram.mean());
+    }
+
+    @Test
+    public void bucketBounds_holdAcrossMagnitudes() {
+        for (long value = 32; value > 0 && value < Long.MAX_VALUE / 4; value = value * 3 + 7) {
+            LatencyHistogram h = new LatencyHistogram();
+            h.record(value);
+            h.record(Long.MAX_VALUE / 2); // Keeps the max clamp out of the way
+            long reported = h.percentile(50);
+            assertTrue(value + " reported as " + reported, reported >= value);
+            assertTrue(value + " reported as " + reported, reported - value <= value / 16);
+        }
+    }
+
+    @Test
+    public void percentile_isClampedToTheMax() {
+        histogram.record(1000);
+        assertEquals(1000, histogram.percentile(50));
+        assertEquals(1000, histogram.percentile(99.9));
+    }
+
+    @Test
+    public void percentile_ranksByCount() {
+        for (int i = 0; i < 90; i++) {
+            histogram.record(100);
+        }
+        for (int i = 0; i < 10; i++) {
+            histogram.record(5000);
+        }
+        assertTrue(histogram.percentile(90) < 110);
+        assertTrue(histogram.percentile(91) >= 5000);
+        assertEquals(5000, histogram.max());
+        assertEquals(590, histogram.mean());
+    }
+
+    @Test
+    public void extremeValues_areRecorded() {
+        histogram.record(-5);
+        histogram.record(Long.MAX_VALUE);
+        assertEquals(0, histogram.percentile(50));
+        assertEquals(Long.MAX_VALUE, histogram.percentile(100));
+        assertEquals(2, histogram.count());
+    }
+
+    @Test
+    public void reset_clearsEverything() {
+        histogram.record(42);
+        histogram.reset();
+        assertEquals(0, histogram.count());
+        assertEquals(0, histogram.max());
+        assertEquals(0, histogram.percentile(50));
+    }
+}
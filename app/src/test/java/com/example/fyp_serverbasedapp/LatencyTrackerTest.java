@@ -0,0 +1,149 @@
+package com.example.fyp_serverbasedapp;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import static org.junit.Assert.*;
+
+public class LatencyTrackerTest {
+
+    private static final int BYTES_PER_SECOND = 32000;
+
+    private final LatencyTracker tracker = new LatencyTracker(BYTES_PER_SECOND, 2, 8);
+
+    @Test
+    public void fullTrip_recordsEveryStageInOrder() throws IOException {
+        LatencyTracker.Span span = tracker.begin(0);
+        tracker.mark(span, LatencyTracker.Stage.ENCODED);
+        tracker.mark(span, LatencyTracker.Stage.ENQUEUED);
+        tracker.bind(span, "chunk_1");
+        tracker.mark(span, LatencyTracker.Stage.SENT);
+        tracker.mark("chunk_1", LatencyTracker.Stage.ACKED);
+        tracker.mark("chunk_1", LatencyTracker.Stage.FIRST_SEGMENT);
+        tracker.mark(span, LatencyTracker.Stage.RENDERED);
+
+        String summary = tracker.summary();
+        for (LatencyTracker.Stage stage : LatencyTracker.Stage.values()) {
+            if (stage != LatencyTracker.Stage.CAPTURED) {
+                assertEquals(stage.label, 1, countOf(summary, stage.label));
+            }
+        }
+        assertEquals(1, countOf(summary, "end to end"));
+        assertTrue(summary.endsWith("rendered=1 open=0 abandoned=0"));
+
+        // Times from capture never go backwards along the stages
+        String[] row = reportRows()[1].split(",", -1);
+        assertEquals("chunk_1", row[0]);
+        double previous = 0;
+        for (int i = 1; i < row.length; i++) {
+            double ms = Double.parseDouble(row[i]);
+            assertTrue(ms >= previous);
+            previous = ms;
+        }
+    }
+
+    @Test
+    public void stages_areRecordedTheFirstTimeOnly() {
+        LatencyTracker.Span span = tracker.begin(0);
+        tracker.bind(span, "chunk_1");
+        // A chunk that yields several segments
+        tracker.mark("chunk_1", LatencyTracker.Stage.FIRST_SEGMENT);
+        tracker.mark("chunk_1", LatencyTracker.Stage.FIRST_SEGMENT);
+        tracker.mark("chunk_1", LatencyTracker.Stage.FIRST_SEGMENT);
+
+        assertEquals(1, countOf(tracker.summary(), LatencyTracker.Stage.FIRST_SEGMENT.label));
+    }
+
+    @Test
+    public void skippedStage_measuresFromTheLastOneReached() {
+        LatencyTracker.Span span = tracker.begin(0);
+        tracker.bind(span, "chunk_1");
+        tracker.mark("chunk_1", LatencyTracker.Stage.FIRST_SEGMENT);
+
+        String summary = tracker.summary();
+        assertEquals(0, countOf(summary, LatencyTracker.Stage.SENT.label));
+        assertEquals(1, countOf(summary, LatencyTracker.Stage.FIRST_SEGMENT.label));
+    }
+
+    @Test
+    public void renderedSpan_isNoLongerReachableById() {
+        LatencyTracker.Span span = tracker.begin(0);
+        tracker.bind(span, "chunk_1");
+        tracker.mark(span, LatencyTracker.Stage.RENDERED);
+        tracker.mark("chunk_1", LatencyTracker.Stage.ACKED);
+
+        assertEquals(0, countOf(tracker.summary(), LatencyTracker.Stage.ACKED.label));
+    }
+
+    @Test
+    public void openSpansBeyondTheLimit_areAbandonedOldestFirst() {
+        for (int i = 1; i <= 3; i++) {
+            tracker.bind(tracker.begin(0), "chunk_" + i);
+        }
+        tracker.mark("chunk_1", LatencyTracker.Stage.ACKED);
+        tracker.mark("chunk_3", LatencyTracker.Stage.ACKED);
+
+        String summary = tracker.summary();
+        assertEquals(1, countOf(summary, LatencyTracker.Stage.ACKED.label));
+        assertTrue(summary.endsWith("open=2 abandoned=1"));
+    }
+
+    @Test
+    public void capturedTime_isWalkedBackFromTheLatestRead() throws IOException {
+        // The recorder is 10 seconds of audio past the chunk's end
+        tracker.onCaptured(10L * BYTES_PER_SECOND, System.nanoTime());
+        LatencyTracker.Span span = tracker.begin(0);
+        tracker.mark(span, LatencyTracker.Stage.RENDERED);
+
+        double closedMs = Double.parseDouble(reportRows()[1].split(",")[1]);
+        assertTrue("closed " + closedMs + "ms after capture", closedMs >= 10000 && closedMs < 11000);
+    }
+
+    @Test
+    public void missingSpansAndIds_areIgnored() {
+        tracker.mark((LatencyTracker.Span) null, LatencyTracker.Stage.SENT);
+        tracker.mark((String) null, LatencyTracker.Stage.ACKED);
+        tracker.mark("", LatencyTracker.Stage.ACKED);
+        tracker.mark("unknown", LatencyTracker.Stage.ACKED);
+        tracker.bind(null, "chunk_1");
+        tracker.bind(tracker.begin(0), null);
+
+        String summary = tracker.summary();
+        assertEquals(0, countOf(summary, LatencyTracker.Stage.ACKED.label));
+        assertTrue(summary.endsWith("open=0 abandoned=0"));
+    }
+
+    @Test
+    public void reset_forgetsEverything() {
+        LatencyTracker.Span span = tracker.begin(0);
+        tracker.bind(span, "chunk_1");
+        tracker.mark(span, LatencyTracker.Stage.RENDERED);
+        tracker.reset();
+
+        String summary = tracker.summary();
+        assertEquals(0, countOf(summary, LatencyTracker.Stage.CLOSED.label));
+        assertTrue(summary.endsWith("rendered=0 open=0 abandoned=0"));
+    }
+
+    // =============== HELPERS ===============
+
+    // Count column of the summary row for label
+    private static long countOf(String summary, String label) {
+        for (String line : summary.split("\\R")) {
+            if (line.startsWith(label + " ")) {
+                return Long.parseLong(line.substring(label.length()).trim().split("\\s+")[0]);
+            }
+        }
+        throw new AssertionError("no row for " + label + " in\n" + summary);
+    }
+
+    // Header and one row per completed span, after the summary
+    private String[] reportRows() throws IOException {
+        StringWriter out = new StringWriter();
+        tracker.writeReport(out);
+        String report = out.toString();
+        return report.substring(report.indexOf("chunk_id")).split("\n");
+    }
+}
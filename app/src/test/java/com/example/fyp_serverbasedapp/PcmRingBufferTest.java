@@ -0,0 +1,71 @@
+package com.example.fyp_serverbasedapp;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class PcmRingBufferTest {
+
+    private final PcmRingBuffer ring = new PcmRingBuffer(16);
+
+    @Test
+    public void copyOut_roundTripsAcrossTheWrap() {
+        write(new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12});
+        ring.release(12);
+        write(new byte[]{13, 14, 15, 16, 17, 18});
+
+        byte[] out = new byte[8];
+        ring.copyOut(10, out, 0, 8);
+        assertArrayEquals(new byte[]{11, 12, 13, 14, 15, 16, 17, 18}, out);
+        assertEquals(18, ring.writePosition());
+    }
+
+    @Test
+    public void writableContiguous_stopsAtTheEndAndAtUnreleasedData() {
+        assertEquals(16, ring.writableContiguous());
+        ring.commitWrite(10);
+        assertEquals(6, ring.writableContiguous());
+        ring.commitWrite(6);
+        // Full - nothing may be written until the consumer releases
+        assertEquals(0, ring.writableContiguous());
+        ring.release(4);
+        assertEquals(4, ring.writableContiguous());
+    }
+
+    @Test
+    public void contiguousFrom_isBoundedByEndAndWrap() {
+        ring.commitWrite(14);
+        ring.release(12);
+        ring.commitWrite(10);
+        assertEquals(4, ring.contiguousFrom(12, 24));
+        assertEquals(8, ring.contiguousFrom(16, 24));
+        assertEquals(0, ring.contiguousFrom(24, 24));
+    }
+
+    @Test
+    public void release_neverMovesBackwardsOrPastTheWriter() {
+        ring.commitWrite(8);
+        ring.release(6);
+        ring.release(2);
+        assertEquals(6, ring.releasePosition());
+        ring.release(100);
+        assertEquals(8, ring.releasePosition());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void capacity_mustBeAPowerOfTwo() {
+        new PcmRingBuffer(24);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void capacity_mustBePositive() {
+        new PcmRingBuffer(0);
+    }
+
+    private void write(byte[] bytes) {
+        for (byte b : bytes) {
+            ring.array()[ring.writeOffset()] = b;
+            ring.commitWrite(1);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.fyp_serverbasedapp;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ReconnectSchedulerTest {
+
+    private static final long BASE_MS = 1000;
+    private static final long MAX_MS = 30000;
+
+    @Test
+    public void backoff_doublesPerAttempt() {
+        assertEquals(500, ReconnectScheduler.backoffDelayMs(BASE_MS, MAX_MS, 0, 0.0));
+        assertEquals(1000, ReconnectScheduler.backoffDelayMs(BASE_MS, MAX_MS, 1, 0.0));
+        assertEquals(2000, ReconnectScheduler.backoffDelayMs(BASE_MS, MAX_MS, 2, 0.0));
+        assertEquals(4000, ReconnectScheduler.backoffDelayMs(BASE_MS, MAX_MS, 3, 0.0));
+    }
+
+    @Test
+    public void jitter_staysWithinTheUpperHalf() {
+        for (double uniform = 0; uniform < 1; uniform += 0.125) {
+            long delay = ReconnectScheduler.backoffDelayMs(BASE_MS, MAX_MS, 2, uniform);
+            assertTrue(delay >= 2000);
+            assertTrue(delay < 4000);
+        }
+        assertEquals(3999, ReconnectScheduler.backoffDelayMs(BASE_MS, MAX_MS, 2, 0.99999));
+    }
+
+    @Test
+    public void backoff_isCappedAtTheMaximum() {
+        assertEquals(MAX_MS / 2, ReconnectScheduler.backoffDelayMs(BASE_MS, MAX_MS, 5, 0.0));
+        assertTrue(ReconnectScheduler.backoffDelayMs(BASE_MS, MAX_MS, 5, 0.99999) < MAX_MS);
+    }
+
+    @Test
+    public void hugeAttemptCounts_doNotOverflow() {
+        // The shift is bounded, so the delay stays at the cap instead of wrapping negative
+        assertEquals(MAX_MS / 2, ReconnectScheduler.backoffDelayMs(BASE_MS, MAX_MS, 63, 0.0));
+        assertEquals(MAX_MS / 2, ReconnectScheduler.backoffDelayMs(BASE_MS, MAX_MS, Integer.MAX_VALUE, 0.0));
+    }
+
+    @Test
+    public void negativeAttempts_areTreatedAsTheFirst() {
+        assertEquals(500, ReconnectScheduler.backoffDelayMs(BASE_MS, MAX_MS, -3, 0.0));
+    }
+}
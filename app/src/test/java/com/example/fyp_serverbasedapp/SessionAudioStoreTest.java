@@ -0,0 +1,120 @@
+package com.example.fyp_serverbasedapp;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+
+public class SessionAudioStoreTest {
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private File file;
+    private SessionAudioStore store;
+
+    @Before
+    public void setUp() throws IOException {
+        file = new File(folder.getRoot(), "session_audio.pcm");
+        store = new SessionAudioStore(file, 8);
+    }
+
+    @After
+    public void tearDown() {
+        store.close();
+    }
+
+    @Test
+    public void appendThenRead_roundTrips() {
+        store.append(new byte[]{0, 1, 2, 3, 4, 9}, 1, 4);
+
+        byte[] out = new byte[4];
+        assertEquals(4, store.read(0, out, 0, 4));
+        assertArrayEquals(new byte[]{1, 2, 3, 4}, out);
+        assertEquals(4, store.size());
+        assertEquals(0, store.droppedBytes());
+    }
+
+    @Test
+    public void fullWindow_keepsTheNewestBytesAcrossTheWrap() {
+        store.append(new byte[]{1, 2, 3, 4, 5, 6}, 0, 6);
+        store.append(new byte[]{7, 8, 9, 10, 11}, 0, 5);
+
+        byte[] out = new byte[8];
+        assertEquals(3, store.oldestPosition());
+        assertEquals(8, store.read(3, out, 0, 8));
+        assertArrayEquals(new byte[]{4, 5, 6, 7, 8, 9, 10, 11}, out);
+        assertEquals(3, store.droppedBytes());
+    }
+
+    @Test
+    public void appendLargerThanWindow_keepsOnlyItsTail() {
+        store.append(new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10}, 0, 10);
+
+        byte[] out = new byte[8];
+        assertEquals(8, store.read(store.oldestPosition(), out, 0, 8));
+        assertArrayEquals(new byte[]{3, 4, 5, 6, 7, 8, 9, 10}, out);
+        assertEquals(2, store.droppedBytes());
+    }
+
+    @Test
+    public void read_isClippedAtTheEnd() {
+        store.append(new byte[]{1, 2, 3}, 0, 3);
+
+        byte[] out = new byte[8];
+        assertEquals(2, store.read(1, out, 0, 8));
+        assertEquals(2, out[0]);
+        assertEquals(3, out[1]);
+        assertEquals(0, store.read(3, out, 0, 8));
+    }
+
+    @Test
+    public void appendsWhileReading_doNotShiftTheCapturedRange() {
+        store.append(new byte[]{1, 2, 3, 4}, 0, 4);
+        long from = store.oldestPosition();
+        int total = (int) (store.endPosition() - from);
+
+        byte[] out = new byte[total];
+        assertEquals(2, store.read(from, out, 0, 2));
+        // The window fills up and starts overwriting while the reader is half way through
+        store.append(new byte[]{5, 6, 7, 8, 9}, 0, 5);
+        assertEquals(2, store.read(from + 2, out, 2, total - 2));
+
+        assertArrayEquals(new byte[]{1, 2, 3, 4}, out);
+    }
+
+    @Test
+    public void read_reportsOverwrittenAudio() {
+        store.append(new byte[]{1, 2, 3, 4}, 0, 4);
+        long from = store.oldestPosition();
+        store.append(new byte[]{5, 6, 7, 8, 9, 10}, 0, 6);
+
+        assertEquals(-1, store.read(from, new byte[4], 0, 4));
+        assertEquals(4, store.read(from + 2, new byte[4], 0, 4));
+    }
+
+    @Test
+    public void clear_forgetsEverything() {
+        store.append(new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9}, 0, 9);
+        long before = store.oldestPosition();
+        store.clear();
+
+        assertEquals(0, store.size());
+        assertEquals(0, store.droppedBytes());
+        assertEquals(-1, store.read(before, new byte[4], 0, 4));
+        assertEquals(0, store.read(store.oldestPosition(), new byte[4], 0, 4));
+    }
+
+    @Test
+    public void close_deletesTheFile() {
+        assertTrue(file.exists());
+        store.close();
+        assertFalse(file.exists());
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.fyp_serverbasedapp;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class SpeechChunkerTest {
+
+    private static final int SAMPLE_RATE = 16000;
+    private static final int BYTES_PER_MS = SAMPLE_RATE * 2 / 1000;
+    private static final int MIN_MS = 1500;
+    private static final int MAX_MS = 4000;
+    private static final int OVERLAP_MS = 500;
+
+    private static final class Chunk {
+        final long position;
+        final int length;
+        final int overlap;
+        final boolean hasSpeech;
+
+        Chunk(long position, int length, int overlap, boolean hasSpeech) {
+            this.position = position;
+            this.length = length;
+            this.overlap = overlap;
+            this.hasSpeech = hasSpeech;
+        }
+    }
+
+    private final List<Chunk> chunks = new ArrayList<>();
+    private final SpeechChunker chunker = new SpeechChunker(SAMPLE_RATE, MIN_MS, MAX_MS, OVERLAP_MS,
+            (position, length, overlapBytes, hasSpeech) -> chunks.add(new Chunk(position, length, overlapBytes, hasSpeech)));
+
+    @Test
+    public void pauseAfterMinimum_cutsInsideThePause() {
+        byte[] pcm = concat(tone(2000), silence(300), tone(2000));
+        writeInReads(pcm, 0);
+
+        assertEquals(1, chunks.size());
+        Chunk chunk = chunks.get(0);
+        assertEquals(0, chunk.position);
+        assertEquals(0, chunk.overlap);
+        assertTrue(chunk.hasSpeech);
+        assertTrue("cut before the pause: " + chunk.length, chunk.length > 2000 * BYTES_PER_MS);
+        assertTrue("cut after the pause: " + chunk.length, chunk.length <= 2300 * BYTES_PER_MS);
+    }
+
+    @Test
+    public void pauseBeforeMinimum_doesNotCut() {
+        writeInReads(concat(tone(800), silence(300), tone(800)), 0);
+        assertTrue(chunks.isEmpty());
+    }
+
+    @Test
+    public void noPause_cutsByMaximumAndChunksJoinUp() {
+        writeInReads(tone(13000), 0);
+
+        assertTrue(chunks.size() >= 3);
+        for (int i = 0; i < chunks.size(); i++) {
+            Chunk chunk = chunks.get(i);
+            int newBytes = chunk.length - chunk.overlap;
+            assertTrue("chunk " + i + " too short: " + newBytes, newBytes >= MIN_MS * BYTES_PER_MS);
+            assertTrue("chunk " + i + " too long: " + newBytes, newBytes <= MAX_MS * BYTES_PER_MS);
+            assertEquals(0, chunk.length % 2);
+            if (i > 0) {
+                Chunk previous = chunks.get(i - 1);
+                // The carried overlap is exactly the tail of the previous chunk
+                assertEquals(OVERLAP_MS * BYTES_PER_MS, chunk.overlap);
+                assertEquals(previous.position + previous.length, chunk.position + chunk.overlap);
+            }
+        }
+    }
+
+    @Test
+    public void endOfSpeech_flushesEnoughPendingAudioWithoutOverlap() {
+        writeInReads(tone(1000), 0);
+        chunker.endOfSpeech(300 * BYTES_PER_MS);
+
+        assertEquals(1, chunks.size());
+        assertEquals(0, chunks.get(0).position);
+        assertEquals(1000 * BYTES_PER_MS, chunks.get(0).length);
+        assertEquals(-1, chunker.chunkStart());
+    }
+
+    @Test
+    public void endOfSpeech_dropsShortRemainder() {
+        writeInReads(tone(200), 0);
+        chunker.endOfSpeech(300 * BYTES_PER_MS);
+
+        assertTrue(chunks.isEmpty());
+        assertEquals(0, chunker.pendingBytes());
+    }
+
+    @Test
+    public void gapInPositions_startsAFreshChunk() {
+        writeInReads(tone(1000), 0);
+        long resumeAt = 100_000;
+        writeInReads(tone(1000), resumeAt);
+        chunker.endOfSpeech(2);
+
+        assertEquals(1, chunks.size());
+        assertEquals(resumeAt, chunks.get(0).position);
+        assertEquals(1000 * BYTES_PER_MS, chunks.get(0).length);
+    }
+
+    @Test
+    public void chunkStart_tracksOldestNeededPosition() {
+        assertEquals(-1, chunker.chunkStart());
+        writeInReads(tone(100), 640);
+        assertEquals(640, chunker.chunkStart());
+    }
+
+    @Test
+    public void emptyAndSingleByteWrites_areIgnored() {
+        byte[] pcm = tone(20);
+        chunker.write(pcm, 0, 0, 0, true);
+        chunker.write(pcm, 0, 1, 0, true);
+
+        assertEquals(-1, chunker.chunkStart());
+        assertEquals(0, chunker.pendingBytes());
+    }
+
+    // =============== HELPERS ===============
+
+    private void writeInReads(byte[] pcm, long startPosition) {
+        int read = 20 * BYTES_PER_MS;
+        for (int offset = 0; offset < pcm.length; offset += read) {
+            int length = Math.min(read, pcm.length - offset);
+            chunker.write(pcm, offset, length, startPosition + offset, true);
+        }
+    }
+
+    private static byte[] tone(int millis) {
+        byte[] pcm = new byte[millis * BYTES_PER_MS];
+        double peak = 32768 * 0.25;
+        for (int i = 0; i < pcm.length; i += 2) {
+            int sample = (int) Math.round(peak * Math.sin(2 * Math.PI * 180 * (i / 2) / SAMPLE_RATE));
+            pcm[i] = (byte) sample;
+            pcm[i + 1] = (byte) (sample >> 8);
+        }
+        return pcm;
+    }
+
+    private static byte[] silence(int millis) {
+        return new byte[millis * BYTES_PER_MS];
+    }
+
+    private static byte[] concat(byte[]... parts) {
+        int length = 0;
+        for (byte[] part : parts) {
+            length += part.length;
+        }
+        byte[] joined = new byte[length];
+        int offset = 0;
+        for (byte[] part : parts) {
+            System.arraycopy(part, 0, joined, offset, part.length);
+            offset += part.length;
+        }
+        return joined;
+    }
+}
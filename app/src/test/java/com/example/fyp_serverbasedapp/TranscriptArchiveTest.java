@@ -0,0 +1,81 @@
+package com.example.fyp_serverbasedapp;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class TranscriptArchiveTest {
+
+    private final TranscriptArchive archive = new TranscriptArchive();
+
+    @Test
+    public void rows_comeBackAsStored() {
+        archive.add(1, false, "YOU", "hello there", true, 0xFF00FF00);
+        archive.add(-1, true, "", "Connection lost", false, 0xFFFF0000);
+        archive.add(2, false, "Speaker 01", "caf\u00e9 at ten", false, 0xFF0000FF);
+
+        assertEquals(3, archive.size());
+        assertEquals(1, archive.id(0));
+        assertEquals("YOU", archive.speakerName(0));
+        assertEquals("hello there", archive.text(0));
+        assertTrue(archive.isWearer(0));
+        assertFalse(archive.isNotice(0));
+        assertEquals(0xFF00FF00, archive.color(0));
+
+        assertEquals(-1, archive.id(1));
+        assertTrue(archive.isNotice(1));
+        assertEquals("", archive.speakerName(1));
+        assertEquals("Connection lost", archive.text(1));
+
+        assertEquals("caf\u00e9 at ten", archive.text(2));
+        assertFalse(archive.isWearer(2));
+    }
+
+    @Test
+    public void manyRows_growPastTheInitialCapacity() {
+        for (int i = 0; i < 1000; i++) {
+            archive.add(i + 1, false, i % 2 == 0 ? "YOU" : "Speaker 00", "line " + i, i % 2 == 0, i);
+        }
+
+        assertEquals(1000, archive.size());
+        assertEquals("line 0", archive.text(0));
+        assertEquals("line 999", archive.text(999));
+        assertEquals("Speaker 00", archive.speakerName(999));
+        assertEquals(999, archive.color(999));
+    }
+
+    @Test
+    public void text_isHeldAsUtf8() {
+        archive.add(1, false, "YOU", "abcd", true, 0);
+        archive.add(2, false, "YOU", "\u00e9", true, 0);
+
+        assertEquals(6, archive.textBytes());
+    }
+
+    @Test
+    public void emptyText_isARow() {
+        archive.add(1, false, "YOU", "", true, 0);
+        archive.add(2, false, "YOU", "x", true, 0);
+
+        assertEquals("", archive.text(0));
+        assertEquals("x", archive.text(1));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void read_pastTheEndIsRejected() {
+        archive.add(1, false, "YOU", "hi", true, 0);
+        archive.text(1);
+    }
+
+    @Test
+    public void clear_dropsAllRows() {
+        archive.add(1, false, "YOU", "hi", true, 0);
+        archive.clear();
+
+        assertEquals(0, archive.size());
+        assertEquals(0, archive.textBytes());
+        archive.add(5, false, "Speaker 02", "again", false, 0);
+        assertEquals("Speaker 02", archive.speakerName(0));
+        assertEquals("again", archive.text(0));
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.fyp_serverbasedapp;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class TranscriptModelTest {
+
+    private final TranscriptModel model = new TranscriptModel();
+
+    @Test
+    public void partialThenFinal_updatesOneBubbleInPlace() {
+        TranscriptModel.Bubble first = model.apply("YOU", true, "hel", "chunk_1", 0.0, true);
+        TranscriptModel.Bubble second = model.apply("YOU", true, "hello wor", "chunk_1", 0.0, true);
+        TranscriptModel.Bubble last = model.apply("YOU", true, "hello world", "chunk_1", 0.0, false);
+
+        assertSame(first, second);
+        assertSame(first, last);
+        assertEquals("hello world", last.text());
+        assertFalse(last.isPartial());
+    }
+
+    @Test
+    public void twoSpeakersInOneChunk_keepTheirOwnSegments() {
+        // Streaming sends every segment of a session under the same chunk id
+        TranscriptModel.Bubble wearer = model.apply("YOU", true, "how are", "stream_1", 0.0, true);
+        TranscriptModel.Bubble other = model.apply("Speaker 01", false, "fine thanks", "stream_1", 2.4, true);
+        assertSame(wearer, model.apply("YOU", true, "how are you", "stream_1", 0.0, false));
+        assertSame(other, model.apply("Speaker 01", false, "fine thanks and you", "stream_1", 2.4, false));
+
+        assertNotSame(wearer, other);
+        assertEquals("how are you", wearer.text());
+        assertEquals("fine thanks and you", other.text());
+    }
+
+    @Test
+    public void missingStart_refinesTheChunksOpenPartial() {
+        TranscriptModel.Bubble bubble = model.apply("YOU", true, "hel", "chunk_1", -1, true);
+        assertSame(bubble, model.apply("YOU", true, "hello", "chunk_1", -1, false));
+        assertEquals("hello", bubble.text());
+    }
+
+    @Test
+    public void latePartial_neverReplacesFinalText() {
+        TranscriptModel.Bubble bubble = model.apply("YOU", true, "final", "chunk_1", 0.0, false);
+        assertNull(model.apply("YOU", true, "fin", "chunk_1", 0.0, true));
+        assertEquals("final", bubble.text());
+    }
+
+    @Test
+    public void resentSegment_isDropped() {
+        model.apply("Speaker 01", false, "good morning", "chunk_1", 1.0, false);
+        assertNull(model.apply("Speaker 01", false, "good morning", "chunk_1", 1.0, false));
+        // Overlapping audio in the next chunk produces the same words again
+        assertNull(model.apply("Speaker 01", false, "Good morning", "chunk_2", 0.2, false));
+    }
+
+    @Test
+    public void sameSpeaker_mergesIntoOneBubble() {
+        TranscriptModel.Bubble bubble = model.apply("YOU", true, "one", "chunk_1", 0.0, false);
+        assertSame(bubble, model.apply("YOU", true, "two", "chunk_2", 0.0, false));
+        assertEquals("one two", bubble.text());
+    }
+
+    @Test
+    public void speakerChange_startsANewBubble() {
+        TranscriptModel.Bubble wearer = model.apply("YOU", true, "question", "chunk_1", 0.0, false);
+        TranscriptModel.Bubble other = model.apply("Speaker 01", false, "answer", "chunk_1", 1.5, false);
+
+        assertNotSame(wearer, other);
+        assertTrue(other.id > wearer.id);
+        assertTrue(wearer.id > 0);
+    }
+
+    @Test
+    public void partialBubble_isNotMergedInto() {
+        TranscriptModel.Bubble open = model.apply("YOU", true, "still talk", "chunk_1", 0.0, true);
+        assertNotSame(open, model.apply("YOU", true, "next", "chunk_2", 0.0, false));
+    }
+
+    @Test
+    public void longMonologue_isSplitAcrossBubbles() {
+        StringBuilder sentence = new StringBuilder();
+        for (int i = 0; i < 40; i++) {
+            sentence.append("word ");
+        }
+        TranscriptModel.Bubble first = model.apply("YOU", true, sentence + "a", "chunk_1", 0.0, false);
+        TranscriptModel.Bubble second = model.apply("YOU", true, sentence + "b", "chunk_2", 0.0, false);
+        TranscriptModel.Bubble third = model.apply("YOU", true, sentence + "c", "chunk_3", 0.0, false);
+
+        assertSame(first, second);
+        assertNotSame(second, third);
+        assertTrue(first.text().length() < 600);
+    }
+
+    @Test
+    public void blankText_isIgnored() {
+        assertNull(model.apply("YOU", true, "   ", "chunk_1", 0.0, false));
+        assertNull(model.apply("YOU", true, "", null, -1, false));
+    }
+
+    @Test
+    public void missingChunkId_neverMatchesAnEarlierSegment() {
+        TranscriptModel.Bubble first = model.apply("YOU", true, "hi", null, -1, true);
+        TranscriptModel.Bubble second = model.apply("YOU", true, "there", null, -1, true);
+
+        assertNotSame(first, second);
+        assertEquals("hi", first.text());
+    }
+
+    @Test
+    public void clear_startsAFreshTranscript() {
+        TranscriptModel.Bubble before = model.apply("YOU", true, "hello", "chunk_1", 0.0, false);
+        model.clear();
+        TranscriptModel.Bubble after = model.apply("YOU", true, "hello", "chunk_1", 0.0, false);
+
+        assertNotNull(after);
+        assertNotSame(before, after);
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.fyp_serverbasedapp;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class TtsAudioCacheTest {
+
+    // 10 bytes of WAV + 4 chars of Base64 = 18 bytes per clip
+    private static final long CLIP_BYTES = 18;
+
+    private final TtsAudioCache cache = new TtsAudioCache(3, 5 * CLIP_BYTES);
+
+    @Test
+    public void put_thenGetReturnsTheSameClip() {
+        TtsAudioCache.Clip clip = clip();
+        String key = TtsAudioCache.key("thumbs up", "en-US/voice1");
+        cache.put(key, clip);
+
+        assertSame(clip, cache.get(key));
+        assertTrue(cache.contains(key));
+        assertNull(cache.get(TtsAudioCache.key("thumbs up", "en-GB/voice1")));
+        assertTrue(cache.metricsSummary().contains("hits=1 misses=1"));
+    }
+
+    @Test
+    public void key_separatesVoiceFromText() {
+        assertNotEquals(TtsAudioCache.key("b", "a"), TtsAudioCache.key("", "a\nb"));
+    }
+
+    @Test
+    public void entryLimit_evictsTheLeastRecentlySpoken() {
+        cache.put("a", clip());
+        cache.put("b", clip());
+        cache.put("c", clip());
+        cache.get("a"); // a is now the most recent
+        cache.put("d", clip());
+
+        assertTrue(cache.contains("a"));
+        assertFalse(cache.contains("b"));
+        assertTrue(cache.contains("c"));
+        assertTrue(cache.contains("d"));
+    }
+
+    @Test
+    public void byteLimit_evictsOldestUntilItFits() {
+        cache.put("small", clip());
+        cache.put("big", new TtsAudioCache.Clip(new byte[54], "AAAA")); // 62 bytes
+
+        cache.put("next", clip());
+
+        assertFalse(cache.contains("small"));
+        assertTrue(cache.contains("big"));
+        assertTrue(cache.contains("next"));
+        assertTrue(cache.metricsSummary().contains("bytes=" + (62 + CLIP_BYTES)));
+    }
+
+    @Test
+    public void clipLargerThanTheCache_isNotStored() {
+        cache.put("a", clip());
+        cache.put("huge", new TtsAudioCache.Clip(new byte[100], "AAAA"));
+
+        assertFalse(cache.contains("huge"));
+        assertTrue(cache.contains("a"));
+    }
+
+    @Test
+    public void replacingAKey_doesNotDoubleCount() {
+        cache.put("a", clip());
+        cache.put("a", clip());
+
+        assertTrue(cache.metricsSummary().startsWith("entries=1 bytes=" + CLIP_BYTES));
+    }
+
+    @Test
+    public void clear_emptiesTheCache() {
+        cache.put("a", clip());
+        cache.clear();
+
+        assertFalse(cache.contains("a"));
+        assertTrue(cache.metricsSummary().startsWith("entries=0 bytes=0"));
+    }
+
+    private static TtsAudioCache.Clip clip() {
+        return new TtsAudioCache.Clip(new byte[10], "AAAA");
+    }
+}
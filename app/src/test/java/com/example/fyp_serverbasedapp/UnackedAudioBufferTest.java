@@ -0,0 +1,86 @@
+package com.example.fyp_serverbasedapp;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class UnackedAudioBufferTest {
+
+    private final UnackedAudioBuffer buffer = new UnackedAudioBuffer(10);
+
+    @Test
+    public void snapshot_returnsPayloadsInSendOrder() {
+        buffer.retain(0, "chunk_1", "aa");
+        buffer.retain(1, "chunk_2", new byte[]{1, 2, 3});
+        buffer.retain(2, "chunk_3", "bbbb");
+
+        assertEquals(3, buffer.size());
+        assertEquals(9, buffer.bytes());
+        assertEquals("aa", buffer.snapshot().get(0));
+        assertArrayEquals(new byte[]{1, 2, 3}, (byte[]) buffer.snapshot().get(1));
+        assertEquals("bbbb", buffer.snapshot().get(2));
+    }
+
+    @Test
+    public void ack_removesOneMessage() {
+        buffer.retain(0, "chunk_1", "aa");
+        buffer.retain(1, "chunk_2", "bb");
+        buffer.ack(0);
+        buffer.ack(7); // Unknown sequence - nothing happens
+
+        assertEquals(Arrays.asList((Object) "bb"), buffer.snapshot());
+        assertEquals(2, buffer.bytes());
+    }
+
+    @Test
+    public void ackChunk_removesEveryFrameOfTheStream() {
+        buffer.retain(0, "stream_1", "a");
+        buffer.retain(1, "stream_1", "b");
+        buffer.retain(2, "stream_2", "c");
+        buffer.ackChunk("stream_1");
+
+        assertEquals(Arrays.asList((Object) "c"), buffer.snapshot());
+        assertEquals(1, buffer.bytes());
+    }
+
+    @Test
+    public void retainSameSequence_replacesWithoutDoubleCounting() {
+        buffer.retain(0, "chunk_1", "aaaa");
+        buffer.retain(0, "chunk_1", "aaaa");
+
+        assertEquals(1, buffer.size());
+        assertEquals(4, buffer.bytes());
+    }
+
+    @Test
+    public void overCapacity_evictsOldestFirst() {
+        buffer.retain(0, "chunk_1", "aaaa");
+        buffer.retain(1, "chunk_2", "bbbb");
+        buffer.retain(2, "chunk_3", "cccc");
+
+        assertEquals(Arrays.asList((Object) "bbbb", "cccc"), buffer.snapshot());
+        assertEquals(8, buffer.bytes());
+        assertEquals(1, buffer.evictedCount());
+    }
+
+    @Test
+    public void messageLargerThanCapacity_isNotKept() {
+        buffer.retain(0, "chunk_1", "0123456789A");
+
+        assertEquals(0, buffer.size());
+        assertEquals(0, buffer.bytes());
+        assertEquals(1, buffer.evictedCount());
+    }
+
+    @Test
+    public void clear_dropsEverything() {
+        buffer.retain(0, "chunk_1", "aa");
+        buffer.clear();
+
+        assertEquals(0, buffer.size());
+        assertEquals(0, buffer.bytes());
+        assertTrue(buffer.snapshot().isEmpty());
+    }
+}
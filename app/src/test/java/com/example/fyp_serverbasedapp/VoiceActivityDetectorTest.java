@@ -0,0 +1,183 @@
+package com.example.fyp_serverbasedapp;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class VoiceActivityDetectorTest {
+
+    private static final int SAMPLE_RATE = 16000;
+    private static final int READ_MS = 20;
+    private static final int HANGOVER_MS = 300;
+
+    private final Random random = new Random(1234);
+    private final VoiceActivityDetector vad = new VoiceActivityDetector(SAMPLE_RATE, HANGOVER_MS);
+
+    @Test
+    public void silence_isNeverSpeech() {
+        assertEquals(0, countSpeechReads(new byte[ms(3000) * 2]));
+        assertFalse(vad.isInSpeech());
+    }
+
+    @Test
+    public void steadyWhiteNoise_stopsCountingAsSpeech() {
+        // Well above the initial floor: counts as speech until the floor catches up
+        byte[] noise = whiteNoise(6000, -35);
+        boolean[] speech = processInReads(noise);
+
+        assertFalse("noise still speech after 2.5s", anyTrue(speech, 2500, 6000));
+        assertFalse(vad.isInSpeech());
+    }
+
+    @Test
+    public void steadyHum_stopsCountingAsSpeech() {
+        // Low-frequency and voiced-looking (low zero-crossing rate), like a fan or mains hum
+        byte[] hum = sine(6000, 120, -30);
+        boolean[] speech = processInReads(hum);
+
+        assertFalse("hum still speech after 2.5s", anyTrue(speech, 2500, 6000));
+    }
+
+    @Test
+    public void speechAfterNoise_isDetectedAndEnds() {
+        byte[] noise = whiteNoise(3000, -40);
+        byte[] speech = syllables(1500, -15, noise);
+        byte[] after = whiteNoise(2000, -40);
+
+        assertFalse(anyTrue(processInReads(noise), 2500, 3000));
+
+        boolean[] duringSpeech = processInReads(speech);
+        assertTrue("onset missed", anyTrue(duringSpeech, 0, 100));
+        assertTrue("speech dropped out", allTrue(duringSpeech, 100, 1500));
+
+        boolean[] afterSpeech = processInReads(after);
+        assertFalse("speech never ended", anyTrue(afterSpeech, HANGOVER_MS + 200, 2000));
+    }
+
+    @Test
+    public void longSpeechWithPauses_staysDetectedBeyondTheMinimumWindow() {
+        byte[] noise = whiteNoise(1000, -45);
+        processInReads(noise);
+
+        // Several minimum-statistics blocks of talking - the gaps keep the floor at the noise
+        boolean[] speech = processInReads(syllables(5000, -20, whiteNoise(5000, -45)));
+        assertTrue(allTrue(speech, 100, 5000));
+    }
+
+    @Test
+    public void speechStarted_onlyOnTheFirstBufferOfASegment() {
+        processInReads(new byte[ms(500) * 2]);
+        byte[] tone = sine(200, 200, -15);
+
+        vad.process(tone, 0, ms(READ_MS) * 2);
+        vad.process(tone, ms(READ_MS) * 2, ms(READ_MS) * 2);
+        assertTrue(vad.speechStarted());
+        vad.process(tone, ms(2 * READ_MS) * 2, ms(READ_MS) * 2);
+        assertFalse(vad.speechStarted());
+    }
+
+    @Test
+    public void oddLengthAndPartialFrames_areCarriedAcrossReads() {
+        byte[] tone = sine(400, 200, -15);
+        // Tiny uneven reads still add up to whole analysis frames
+        boolean sawSpeech = false;
+        for (int pos = 0; pos + 7 <= tone.length; pos += 6) {
+            sawSpeech |= vad.process(tone, pos, 7);
+        }
+        assertTrue(sawSpeech);
+    }
+
+    @Test
+    public void reset_forgetsTheAdaptedFloor() {
+        processInReads(whiteNoise(4000, -35));
+        vad.reset();
+        // Back at the initial floor the same noise is loud again
+        assertTrue(anyTrue(processInReads(whiteNoise(200, -35)), 0, 200));
+    }
+
+    // =============== HELPERS ===============
+
+    private static int ms(int millis) {
+        return SAMPLE_RATE * millis / 1000;
+    }
+
+    // One result per READ_MS read
+    private boolean[] processInReads(byte[] pcm) {
+        int readBytes = ms(READ_MS) * 2;
+        boolean[] results = new boolean[pcm.length / readBytes];
+        for (int i = 0; i < results.length; i++) {
+            results[i] = vad.process(pcm, i * readBytes, readBytes);
+        }
+        return results;
+    }
+
+    private int countSpeechReads(byte[] pcm) {
+        int count = 0;
+        for (boolean speech : processInReads(pcm)) {
+            if (speech) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static boolean anyTrue(boolean[] reads, int fromMs, int toMs) {
+        for (int i = fromMs / READ_MS; i < Math.min(reads.length, toMs / READ_MS); i++) {
+            if (reads[i]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean allTrue(boolean[] reads, int fromMs, int toMs) {
+        for (int i = fromMs / READ_MS; i < Math.min(reads.length, toMs / READ_MS); i++) {
+            if (!reads[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static double amplitude(double rmsDb) {
+        return 32768.0 * Math.pow(10, rmsDb / 20.0);
+    }
+
+    private byte[] whiteNoise(int millis, double rmsDb) {
+        double rms = amplitude(rmsDb);
+        byte[] pcm = new byte[ms(millis) * 2];
+        for (int i = 0; i < pcm.length; i += 2) {
+            put(pcm, i, random.nextGaussian() * rms);
+        }
+        return pcm;
+    }
+
+    private static byte[] sine(int millis, double hz, double rmsDb) {
+        double peak = amplitude(rmsDb) * Math.sqrt(2);
+        byte[] pcm = new byte[ms(millis) * 2];
+        for (int i = 0; i < pcm.length; i += 2) {
+            put(pcm, i, peak * Math.sin(2 * Math.PI * hz * (i / 2) / SAMPLE_RATE));
+        }
+        return pcm;
+    }
+
+    // 150ms voiced syllables with 50ms gaps of the given background in between
+    private static byte[] syllables(int millis, double rmsDb, byte[] background) {
+        byte[] pcm = sine(millis, 180, rmsDb);
+        int syllable = ms(150) * 2;
+        int gap = ms(50) * 2;
+        for (int start = syllable; start < pcm.length; start += syllable + gap) {
+            int end = Math.min(pcm.length, start + gap);
+            System.arraycopy(background, start, pcm, start, end - start);
+        }
+        return pcm;
+    }
+
+    private static void put(byte[] pcm, int i, double value) {
+        int sample = (int) Math.max(-32768, Math.min(32767, Math.round(value)));
+        pcm[i] = (byte) sample;
+        pcm[i + 1] = (byte) (sample >> 8);
+    }
+}
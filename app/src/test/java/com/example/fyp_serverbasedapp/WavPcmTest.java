@@ -0,0 +1,140 @@
+package com.example.fyp_serverbasedapp;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+
+import static org.junit.Assert.*;
+
+public class WavPcmTest {
+
+    @Test
+    public void plainPcm_findsTheSamples() {
+        byte[] wav = new Wav().fmt(1, 1, 22050, 16).data(8, 100).build();
+
+        WavPcm pcm = WavPcm.parse(wav, wav.length);
+
+        assertEquals(22050, pcm.sampleRate);
+        assertEquals(1, pcm.channels);
+        assertEquals(44, pcm.offset);
+        assertEquals(100, pcm.length);
+        assertEquals(8, wav[pcm.offset]);
+    }
+
+    @Test
+    public void extraChunks_areSkippedIncludingOddPadding() {
+        byte[] wav = new Wav().chunk("LIST", 5).fmt(0xFFFE, 2, 44100, 16).chunk("fact", 4).data(1, 40).build();
+
+        WavPcm pcm = WavPcm.parse(wav, wav.length);
+
+        assertEquals(2, pcm.channels);
+        assertEquals(44100, pcm.sampleRate);
+        assertEquals(40, pcm.length);
+        assertEquals(1, wav[pcm.offset]);
+    }
+
+    @Test
+    public void streamingSize_takesWhatIsThere() {
+        byte[] wav = new Wav().fmt(1, 1, 16000, 16).data(3, 60).build();
+        setInt(wav, 40, -1);
+        assertEquals(60, WavPcm.parse(wav, wav.length).length);
+        setInt(wav, 40, 0);
+        assertEquals(60, WavPcm.parse(wav, wav.length).length);
+    }
+
+    @Test
+    public void truncatedData_isCutToWholeFrames() {
+        byte[] wav = new Wav().fmt(1, 2, 16000, 16).data(3, 64).build();
+        // Declared 64 bytes, but only 7 arrived
+        assertEquals(4, WavPcm.parse(wav, 44 + 7).length);
+    }
+
+    @Test
+    public void unsupportedFormats_returnNull() {
+        byte[] eightBit = new Wav().fmt(1, 1, 16000, 8).data(0, 10).build();
+        byte[] floatPcm = new Wav().fmt(3, 1, 16000, 16).data(0, 10).build();
+        byte[] sixChannels = new Wav().fmt(1, 6, 16000, 16).data(0, 12).build();
+
+        assertNull(WavPcm.parse(eightBit, eightBit.length));
+        assertNull(WavPcm.parse(floatPcm, floatPcm.length));
+        assertNull(WavPcm.parse(sixChannels, sixChannels.length));
+    }
+
+    @Test
+    public void malformedFiles_returnNull() {
+        byte[] wav = new Wav().fmt(1, 1, 16000, 16).data(0, 10).build();
+
+        assertNull(WavPcm.parse(wav, 11));
+        assertNull(WavPcm.parse("RIFF....WAVX".getBytes(), 12));
+        assertNull(WavPcm.parse(new byte[0], 0));
+
+        byte[] noFmt = new Wav().data(0, 10).build();
+        assertNull(WavPcm.parse(noFmt, noFmt.length));
+
+        byte[] badChunk = new Wav().chunk("LIST", 4).fmt(1, 1, 16000, 16).data(0, 10).build();
+        setInt(badChunk, 16, 1000); // LIST claims to run past the end
+        assertNull(WavPcm.parse(badChunk, badChunk.length));
+
+        byte[] shortFmt = new Wav().fmt(1, 1, 16000, 16).build();
+        assertNull(WavPcm.parse(shortFmt, shortFmt.length - 4));
+    }
+
+    // =============== HELPERS ===============
+
+    private static final class Wav {
+        private final ByteArrayOutputStream chunks = new ByteArrayOutputStream();
+
+        Wav fmt(int audioFormat, int channels, int sampleRate, int bits) {
+            byte[] body = new byte[16];
+            setShort(body, 0, audioFormat);
+            setShort(body, 2, channels);
+            setInt(body, 4, sampleRate);
+            setInt(body, 8, sampleRate * channels * bits / 8);
+            setShort(body, 12, channels * bits / 8);
+            setShort(body, 14, bits);
+            return add("fmt ", body);
+        }
+
+        Wav data(int fill, int length) {
+            byte[] body = new byte[length];
+            java.util.Arrays.fill(body, (byte) fill);
+            return add("data", body);
+        }
+
+        Wav chunk(String tag, int length) {
+            return add(tag, new byte[length]);
+        }
+
+        private Wav add(String tag, byte[] body) {
+            byte[] header = new byte[8];
+            System.arraycopy(tag.getBytes(), 0, header, 0, 4);
+            setInt(header, 4, body.length);
+            chunks.write(header, 0, 8);
+            chunks.write(body, 0, body.length);
+            if ((body.length & 1) != 0) {
+                chunks.write(0);
+            }
+            return this;
+        }
+
+        byte[] build() {
+            byte[] body = chunks.toByteArray();
+            byte[] wav = new byte[12 + body.length];
+            System.arraycopy("RIFF".getBytes(), 0, wav, 0, 4);
+            setInt(wav, 4, 4 + body.length);
+            System.arraycopy("WAVE".getBytes(), 0, wav, 8, 4);
+            System.arraycopy(body, 0, wav, 12, body.length);
+            return wav;
+        }
+    }
+
+    private static void setShort(byte[] data, int pos, int value) {
+        data[pos] = (byte) value;
+        data[pos + 1] = (byte) (value >> 8);
+    }
+
+    private static void setInt(byte[] data, int pos, int value) {
+        setShort(data, pos, value);
+        setShort(data, pos + 2, value >> 16);
+    }
+}
@@ -0,0 +1,216 @@
+package com.example.fyp_serverbasedapp;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class WebSocketSendSchedulerTest {
+
+    private static final class FakeTransport implements WebSocketSendScheduler.Transport {
+        final List<Object> sent = new CopyOnWriteArrayList<>();
+        volatile boolean open = false;
+        volatile boolean closeOnNextSend = false;
+
+        @Override
+        public boolean isOpen() {
+            return open;
+        }
+
+        @Override
+        public void sendText(String text) {
+            write(text);
+        }
+
+        @Override
+        public void sendBinary(byte[] data) {
+            write(data);
+        }
+
+        private void write(Object payload) {
+            if (closeOnNextSend) {
+                // What the socket library does when the connection drops under a send
+                closeOnNextSend = false;
+                open = false;
+                throw new IllegalStateException("not connected");
+            }
+            sent.add(payload);
+        }
+
+        @Override
+        public long bufferedBytes() {
+            return 0;
+        }
+    }
+
+    private final FakeTransport transport = new FakeTransport();
+    private final WebSocketSendScheduler scheduler = new WebSocketSendScheduler(transport, Thread::new);
+
+    @After
+    public void tearDown() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    public void closedSocket_keepsMessagesQueuedUntilItOpens() throws Exception {
+        assertTrue(scheduler.enqueue(WebSocketSendScheduler.Lane.AUDIO, 5, () -> "audio"));
+        assertTrue(scheduler.enqueue(WebSocketSendScheduler.Lane.CONTROL, 5, () -> "join"));
+        Thread.sleep(100);
+        assertTrue(transport.sent.isEmpty());
+        assertEquals(1, scheduler.queueDepth(WebSocketSendScheduler.Lane.AUDIO));
+
+        transport.open = true;
+        awaitSent(2);
+        // Control before audio
+        assertEquals("join", transport.sent.get(0));
+        assertEquals("audio", transport.sent.get(1));
+    }
+
+    @Test
+    public void socketClosingDuringSend_requeuesTheBuiltMessage() throws Exception {
+        AtomicInteger builds = new AtomicInteger();
+        AtomicInteger failures = new AtomicInteger();
+        transport.open = true;
+        transport.closeOnNextSend = true;
+        scheduler.enqueue(WebSocketSendScheduler.Lane.AUDIO, 5, new WebSocketSendScheduler.Message() {
+            @Override
+            public Object build() {
+                return "audio#" + builds.incrementAndGet();
+            }
+
+            @Override
+            public void onFailed(Exception e) {
+                failures.incrementAndGet();
+            }
+        });
+        awaitCondition(() -> scheduler.queueDepth(WebSocketSendScheduler.Lane.AUDIO) == 1 && !transport.open);
+        assertTrue(transport.sent.isEmpty());
+
+        transport.open = true;
+        awaitSent(1);
+        // Sent as first built - build() assigns sequence numbers and must not run twice
+        assertEquals("audio#1", transport.sent.get(0));
+        assertEquals(1, builds.get());
+        assertEquals(0, failures.get());
+    }
+
+    @Test
+    public void buildFailure_isReportedNotRetried() throws Exception {
+        AtomicInteger failures = new AtomicInteger();
+        transport.open = true;
+        scheduler.enqueue(WebSocketSendScheduler.Lane.CONTROL, 5, new WebSocketSendScheduler.Message() {
+            @Override
+            public Object build() throws Exception {
+                throw new Exception("bad message");
+            }
+
+            @Override
+            public void onFailed(Exception e) {
+                failures.incrementAndGet();
+            }
+        });
+        awaitCondition(() -> failures.get() == 1);
+        assertEquals(0, scheduler.queueDepth(WebSocketSendScheduler.Lane.CONTROL));
+    }
+
+    @Test
+    public void unsupportedPayload_failsInsteadOfCountingAsSent() throws Exception {
+        AtomicInteger sent = new AtomicInteger();
+        List<Exception> failures = new CopyOnWriteArrayList<>();
+        transport.open = true;
+        scheduler.enqueue(WebSocketSendScheduler.Lane.CONTROL, 5, new WebSocketSendScheduler.Message() {
+            @Override
+            public Object build() {
+                return 42;
+            }
+
+            @Override
+            public void onSent() {
+                sent.incrementAndGet();
+            }
+
+            @Override
+            public void onFailed(Exception e) {
+                failures.add(e);
+            }
+        });
+        awaitCondition(() -> failures.size() == 1);
+
+        assertTrue(failures.get(0) instanceof IllegalArgumentException);
+        assertEquals(0, sent.get());
+        assertTrue(transport.sent.isEmpty());
+        assertTrue(scheduler.metricsSummary(), scheduler.metricsSummary().contains("failed=1"));
+    }
+
+    @Test
+    public void audioBeyondTheCeiling_isRefused() {
+        assertTrue(scheduler.enqueue(WebSocketSendScheduler.Lane.AUDIO, 6 * 1024 * 1024, () -> "a"));
+        assertFalse(scheduler.enqueue(WebSocketSendScheduler.Lane.AUDIO, 3 * 1024 * 1024, () -> "b"));
+        assertEquals(1, scheduler.droppedCount(WebSocketSendScheduler.Lane.AUDIO));
+        assertEquals(1, scheduler.queueDepth(WebSocketSendScheduler.Lane.AUDIO));
+    }
+
+    @Test
+    public void gestureLane_keepsOnlyTheNewestFrame() throws Exception {
+        AtomicInteger dropped = new AtomicInteger();
+        for (int i = 0; i < 3; i++) {
+            String frame = "frame" + i;
+            scheduler.enqueue(WebSocketSendScheduler.Lane.GESTURE, 5, new WebSocketSendScheduler.Message() {
+                @Override
+                public Object build() {
+                    return frame;
+                }
+
+                @Override
+                public void onDropped() {
+                    dropped.incrementAndGet();
+                }
+            });
+        }
+        assertEquals(2, dropped.get());
+
+        transport.open = true;
+        awaitSent(1);
+        assertEquals("frame2", transport.sent.get(0));
+    }
+
+    @Test
+    public void coalesceKey_replacesTheQueuedMessage() throws Exception {
+        scheduler.enqueue(WebSocketSendScheduler.Lane.CONTROL, "ping", 4, () -> "ping1");
+        scheduler.enqueue(WebSocketSendScheduler.Lane.CONTROL, "ping", 4, () -> "ping2");
+        assertEquals(1, scheduler.queueDepth(WebSocketSendScheduler.Lane.CONTROL));
+
+        transport.open = true;
+        awaitSent(1);
+        assertEquals("ping2", transport.sent.get(0));
+    }
+
+    @Test
+    public void stoppedScheduler_refusesEverything() {
+        scheduler.shutdown();
+        assertFalse(scheduler.enqueue(WebSocketSendScheduler.Lane.CONTROL, 4, () -> "x"));
+        assertFalse(scheduler.enqueueFirst(WebSocketSendScheduler.Lane.AUDIO, 4, () -> "x"));
+    }
+
+    // =============== HELPERS ===============
+
+    private interface Condition {
+        boolean met();
+    }
+
+    private void awaitSent(int count) throws InterruptedException {
+        awaitCondition(() -> transport.sent.size() >= count);
+    }
+
+    private static void awaitCondition(Condition condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 2000;
+        while (!condition.met()) {
+            assertTrue("timed out", System.currentTimeMillis() < deadline);
+            Thread.sleep(5);
+        }
+    }
+}